@@ -0,0 +1,71 @@
+package o3.utec.benchmarks;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import o3.utec.mcp_o3.format.OutputFormat;
+import o3.utec.mcp_o3.format.ResultFormatter;
+
+// Camino ResultSet -> texto de MCPCore.runQuery (ResultFormatter.formatAll) y el de los cursores paginados
+// (una fila por llamada a row()), sobre resultados sintéticos de 10 x 3 hasta 1M x 20 en los tres formatos.
+// Throughput da operaciones por ms; SampleTime da los percentiles de latencia (p50, p90, p99, p99.9...).
+// Para la tasa de asignación agregar el profiler de GC: -prof gc (gc.alloc.rate y gc.alloc.rate.norm por operación).
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ResultFormattingBenchmark {
+
+    // filas x columnas
+    @Param({ "10x3", "1000x8", "100000x12", "1000000x20" })
+    public String shape;
+
+    @Param({ "TEXT", "CSV", "COMPACT" })
+    public String format;
+
+    @Param({ "6" })
+    public int significantDigits;
+
+    private SyntheticResultSet rs;
+    private OutputFormat outputFormat;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        rs = SyntheticResultSet.parse(shape);
+        outputFormat = OutputFormat.valueOf(format);
+    }
+
+    // Resultado completo en un String, como lo devuelve executeCustomMdxQuery
+    @Benchmark
+    public String formatAll() throws SQLException {
+        rs.reset();
+        return ResultFormatter.create(outputFormat, rs.getMetaData(), significantDigits, false).formatAll(rs);
+    }
+
+    // Fila por fila, como cuando se vuelca a un cursor de fetchMdxPage
+    @Benchmark
+    public void formatRows(Blackhole bh) throws SQLException {
+        rs.reset();
+        ResultFormatter formatter = ResultFormatter.create(outputFormat, rs.getMetaData(), significantDigits, true);
+        bh.consume(formatter.header());
+        while (rs.next()) {
+            bh.consume(formatter.row(rs));
+        }
+    }
+}
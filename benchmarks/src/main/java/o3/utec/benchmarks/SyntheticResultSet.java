@@ -0,0 +1,184 @@
+package o3.utec.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import o3.utec.standin.ResultSetMetaDataStub;
+import o3.utec.standin.ResultSetStub;
+
+// ResultSet sintético en memoria con la forma de un resultado MDX de O3: primero las etiquetas de los miembros
+// de las filas (VARCHAR) y una fecha, después las medidas con tipos mezclados.
+// Los valores se calculan a partir de (fila, columna) sobre pools precalculados, así 1M x 20 no ocupa memoria
+// y el costo medido es el del formateo. Cada NULL_EVERY celdas numéricas una es NULL.
+// reset() vuelve al comienzo para reutilizarlo en cada invocación del benchmark.
+public final class SyntheticResultSet extends ResultSetStub {
+
+    // Tipos de las columnas a partir de la tercera, en ciclo
+    private static final int[] MEASURE_TYPES = { Types.DOUBLE, Types.INTEGER, Types.DECIMAL, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP };
+    private static final int NULL_EVERY = 97;
+
+    private final int rows;
+    private final int[] types;
+    private final String[] labels;
+    private final Date[] dates;
+    private final Timestamp[] timestamps;
+    private final BigDecimal[] decimals;
+    private final ResultSetMetaData metadata;
+
+    private int row;
+    private boolean lastNull;
+
+    public SyntheticResultSet(int rows, int columns) {
+        this.rows = rows;
+        this.types = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            types[c] = c == 0 ? Types.VARCHAR : c == 1 ? Types.DATE : MEASURE_TYPES[(c - 2) % MEASURE_TYPES.length];
+        }
+        String[] members = { "Location", "Products", "Customers", "Salesmen" };
+        labels = new String[256];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = "[" + members[i % members.length] + "].[Member " + i + "]";
+        }
+        dates = new Date[366];
+        timestamps = new Timestamp[366];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = Date.valueOf(LocalDate.of(2002, 1, 1).plusDays(i));
+            timestamps[i] = Timestamp.valueOf(LocalDateTime.of(2002, 1, 1, 8, 30).plusDays(i).plusMinutes(i * 7L));
+        }
+        decimals = new BigDecimal[1024];
+        for (int i = 0; i < decimals.length; i++) {
+            decimals[i] = BigDecimal.valueOf(i * 1_234_567L + 89, 2);
+        }
+        metadata = new Metadata();
+    }
+
+    public static SyntheticResultSet parse(String shape) {
+        String[] parts = shape.toLowerCase().split("x");
+        return new SyntheticResultSet(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+
+    public void reset() {
+        row = 0;
+        lastNull = false;
+    }
+
+    @Override
+    public boolean next() {
+        return ++row <= rows;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return metadata;
+    }
+
+    @Override
+    public boolean wasNull() {
+        return lastNull;
+    }
+
+    @Override
+    public void close() {
+        // Nada que liberar
+    }
+
+    private boolean isNull(int column) {
+        lastNull = types[column - 1] != Types.VARCHAR && types[column - 1] != Types.DATE && (row * 31 + column) % NULL_EVERY == 0;
+        return lastNull;
+    }
+
+    private int index(int column, int size) {
+        return (row * 31 + column * 7) % size;
+    }
+
+    @Override
+    public String getString(int column) throws SQLException {
+        Object o = getObject(column);
+        return o == null ? null : o instanceof String s ? s : o.toString();
+    }
+
+    @Override
+    public int getInt(int column) {
+        return isNull(column) ? 0 : row * 13 + column;
+    }
+
+    @Override
+    public long getLong(int column) {
+        return isNull(column) ? 0 : row * 1_000_003L + column;
+    }
+
+    @Override
+    public double getDouble(int column) {
+        return isNull(column) ? 0 : row * 1.37 + column / 3.0;
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int column) {
+        return isNull(column) ? null : decimals[index(column, decimals.length)];
+    }
+
+    @Override
+    public Date getDate(int column) {
+        lastNull = false;
+        return dates[index(column, dates.length)];
+    }
+
+    @Override
+    public Timestamp getTimestamp(int column) {
+        return isNull(column) ? null : timestamps[index(column, timestamps.length)];
+    }
+
+    // Como el driver: los numéricos se devuelven en su wrapper (una instancia por llamada)
+    @Override
+    public Object getObject(int column) throws SQLException {
+        return switch (types[column - 1]) {
+            case Types.VARCHAR -> {
+                lastNull = false;
+                yield labels[index(column, labels.length)];
+            }
+            case Types.DATE -> getDate(column);
+            case Types.TIMESTAMP -> getTimestamp(column);
+            case Types.INTEGER -> {
+                int v = getInt(column);
+                yield lastNull ? null : Integer.valueOf(v);
+            }
+            case Types.BIGINT -> {
+                long v = getLong(column);
+                yield lastNull ? null : Long.valueOf(v);
+            }
+            case Types.DECIMAL -> getBigDecimal(column);
+            default -> {
+                double v = getDouble(column);
+                yield lastNull ? null : Double.valueOf(v);
+            }
+        };
+    }
+
+    private final class Metadata extends ResultSetMetaDataStub {
+        @Override
+        public int getColumnCount() {
+            return types.length;
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return types[column - 1];
+        }
+
+        @Override
+        public String getColumnLabel(int column) {
+            return column == 1 ? "Member" : column == 2 ? "Date" : "Measure " + (column - 2);
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return getColumnLabel(column);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Mide la memoria residente (VmRSS de /proc, solo Linux) de un servidor MCP por stdio en dos momentos:
+// después de responder initialize y después de N tool calls. Con --budget-startup-mb / --budget-calls-mb compara
+// contra el presupuesto y termina con código 1 si alguno se excede, para usarlo en CI.
+// Las llamadas rotan entre executeCustomMdxQuery (consultas distintas, para no medir solo la cache), getCubeInformation
+// y getServerMetrics, así que hace falta O3 o el driver stand-in (o3-standin).
+//
+// Uso (Java 11+, sin compilar):
+//   java scripts/MemoryProbe.java [--calls 100] [--settle-ms 2000] [--budget-startup-mb N] [--budget-calls-mb N] -- java -jar ...
+// El comando debe lanzar la JVM directamente (no un script que la lance como hijo), porque se mide el pid del proceso.
+public class MemoryProbe {
+
+    private static final String INITIALIZE = "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"2024-11-05\","
+            + "\"capabilities\":{},\"clientInfo\":{\"name\":\"memory-probe\",\"version\":\"1.0\"}}}";
+    private static final String INITIALIZED = "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}";
+
+    public static void main(String[] args) throws Exception {
+        int calls = 100;
+        long settleMs = 2000;
+        double budgetStartup = 0;
+        double budgetCalls = 0;
+        long timeoutSeconds = 120;
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            System.err.println("Uso: java MemoryProbe.java [--calls N] [--settle-ms MS] [--budget-startup-mb N] [--budget-calls-mb N] -- <comando del servidor...>");
+            System.exit(2);
+        }
+        for (int i = 0; i < separator; i += 2) {
+            switch (args[i]) {
+                case "--calls" -> calls = Integer.parseInt(args[i + 1]);
+                case "--settle-ms" -> settleMs = Long.parseLong(args[i + 1]);
+                case "--budget-startup-mb" -> budgetStartup = Double.parseDouble(args[i + 1]);
+                case "--budget-calls-mb" -> budgetCalls = Double.parseDouble(args[i + 1]);
+                case "--timeout" -> timeoutSeconds = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        List<String> command = Arrays.asList(args).subList(separator + 1, args.length);
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            OutputStream stdin = process.getOutputStream();
+            BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            send(stdin, INITIALIZE);
+            await(stdout, 0, timeoutSeconds);
+            send(stdin, INITIALIZED);
+            Thread.sleep(settleMs);
+            double startup = rssMb(process.pid());
+
+            int errors = 0;
+            for (int i = 1; i <= calls; i++) {
+                send(stdin, "{\"jsonrpc\":\"2.0\",\"id\":" + i + ",\"method\":\"tools/call\",\"params\":" + call(i) + "}");
+                if (await(stdout, i, timeoutSeconds).contains("\"isError\":true")) {
+                    errors++;
+                }
+            }
+            Thread.sleep(settleMs);
+            double afterCalls = rssMb(process.pid());
+
+            System.out.printf("RSS after startup: %.1f MB%s%n", startup, budget(startup, budgetStartup));
+            System.out.printf("RSS after %d tool calls (%d errors): %.1f MB%s%n", calls, errors, afterCalls, budget(afterCalls, budgetCalls));
+            if ((budgetStartup > 0 && startup > budgetStartup) || (budgetCalls > 0 && afterCalls > budgetCalls)) {
+                System.exit(1);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static String call(int i) {
+        return switch (i % 3) {
+            case 0 -> "{\"name\":\"getServerMetrics\",\"arguments\":{}}";
+            case 1 -> "{\"name\":\"executeCustomMdxQuery\",\"arguments\":{\"mdxQuery\":\"SELECT {Measures.[Units Sold], Measures.[Revenue]} ON COLUMNS, "
+                    + "Head({CrossJoin({Location.City.Members}, {Products.Product.Members})}, " + (10 + i) + ") ON ROWS FROM [Demo]\"}}";
+            default -> "{\"name\":\"getCubeInformation\",\"arguments\":{\"cubeName\":\"Demo\"}}";
+        };
+    }
+
+    private static void send(OutputStream stdin, String message) throws IOException {
+        stdin.write((message + "\n").getBytes(StandardCharsets.UTF_8));
+        stdin.flush();
+    }
+
+    // Lee hasta la respuesta con el id indicado; las notificaciones y logs del servidor se ignoran
+    private static String await(BufferedReader stdout, int id, long timeoutSeconds) throws Exception {
+        String marker = "\"id\":" + id + ",";
+        CompletableFuture<String> response = CompletableFuture.supplyAsync(() -> {
+            try {
+                String line;
+                while ((line = stdout.readLine()) != null) {
+                    if (line.contains(marker) && (line.contains("\"result\"") || line.contains("\"error\""))) {
+                        return line;
+                    }
+                }
+                throw new IllegalStateException("El proceso terminó sin responder el request " + id);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            return response.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Sin respuesta al request " + id + " en " + timeoutSeconds + " s");
+        }
+    }
+
+    private static double rssMb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", "")) / 1024.0;
+            }
+        }
+        throw new IllegalStateException("VmRSS no disponible para el pid " + pid);
+    }
+
+    private static String budget(double value, double budget) {
+        if (budget <= 0) {
+            return "";
+        }
+        return String.format(" (budget %.0f MB: %s)", budget, value <= budget ? "OK" : "EXCEEDED");
+    }
+}
@@ -0,0 +1,91 @@
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Mide el tiempo hasta la primera respuesta a initialize del servidor MCP por stdio, como lo ve Claude Desktop o
+// MCPService.start() de chatbot-ia: se lanza el proceso, se escribe el initialize enseguida (queda en el buffer del
+// pipe hasta que el servidor lo lee) y se toma el tiempo hasta que llega la respuesta con "result".
+// Cada corrida es un proceso nuevo; se informan todas las corridas y mínimo / mediana / p90 / máximo.
+//
+// Uso (Java 11+, sin compilar):
+//   java scripts/StartupProbe.java [--runs 10] [--warmup 1] [--timeout 60] -- java -jar target/mcp_o3-0.0.5-SNAPSHOT.jar ...
+// Las corridas de warmup no se cuentan (dejan el jar y las clases del JDK en el cache de disco del sistema operativo).
+public class StartupProbe {
+
+    private static final String INITIALIZE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"2024-11-05\","
+            + "\"capabilities\":{},\"clientInfo\":{\"name\":\"startup-probe\",\"version\":\"1.0\"}}}\n";
+
+    public static void main(String[] args) throws Exception {
+        int runs = 10;
+        int warmup = 1;
+        long timeoutSeconds = 60;
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            System.err.println("Uso: java StartupProbe.java [--runs N] [--warmup N] [--timeout SEGUNDOS] -- <comando del servidor...>");
+            System.exit(2);
+        }
+        for (int i = 0; i < separator; i += 2) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmup = Integer.parseInt(args[i + 1]);
+                case "--timeout" -> timeoutSeconds = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        List<String> command = Arrays.asList(args).subList(separator + 1, args.length);
+
+        for (int i = 0; i < warmup; i++) {
+            measure(command, timeoutSeconds);
+        }
+        List<Double> times = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            double ms = measure(command, timeoutSeconds);
+            times.add(ms);
+            System.out.printf("run %2d: %8.1f ms%n", i + 1, ms);
+        }
+        times.sort(null);
+        System.out.printf("time-to-first-initialize (%d runs): min %.1f / median %.1f / p90 %.1f / max %.1f ms%n",
+                runs, times.get(0), percentile(times, 50), percentile(times, 90), times.get(times.size() - 1));
+    }
+
+    private static double measure(List<String> command, long timeoutSeconds) throws Exception {
+        ProcessBuilder pb = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD);
+        long start = System.nanoTime();
+        Process process = pb.start();
+        try {
+            OutputStream stdin = process.getOutputStream();
+            stdin.write(INITIALIZE.getBytes(StandardCharsets.UTF_8));
+            stdin.flush();
+            CompletableFuture<Long> response = CompletableFuture.supplyAsync(() -> {
+                try (BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = stdout.readLine()) != null) {
+                        if (line.contains("\"id\":1") && line.contains("\"result\"")) {
+                            return System.nanoTime();
+                        }
+                    }
+                    throw new IllegalStateException("El proceso terminó sin responder initialize (exit " + process.waitFor() + ")");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            return (response.get(timeoutSeconds, TimeUnit.SECONDS) - start) / 1_000_000.0;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static double percentile(List<Double> sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
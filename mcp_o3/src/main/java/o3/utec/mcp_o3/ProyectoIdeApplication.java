@@ -6,12 +6,16 @@ import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
 
+import o3.utec.mcp_o3.config.O3RuntimeHints;
 import o3.utec.mcp_o3.service.MCPCore;
+import o3.utec.mcp_o3.service.ToolMetrics;
 @SpringBootApplication
+@ImportRuntimeHints(O3RuntimeHints.class)
 public class ProyectoIdeApplication {
 
 	private static String systemprompt;
@@ -38,9 +42,10 @@ public class ProyectoIdeApplication {
 	// personalizadas.
 	// Aquí registramos TestDriveO3 como herramientas disponibles.
 	// También podríamos registrar herramientas individuales si quisiéramos.
+	// Cada tool queda envuelta por ToolMetrics para medir duración, errores y tamaño de respuesta.
 	@Bean
-	public ToolCallbackProvider Tools( MCPCore testDriveO3) {
-		return MethodToolCallbackProvider.builder().toolObjects(testDriveO3).build();
+	public ToolCallbackProvider Tools( MCPCore testDriveO3, ToolMetrics toolMetrics) {
+		return toolMetrics.instrument(MethodToolCallbackProvider.builder().toolObjects(testDriveO3).build());
 	}
 
 
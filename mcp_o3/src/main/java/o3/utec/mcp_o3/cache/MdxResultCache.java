@@ -0,0 +1,217 @@
+package o3.utec.mcp_o3.cache;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import o3.utec.mcp_o3.jdbc.CubeInfoQueries;
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+import o3.utec.mcp_o3.mdx.MdxCanonicalizer;
+
+// Cache en memoria de resultados MDX, acotado por cantidad de entradas (LRU).
+// La clave es la forma canónica de la consulta (MdxCanonicalizer) más el cubo destino y la variante (formato de salida).
+// Cada entrada guarda la LastModifiedDate del cubo al momento de guardarse; si O3 reporta una fecha distinta
+// la entrada se descarta. La fecha se consulta al servidor como mucho una vez cada freshnessCheckMs por cubo y en
+// segundo plano: un hit nunca espera una conexión del pool, responde con la última versión conocida.
+// Si la consulta de la fecha falla se conserva la versión conocida: un error no se toma como un cambio del cubo.
+// Las entradas guardadas sin versión (cubos sin CubeInfo como SYSCATALOG, o primera consulta fallida) solo vencen por TTL.
+@Component
+public class MdxResultCache {
+    @Autowired
+    private O3ConnectionPool connectionPool;
+
+    @Value("${o3.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${o3.cache.maxEntries:256}")
+    private int maxEntries;
+
+    // Resultados más grandes que esto no se guardan para no llenar el heap
+    @Value("${o3.cache.maxEntryChars:1000000}")
+    private int maxEntryChars;
+
+    @Value("${o3.cache.freshnessCheckMs:30000}")
+    private long freshnessCheckMs;
+
+    // Tiempo de vida máximo, aplica también a cubos sin LastModifiedDate (ej. SYSCATALOG)
+    @Value("${o3.cache.ttlMs:600000}")
+    private long ttlMs;
+
+    private final Map<CacheKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, CubeVersion> cubeVersions = new ConcurrentHashMap<>();
+    // Cubos con una consulta de versión en curso, para no encolar dos a la vez
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private ExecutorService refresher;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong failedChecks = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        refresher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "o3-cache-freshness");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // Retorna el resultado cacheado o null si no hay una entrada vigente.
+    // variant distingue representaciones distintas del mismo resultado (ej. el formato de salida).
+    public String get(String query, String variant) {
+        if (!enabled) {
+            return null;
+        }
+        CacheKey key = keyFor(query, variant);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.storedAt > ttlMs
+                || !entry.cubeVersion.isEmpty() && !entry.cubeVersion.equals(currentVersion(key.cube))) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            invalidations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.result;
+    }
+
+    public void put(String query, String variant, String result) {
+        if (!enabled || result == null || result.length() > maxEntryChars) {
+            return;
+        }
+        CacheKey key = keyFor(query, variant);
+        Entry entry = new Entry(result, currentVersion(key.cube), System.currentTimeMillis());
+        synchronized (entries) {
+            entries.put(key, entry);
+            Iterator<Entry> it = entries.values().iterator();
+            while (entries.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // Descarta todas las entradas del cubo (por ejemplo si se sabe que fue reprocesado)
+    public void invalidateCube(String cube) {
+        String normalized = cube.toUpperCase(Locale.ROOT);
+        cubeVersions.remove(normalized);
+        synchronized (entries) {
+            entries.keySet().removeIf(k -> k.cube.equals(normalized));
+        }
+    }
+
+    // Versión (LastModifiedDate) conocida del cubo. Vencido freshnessCheckMs se encola una consulta a O3 y se
+    // responde con la versión conocida; solo la primera vez que se ve un cubo (al guardar) se consulta en el momento.
+    String currentVersion(String cube) {
+        if (cube.isEmpty()) {
+            return "";
+        }
+        CubeVersion known = cubeVersions.get(cube);
+        if (known == null) {
+            return checkVersion(cube, null);
+        }
+        if (System.currentTimeMillis() - known.checkedAt >= freshnessCheckMs && refreshing.add(cube)) {
+            try {
+                refresher.execute(() -> {
+                    try {
+                        checkVersion(cube, known);
+                    } finally {
+                        refreshing.remove(cube);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.remove(cube);
+            }
+        }
+        return known.version;
+    }
+
+    private String checkVersion(String cube, CubeVersion known) {
+        long now = System.currentTimeMillis();
+        String version;
+        try (O3ConnectionPool.Lease lease = connectionPool.borrow()) {
+            version = CubeInfoQueries.lastModifiedDate(lease.connection(), cube);
+        } catch (SQLException | RuntimeException e) {
+            // Cubos sin CubeInfo (SYSCATALOG), pool agotado o error de red: queda la versión conocida
+            // (sin versión las entradas solo vencen por TTL) y se reintenta en freshnessCheckMs
+            failedChecks.incrementAndGet();
+            version = known == null ? "" : known.version;
+        }
+        cubeVersions.put(cube, new CubeVersion(version, now));
+        return version;
+    }
+
+    // La forma canónica hace que variantes de espacios, mayúsculas o corchetes de la misma consulta compartan entrada
+    static CacheKey keyFor(String query, String variant) {
+        MdxCanonicalizer.CanonicalQuery canonical = MdxCanonicalizer.canonicalizeOrNormalize(query);
+        return new CacheKey(canonical.canonical(), canonical.cube().toUpperCase(Locale.ROOT), variant);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String stats() {
+        long h = hits.get();
+        long m = misses.get();
+        double ratio = h + m == 0 ? 0.0 : 100.0 * h / (h + m);
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- RESULT CACHE ---");
+        sj.add("Enabled: " + enabled + " / Entries: " + size() + " / Max: " + maxEntries);
+        sj.add(String.format("Hits: %d / Misses: %d (hit ratio %.1f%%)", h, m, ratio));
+        sj.add("Invalidations (cube modified or TTL): " + invalidations.get() + " / LRU evictions: " + evictions.get()
+                + " / Failed version checks: " + failedChecks.get());
+        return sj.toString();
+    }
+
+    record CacheKey(String query, String cube, String variant) {
+    }
+
+    private record Entry(String result, String cubeVersion, long storedAt) {
+    }
+
+    record CubeVersion(String version, long checkedAt) {
+    }
+}
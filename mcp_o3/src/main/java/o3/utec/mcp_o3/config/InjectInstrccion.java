@@ -1,40 +1,79 @@
 package o3.utec.mcp_o3.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
 import o3.utec.mcp_o3.ProyectoIdeApplication;
 
+import java.util.StringJoiner;
 import java.util.concurrent.atomic.AtomicBoolean;//Boolean atomico para manejo de multihilos
+import java.util.concurrent.atomic.AtomicLong;
 
-// Componente para inyectar instrucciones del sistema en la primera ejecución de la sesión.
+// Componente para inyectar instrucciones del sistema en la primera ejecución de cada sesión MCP.
+// Con stdio hay una sola sesión; en modo HTTP cada cliente recibe las instrucciones una vez, en su propia sesión.
 @Component
 public class InjectInstrccion {
-    private final AtomicBoolean instructionsShown = new AtomicBoolean(false);
-    
+
+    @Autowired
+    private McpSessionRegistry sessionRegistry;
+
+    @Value("${o3.sessions.maxSessions:10000}")
+    private int maxSessions;
+
+    @Value("${o3.sessions.idleTimeoutMs:1800000}")
+    private long idleTimeoutMs;
+
+    // Un flag por sesión: si ya se le mostraron las instrucciones
+    private SessionStateStore<AtomicBoolean> instructionsShown;
+
+    private final AtomicLong injected = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        instructionsShown = new SessionStateStore<>(AtomicBoolean::new, maxSessions, idleTimeoutMs);
+        sessionRegistry.onSessionEnd(instructionsShown::remove);
+    }
+
     // Verifica si es la primera ejecución de la sesión. Si es así, retorna las instrucciones del sistema.
     public String checkAndInjectInstructions() {
+        return checkAndInjectInstructions(SessionStateStore.currentSession());
+    }
+
+    String checkAndInjectInstructions(String session) {
         // Verificar y marcar como mostrado en una operación atómica
-        if (!instructionsShown.getAndSet(true)) {
+        if (!instructionsShown.get(session).getAndSet(true)) {
+            injected.incrementAndGet();
             String instructions = ProyectoIdeApplication.getsystemprompt();
-            
+
             if (instructions == null || instructions.isEmpty()) {
                 return "WARNING: System instructions could not be loaded Call getSystemInstructions() to retry.";
             }
-            
+
             return instructions;
         }
-        
+
         return "";
     }
-    
-    //Verifica si las instrucciones ya fueron mostradas en esta sesión.     
+
+    //Verifica si las instrucciones ya fueron mostradas en esta sesión.
     public boolean areInstructionsShown() {
-        return instructionsShown.get();
-    }    
+        AtomicBoolean shown = instructionsShown.peek(SessionStateStore.currentSession());
+        return shown != null && shown.get();
+    }
     //Obtiene un recordatorio breve si las instrucciones aún no se han mostrado.
     public String getQuickReminder() {
-        if (!instructionsShown.get()) {
+        if (!areInstructionsShown()) {
             return "TIP: Call getSystemInstructions() to see complete usage guidelines.";
         }
         return "";
     }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- SYSTEM INSTRUCTIONS ---");
+        sj.add("Sessions tracked: " + instructionsShown.size() + " / Injected: " + injected.get() + " / Expired or evicted: " + instructionsShown.evicted());
+        return sj.toString();
+    }
 }
@@ -0,0 +1,79 @@
+package o3.utec.mcp_o3.config;
+
+import java.util.concurrent.Callable;
+
+import reactor.core.scheduler.Schedulers;
+
+// Identifica la tool call MCP que ejecuta el hilo actual: sesión MCP + id JSON-RPC del request tools/call.
+// Lo fija McpCancellationFilter en el hilo del servlet (HTTP) o StdioTransportConfig.CancellableSession (stdio); como el
+// SDK ejecuta las tools sync en Schedulers.boundedElastic(), un hook de schedule de Reactor lo copia al hilo que corre la tool.
+public record McpCallContext(String sessionId, String requestId) {
+    private static final ThreadLocal<McpCallContext> CURRENT = new ThreadLocal<>();
+    private static final String HOOK_KEY = "o3-mcp-call-context";
+
+    // Clave con la que se registran las consultas en curso de esta tool call
+    public String key() {
+        return sessionId + ":" + requestId;
+    }
+
+    public static McpCallContext current() {
+        return CURRENT.get();
+    }
+
+    static void set(McpCallContext context) {
+        CURRENT.set(context);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    // Envuelve la tarea para que corra con el contexto del hilo que la crea
+    public static Runnable wrap(Runnable task) {
+        McpCallContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            McpCallContext previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        McpCallContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            McpCallContext previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(McpCallContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static void installReactorHook() {
+        Schedulers.onScheduleHook(HOOK_KEY, McpCallContext::wrap);
+    }
+
+    static void removeReactorHook() {
+        Schedulers.resetOnScheduleHook(HOOK_KEY);
+    }
+}
@@ -0,0 +1,148 @@
+package o3.utec.mcp_o3.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import o3.utec.mcp_o3.service.QueryWatchdog;
+
+// Soporte de notifications/cancelled para el transporte HTTP/SSE.
+// El SDK MCP (0.10) no expone un handler para esa notificación, así que se intercepta el endpoint de mensajes:
+// - tools/call: se marca el hilo con McpCallContext (sesión + id) mientras dura la llamada, para que las consultas
+//   que lance la tool queden registradas en QueryWatchdog.
+// - notifications/cancelled: se abortan las consultas registradas para el requestId indicado.
+// Además registra la actividad de cada sesión en McpSessionRegistry.
+// Con transporte stdio lo mismo lo hace StdioTransportConfig.CancellableSession.
+@Component
+public class McpCancellationFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(McpCancellationFilter.class);
+
+    @Autowired
+    private QueryWatchdog queryWatchdog;
+
+    @Autowired
+    private McpSessionRegistry sessionRegistry;
+
+    @Value("${spring.ai.mcp.server.sse-message-endpoint:/mcp/message}")
+    private String messageEndpoint;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @PostConstruct
+    void installHook() {
+        McpCallContext.installReactorHook();
+    }
+
+    @PreDestroy
+    void removeHook() {
+        McpCallContext.removeReactorHook();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !request.getRequestURI().endsWith(messageEndpoint);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpServletRequest replay = new CachedBodyRequest(request, body);
+        String sessionId = request.getParameter("sessionId");
+        sessionRegistry.touch(sessionId);
+        JsonNode message;
+        try {
+            message = mapper.readTree(body);
+        } catch (IOException e) {
+            // El transporte responde el error de parseo
+            chain.doFilter(replay, response);
+            return;
+        }
+        String method = message == null ? "" : message.path("method").asText();
+        if ("notifications/cancelled".equals(method)) {
+            JsonNode params = message.path("params");
+            String requestId = params.path("requestId").asText();
+            int aborted = queryWatchdog.cancel(new McpCallContext(sessionId, requestId).key(), params.path("reason").asText(null));
+            log.info("notifications/cancelled sesión {} request {}: {} consultas abortadas", sessionId, requestId, aborted);
+            chain.doFilter(replay, response);
+            return;
+        }
+        if ("tools/call".equals(method) && message.hasNonNull("id") && sessionId != null) {
+            McpCallContext.set(new McpCallContext(sessionId, message.get("id").asText()));
+            try {
+                chain.doFilter(replay, response);
+            } finally {
+                McpCallContext.clear();
+            }
+            return;
+        }
+        chain.doFilter(replay, response);
+    }
+
+    // Request con el body ya leído, para que el transporte MCP lo pueda volver a leer
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
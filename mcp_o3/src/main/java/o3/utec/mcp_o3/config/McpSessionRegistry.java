@@ -0,0 +1,117 @@
+package o3.utec.mcp_o3.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Sesiones MCP activas en modo HTTP/SSE (perfil http). El SDK no avisa cuando un cliente se desconecta,
+// así que una sesión se considera terminada después de idleTimeoutMs sin mensajes; al vencer se avisa a los
+// listeners para que liberen lo que tengan asociado a ella (cursores, etc.).
+// El pool de conexiones y las caches son compartidos por todas las sesiones; acá solo vive lo que es de cada una.
+// Con stdio hay una única sesión implícita y este registro queda vacío.
+@Component
+public class McpSessionRegistry {
+
+    @Value("${o3.sessions.idleTimeoutMs:1800000}")
+    private long idleTimeoutMs;
+
+    // Por encima de este número se descarta la sesión inactiva hace más tiempo
+    @Value("${o3.sessions.maxSessions:10000}")
+    private int maxSessions;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> endListeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService cleaner;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong ended = new AtomicLong();
+    private final AtomicLong peak = new AtomicLong();
+
+    private static final class Session {
+        volatile long lastSeen = System.currentTimeMillis();
+    }
+
+    @PostConstruct
+    void init() {
+        cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "o3-session-cleaner");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMs / 4);
+        cleaner.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cleaner.shutdownNow();
+    }
+
+    // Registra actividad de la sesión (cada mensaje recibido en el endpoint MCP)
+    public void touch(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Session session = sessions.computeIfAbsent(sessionId, id -> {
+            started.incrementAndGet();
+            return new Session();
+        });
+        session.lastSeen = System.currentTimeMillis();
+        peak.accumulateAndGet(sessions.size(), Math::max);
+        if (sessions.size() > maxSessions) {
+            evictOldest();
+        }
+    }
+
+    // Se llama con el id de cada sesión que termina
+    public void onSessionEnd(Consumer<String> listener) {
+        endListeners.add(listener);
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    private void evictOldest() {
+        sessions.entrySet().stream()
+                .min((a, b) -> Long.compare(a.getValue().lastSeen, b.getValue().lastSeen))
+                .ifPresent(e -> end(e.getKey()));
+    }
+
+    void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Session> e : List.copyOf(sessions.entrySet())) {
+            if (now - e.getValue().lastSeen > idleTimeoutMs) {
+                end(e.getKey());
+            }
+        }
+    }
+
+    private void end(String sessionId) {
+        if (sessions.remove(sessionId) != null) {
+            ended.incrementAndGet();
+            endListeners.forEach(l -> l.accept(sessionId));
+        }
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- MCP SESSIONS ---");
+        sj.add("Active: " + sessions.size() + " / Peak: " + peak.get() + " / Started: " + started.get() + " / Ended: " + ended.get());
+        sj.add("Worker model: " + McpWorkerModel.describe());
+        return sj.toString();
+    }
+}
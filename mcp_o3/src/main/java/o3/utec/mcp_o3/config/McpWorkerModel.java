@@ -0,0 +1,58 @@
+package o3.utec.mcp_o3.config;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+// Modelo de hilos que ejecutan las tools (o3.workers.model):
+// - platform: el SDK MCP corre cada tool sync en Schedulers.boundedElastic(); su tamaño y cola salen de
+//   o3.workers.maxThreads / o3.workers.queueSize (por defecto los de Reactor: 10 x núcleos y 100000).
+// - virtual: boundedElastic y los hilos de Tomcat pasan a ser virtual threads (Java 21). Conviene con muchas
+//   sesiones HTTP, porque cada tool call bloquea su hilo mientras espera a O3.
+// Reactor lee estas propiedades del sistema una única vez al cargar Schedulers, por eso se fijan acá,
+// antes de que arranque el contexto, y no desde un bean.
+// Se registra en META-INF/spring.factories.
+public class McpWorkerModel implements EnvironmentPostProcessor {
+
+    private static final String MODEL_PROPERTY = "o3.workers.model";
+
+    private static volatile String description = "platform (Reactor defaults)";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String model = environment.getProperty(MODEL_PROPERTY, "platform").trim().toLowerCase(Locale.ROOT);
+        Map<String, Object> overrides = new HashMap<>();
+        switch (model) {
+            case "virtual" -> {
+                System.setProperty("reactor.schedulers.defaultBoundedElasticOnVirtualThreads", "true");
+                overrides.put("spring.threads.virtual.enabled", "true");
+                description = "virtual threads (tools and HTTP requests)";
+            }
+            case "platform" -> {
+                String maxThreads = environment.getProperty("o3.workers.maxThreads");
+                String queueSize = environment.getProperty("o3.workers.queueSize");
+                if (maxThreads != null) {
+                    System.setProperty("reactor.schedulers.defaultBoundedElasticSize", maxThreads.trim());
+                }
+                if (queueSize != null) {
+                    System.setProperty("reactor.schedulers.defaultBoundedElasticQueueSize", queueSize.trim());
+                }
+                description = "platform threads (max " + (maxThreads == null ? "10 x cores" : maxThreads.trim())
+                        + ", queue " + (queueSize == null ? "100000" : queueSize.trim()) + ")";
+            }
+            default -> throw new IllegalArgumentException("o3.workers.model inválido: " + model + " (platform o virtual)");
+        }
+        if (!overrides.isEmpty()) {
+            environment.getPropertySources().addFirst(new MapPropertySource("o3-workers", overrides));
+        }
+    }
+
+    public static String describe() {
+        return description;
+    }
+}
@@ -0,0 +1,63 @@
+package o3.utec.mcp_o3.config;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import o3.utec.mcp_o3.mdx.MdxTemplate;
+
+// Registro de templates MDX con parámetros para la tool executeMdxTemplate (sintaxis de parámetros en MdxTemplate).
+// Trae las formas de consulta más comunes de la exploración; se pueden agregar o reemplazar por configuración:
+//   o3.templates.unitsByLocation.query=SELECT {Measures.[Units Sold]} ON COLUMNS, {Location.children} ON ROWS FROM [@cube]
+//   o3.templates.unitsByLocation.description=Units sold by location for a cube
+@Component
+public class MdxTemplateRegistry {
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, MdxTemplate> templates = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        register("measureByChildren", "Measure by the children of a dimension or member",
+            "SELECT {Measures.[@measure]} ON COLUMNS, NON EMPTY {@dimension.children} ON ROWS FROM [@cube]");
+        // El slicer es lo que más cambia entre llamadas (año, producto): va ligado, así la misma forma de consulta
+        // reutiliza un único PreparedStatement por conexión para todos sus valores
+        register("measureBySlicer", "Measure by the children of a dimension or member, filtered by a slicer member or tuple (e.g. a year or a product)",
+            "SELECT {Measures.[@measure]} ON COLUMNS, NON EMPTY {@dimension.children} ON ROWS FROM [@cube] WHERE (?slicer)");
+        register("cubeMeasures", "Measures of a cube",
+            "SELECT {Measures.Members} ON COLUMNS FROM [@cube]");
+        register("cubeDimensions", "Dimensions of a cube",
+            "SELECT {Dimensions} ON COLUMNS FROM [@cube]");
+        Bindable<Map<String, Map<String, String>>> bindable = Bindable.of(ResolvableType.forClassWithGenerics(Map.class,
+                ResolvableType.forClass(String.class), ResolvableType.forClassWithGenerics(Map.class, String.class, String.class)));
+        Binder.get(environment).bind("o3.templates", bindable).ifBound(configured ->
+                configured.forEach((name, props) -> register(name, props.get("description"), props.get("query"))));
+    }
+
+    public void register(String name, String description, String query) {
+        templates.put(name.toLowerCase(Locale.ROOT), MdxTemplate.compile(name, description, query));
+    }
+
+    // Retorna el template o null si no existe
+    public MdxTemplate get(String name) {
+        return name == null ? null : templates.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public String describeAll() {
+        StringJoiner sj = new StringJoiner("\n");
+        new TreeMap<>(templates).values().forEach(t -> sj.add(t.describe()));
+        return sj.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package o3.utec.mcp_o3.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Registro de métricas en memoria. Sin actuator no hay uno autoconfigurado; si se agrega actuator
+// (o un exportador) se usa el suyo y este no se crea.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
@@ -0,0 +1,25 @@
+package o3.utec.mcp_o3.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+
+// Hints para la imagen nativa (mvn -Pnative native:compile) y el procesamiento AOT del perfil fast-startup.
+// El driver se carga por nombre con Class.forName y el system prompt se lee del classpath, cosas que el análisis
+// estático de GraalVM no ve. Los drivers que no estén en el classpath del build se ignoran.
+public class O3RuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String STANDIN_DRIVER_CLASS = "o3.utec.standin.O3StandInDriver";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String driver : new String[] { O3ConnectionPool.DRIVER_CLASS, STANDIN_DRIVER_CLASS }) {
+            hints.reflection().registerTypeIfPresent(classLoader, driver,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("systemprompt/*");
+        hints.resources().registerPattern("META-INF/services/java.sql.Driver");
+    }
+}
@@ -0,0 +1,58 @@
+package o3.utec.mcp_o3.config;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Registro de conjuntos (suites) de consultas MDX con nombre: pruebas de humo, warm-up, etc.
+// La suite "smoke" trae las consultas de prueba sobre el cubo Demo. Se pueden agregar o reemplazar suites
+// por configuración con propiedades indexadas (las consultas MDX tienen comas, por eso no se usa una lista separada por comas):
+//   o3.suites.warmup[0]=SELECT {Measures.Members} ON COLUMNS FROM [Demo]
+//   o3.suites.warmup[1]=SELECT {Dimensions} ON COLUMNS FROM [Demo]
+@Component
+public class QuerySuiteRegistry {
+    public static final String SMOKE = "smoke";
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, List<String>> suites = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        register(SMOKE, List.of(
+            "SELECT {Measures.[Units Sold], Measures.[Cost]} ON COLUMNS, {Customers.Customers.[Major Accounts]} ON ROWS FROM Demo WHERE Measures.Discount",
+            "SELECT NON EMPTY {Customers.[Major Accounts]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM Demo WHERE Measures.[Units Sold]",
+            "SELECT {CubeInfo.LastModifiedDate} ON COLUMNS from Demo",
+            "SELECT NON ZERO {Location.children} ON ROWS, CROSSJOIN ({Salesmen.children}, {Customers.[Major Accounts]}) ON COLUMNS FROM Demo WHERE Measures.[Units Sold]",
+            "SELECT CrossJoin({[Date].[Date].children}, {[<measures>].[<measures>].[% Profit], [<measures>].[<measures>].[Revenue]}) ON COLUMNS, {{[Products].[Products].children}} ON ROWS FROM [Demo] WHERE ([Customers].[Customers],[Salesmen].[Salesmen],[Location].[Location])"
+        ));
+        Bindable<Map<String, List<String>>> bindable = Bindable.of(ResolvableType.forClassWithGenerics(Map.class,
+                ResolvableType.forClass(String.class), ResolvableType.forClassWithGenerics(List.class, String.class)));
+        Binder.get(environment).bind("o3.suites", bindable).ifBound(configured -> configured.forEach(this::register));
+    }
+
+    public void register(String name, List<String> queries) {
+        suites.put(name.toLowerCase(Locale.ROOT), List.copyOf(queries));
+    }
+
+    // Retorna las consultas de la suite o null si no existe
+    public List<String> get(String name) {
+        return name == null ? null : suites.get(name.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public Set<String> names() {
+        return Set.copyOf(suites.keySet());
+    }
+}
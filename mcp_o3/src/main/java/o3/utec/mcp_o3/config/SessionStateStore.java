@@ -0,0 +1,122 @@
+package o3.utec.mcp_o3.config;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Estado por sesión MCP, acotado y con vencimiento.
+// Cada sesión tiene su propia entrada en un ConcurrentHashMap, así que sesiones distintas no compiten por un mismo lock.
+// - Vencimiento: una entrada sin uso durante ttlMs se descarta y la próxima vez se crea de nuevo.
+// - Límite: al pasar maxSessions se descartan de una vez las entradas usadas hace más tiempo (un 10%),
+//   para no recorrer el mapa en cada alta.
+// Con stdio hay una única sesión (STDIO_SESSION) que dura lo que el proceso: no vence ni se descarta.
+public class SessionStateStore<T> {
+
+    public static final String STDIO_SESSION = "stdio";
+
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Supplier<T> factory;
+    private final int maxSessions;
+    private final long ttlMs;
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final AtomicLong evicted = new AtomicLong();
+
+    private static final class Entry<T> {
+        final T state;
+        volatile long lastAccess;
+
+        Entry(T state, long now) {
+            this.state = state;
+            this.lastAccess = now;
+        }
+    }
+
+    public SessionStateStore(Supplier<T> factory, int maxSessions, long ttlMs) {
+        this.factory = factory;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.ttlMs = ttlMs;
+    }
+
+    // Clave de la sesión de la tool call actual
+    public static String currentSession() {
+        McpCallContext context = McpCallContext.current();
+        return context == null || context.sessionId() == null ? STDIO_SESSION : context.sessionId();
+    }
+
+    // Estado de la sesión, creándolo si no existe o si venció
+    public T get(String session) {
+        long now = System.currentTimeMillis();
+        Entry<T> entry = entries.get(session);
+        if (entry != null && expired(session, entry, now)) {
+            if (entries.remove(session, entry)) {
+                evicted.incrementAndGet();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            entry = entries.computeIfAbsent(session, s -> new Entry<>(factory.get(), now));
+            if (entries.size() > maxSessions) {
+                trim();
+            }
+        }
+        entry.lastAccess = now;
+        return entry.state;
+    }
+
+    // Estado de la sesión solo si ya existe (no lo crea)
+    public T peek(String session) {
+        Entry<T> entry = entries.get(session);
+        return entry == null || expired(session, entry, System.currentTimeMillis()) ? null : entry.state;
+    }
+
+    private boolean expired(String session, Entry<T> entry, long now) {
+        return now - entry.lastAccess > ttlMs && !STDIO_SESSION.equals(session);
+    }
+
+    public void remove(String session) {
+        entries.remove(session);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long evicted() {
+        return evicted.get();
+    }
+
+    // Un solo hilo recorta a la vez; los demás siguen sin esperar
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.forEach((session, entry) -> {
+                if (expired(session, entry, now) && entries.remove(session, entry)) {
+                    evicted.incrementAndGet();
+                }
+            });
+            int excess = entries.size() - maxSessions;
+            if (excess > 0) {
+                int batch = Math.max(excess, maxSessions / 10);
+                List<Map.Entry<String, Entry<T>>> oldest = entries.entrySet().stream()
+                        .filter(e -> !STDIO_SESSION.equals(e.getKey()))
+                        .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                        .limit(batch)
+                        .toList();
+                for (Map.Entry<String, Entry<T>> e : oldest) {
+                    if (entries.remove(e.getKey(), e.getValue())) {
+                        evicted.incrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package o3.utec.mcp_o3.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.server.transport.StdioServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import jakarta.annotation.PreDestroy;
+import o3.utec.mcp_o3.service.QueryWatchdog;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+// Transporte stdio con reintento de envío y soporte de notifications/cancelled.
+// El del SDK MCP (0.10) publica cada mensaje con tryEmitNext sobre un sink unicast: si otro hilo está emitiendo en
+// ese momento (la respuesta anterior desde boundedElastic, el initialize desde el hilo de lectura) el sink devuelve
+// FAIL_NON_SERIALIZED, el SDK descarta la respuesta con "Failed to enqueue message" y el cliente queda esperando.
+// Con un solo núcleo pasa aun con tool calls secuenciales. Acá se reintenta el envío hasta que el sink lo acepta.
+// La sesión única de stdio se envuelve en CancellableSession, que hace lo mismo que McpCancellationFilter en HTTP:
+// marca cada tools/call con McpCallContext (sesión SessionStateStore.STDIO_SESSION + id) y aborta sus consultas
+// cuando llega notifications/cancelled.
+// Reemplaza al bean stdioServerTransport de Spring AI (@ConditionalOnMissingBean); en modo http no se crea.
+// Con spring.main.lazy-initialization (perfil lowmem) nada depende del servidor MCP y no se crearía: se excluye.
+@Configuration
+@ConditionalOnProperty(name = "spring.ai.mcp.server.stdio", havingValue = "true")
+public class StdioTransportConfig {
+    private static final Logger log = LoggerFactory.getLogger(StdioTransportConfig.class);
+
+    static final String ENQUEUE_FAILED = "Failed to enqueue message";
+    private static final int MAX_RETRIES = 1000;
+
+    @Bean
+    public McpServerTransportProvider stdioServerTransport(QueryWatchdog queryWatchdog) {
+        McpCallContext.installReactorHook();
+        return new StdioServerTransportProvider() {
+            @Override
+            public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+                super.setSessionFactory(transport -> new CancellableSession(
+                        sessionFactory.create(new RetryingTransport(transport)), queryWatchdog));
+            }
+        };
+    }
+
+    @PreDestroy
+    void removeHook() {
+        McpCallContext.removeReactorHook();
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter mcpServerEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(McpSyncServer.class, McpAsyncServer.class, McpServerTransportProvider.class);
+    }
+
+    record RetryingTransport(McpServerTransport delegate) implements McpServerTransport {
+
+        @Override
+        public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+            return delegate.sendMessage(message)
+                    .retryWhen(Retry.fixedDelay(MAX_RETRIES, Duration.ofMillis(1))
+                            .filter(e -> ENQUEUE_FAILED.equals(e.getMessage())));
+        }
+
+        @Override
+        public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+            return delegate.unmarshalFrom(data, typeRef);
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return delegate.closeGracefully();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    // Sesión del SDK que delega todo en la original e intercepta los mensajes entrantes.
+    // El SDK (0.10) no tiene handler para notifications/cancelled: la notificación se consume acá.
+    static final class CancellableSession extends McpServerSession {
+        static final String CANCELLED = "notifications/cancelled";
+
+        private final McpServerSession delegate;
+        private final QueryWatchdog queryWatchdog;
+
+        CancellableSession(McpServerSession delegate, QueryWatchdog queryWatchdog) {
+            super(delegate.getId(), null, null, null, null, Map.of(), Map.of());
+            this.delegate = delegate;
+            this.queryWatchdog = queryWatchdog;
+        }
+
+        @Override
+        public Mono<Void> handle(McpSchema.JSONRPCMessage message) {
+            if (message instanceof McpSchema.JSONRPCNotification notification && CANCELLED.equals(notification.method())) {
+                Map<?, ?> params = notification.params() instanceof Map<?, ?> map ? map : Map.of();
+                Object requestId = params.get("requestId");
+                Object reason = params.get("reason");
+                int aborted = queryWatchdog.cancel(
+                        new McpCallContext(SessionStateStore.STDIO_SESSION, String.valueOf(requestId)).key(),
+                        reason == null ? null : reason.toString());
+                log.info("notifications/cancelled stdio request {}: {} consultas abortadas", requestId, aborted);
+                return Mono.empty();
+            }
+            if (message instanceof McpSchema.JSONRPCRequest request && "tools/call".equals(request.method()) && request.id() != null) {
+                McpCallContext context = new McpCallContext(SessionStateStore.STDIO_SESSION, String.valueOf(request.id()));
+                Mono<Void> handled = delegate.handle(message);
+                // La suscripción corre con el contexto fijado: el hook de Reactor lo copia al hilo de la tool
+                return Mono.create(sink -> {
+                    McpCallContext.set(context);
+                    try {
+                        sink.onDispose(handled.subscribe(null, sink::error, sink::success));
+                    } finally {
+                        McpCallContext.clear();
+                    }
+                });
+            }
+            return delegate.handle(message);
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public void init(McpSchema.ClientCapabilities clientCapabilities, McpSchema.Implementation clientInfo) {
+            delegate.init(clientCapabilities, clientInfo);
+        }
+
+        @Override
+        public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
+            return delegate.sendRequest(method, requestParams, typeRef);
+        }
+
+        @Override
+        public Mono<Void> sendNotification(String method, Object params) {
+            return delegate.sendNotification(method, params);
+        }
+
+        @Override
+        public Mono<Void> closeGracefully() {
+            return delegate.closeGracefully();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
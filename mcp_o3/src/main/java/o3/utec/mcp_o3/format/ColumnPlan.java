@@ -0,0 +1,154 @@
+package o3.utec.mcp_o3.format;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.format.DateTimeFormatter;
+
+// Plan de formateo de columnas, compilado una sola vez por ResultSet a partir de ResultSetMetaData.
+// Cada columna queda asociada a un accessor tipado (getInt, getDouble, getDate, ...) para no consultar
+// getColumnType ni pasar por getObject/String.valueOf en cada celda. El texto resultante es el mismo
+// que producía runQuery originalmente ("null" para valores nulos, fechas dd-MMM-yyyy, REAL con los dígitos de un float).
+// DateTimeFormatter es inmutable, así que el plan se puede usar desde varios hilos a la vez.
+public final class ColumnPlan {
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
+
+    enum Kind { STRING, INT, LONG, FLOAT, DOUBLE, DECIMAL, DATE, OBJECT }
+
+    private final Kind[] kinds;
+    private final String[] labels;
+
+    private ColumnPlan(Kind[] kinds, String[] labels) {
+        this.kinds = kinds;
+        this.labels = labels;
+    }
+
+    public static ColumnPlan compile(ResultSetMetaData metadata) throws SQLException {
+        int columnCount = metadata.getColumnCount();
+        Kind[] kinds = new Kind[columnCount + 1];
+        String[] labels = new String[columnCount + 1];
+        for (int c = 1; c <= columnCount; c++) {
+            kinds[c] = kindOf(metadata.getColumnType(c));
+            labels[c] = metadata.getColumnLabel(c);
+        }
+        return new ColumnPlan(kinds, labels);
+    }
+
+    private static Kind kindOf(int sqlType) {
+        return switch (sqlType) {
+            case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.NVARCHAR, Types.NCHAR -> Kind.STRING;
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> Kind.INT;
+            case Types.BIGINT -> Kind.LONG;
+            // REAL es de precisión simple: leído con getDouble mostraría dígitos de más (0.1 -> 0.10000000149011612)
+            case Types.REAL -> Kind.FLOAT;
+            case Types.DOUBLE, Types.FLOAT -> Kind.DOUBLE;
+            case Types.DECIMAL, Types.NUMERIC -> Kind.DECIMAL;
+            case Types.DATE -> Kind.DATE;
+            default -> Kind.OBJECT;
+        };
+    }
+
+    public int columnCount() {
+        return kinds.length - 1;
+    }
+
+    public String label(int c) {
+        return labels[c];
+    }
+
+    public boolean isNumeric(int c) {
+        Kind k = kinds[c];
+        return k == Kind.INT || k == Kind.LONG || k == Kind.FLOAT || k == Kind.DOUBLE || k == Kind.DECIMAL;
+    }
+
+    // Agrega el texto de la celda al StringBuilder sin crear Strings intermedios para los tipos primitivos
+    public void appendText(ResultSet rs, int c, StringBuilder sb) throws SQLException {
+        switch (kinds[c]) {
+            case INT -> {
+                int v = rs.getInt(c);
+                if (rs.wasNull()) {
+                    sb.append("null");
+                } else {
+                    sb.append(v);
+                }
+            }
+            case LONG -> {
+                long v = rs.getLong(c);
+                if (rs.wasNull()) {
+                    sb.append("null");
+                } else {
+                    sb.append(v);
+                }
+            }
+            case FLOAT -> {
+                float v = rs.getFloat(c);
+                if (rs.wasNull()) {
+                    sb.append("null");
+                } else {
+                    sb.append(v);
+                }
+            }
+            case DOUBLE -> {
+                double v = rs.getDouble(c);
+                if (rs.wasNull()) {
+                    sb.append("null");
+                } else {
+                    sb.append(v);
+                }
+            }
+            case STRING -> sb.append(rs.getString(c));
+            case DECIMAL -> sb.append(rs.getBigDecimal(c));
+            case DATE -> {
+                Date d = rs.getDate(c);
+                if (d == null) {
+                    sb.append("null");
+                } else {
+                    DATE_FORMAT.formatTo(d.toLocalDate(), sb);
+                }
+            }
+            default -> {
+                Object o = rs.getObject(c);
+                if (o instanceof Date d) {
+                    DATE_FORMAT.formatTo(d.toLocalDate(), sb);
+                } else {
+                    sb.append(o);
+                }
+            }
+        }
+    }
+
+    // Valor tipado de la celda (Number, String, Date...); null si la celda es nula
+    public Object value(ResultSet rs, int c) throws SQLException {
+        Object v = switch (kinds[c]) {
+            case INT -> rs.getInt(c);
+            case LONG -> rs.getLong(c);
+            case FLOAT -> rs.getFloat(c);
+            case DOUBLE -> rs.getDouble(c);
+            case STRING -> rs.getString(c);
+            case DECIMAL -> rs.getBigDecimal(c);
+            case DATE -> rs.getDate(c);
+            default -> rs.getObject(c);
+        };
+        return rs.wasNull() ? null : v;
+    }
+
+    // Valor numérico como double; NaN si la celda es nula o no numérica
+    public double doubleValue(ResultSet rs, int c) throws SQLException {
+        if (isNumeric(c)) {
+            double v = rs.getDouble(c);
+            return rs.wasNull() ? Double.NaN : v;
+        }
+        Object o = rs.getObject(c);
+        return o instanceof Number n ? n.doubleValue() : Double.NaN;
+    }
+
+    // Texto de un valor obtenido con value(), con el mismo criterio que appendText
+    public static String text(Object o) {
+        if (o instanceof Date d) {
+            return DATE_FORMAT.format(d.toLocalDate());
+        }
+        return String.valueOf(o);
+    }
+}
@@ -0,0 +1,119 @@
+package o3.utec.mcp_o3.format;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Formato compacto para ahorrar bytes en el pipe stdio y tokens en el contexto del LLM:
+// - Columnas separadas por "|" sin espacios, null como celda vacía.
+// - Números redondeados a significantDigits dígitos significativos.
+// - Con referencias habilitadas: "^" repite el valor de la fila anterior en la misma columna
+//   (colapsa las etiquetas repetidas de un CrossJoin) y las etiquetas largas se codifican por diccionario,
+//   "~n=etiqueta" la define la primera vez y luego "~n" la referencia.
+// - Etiquetas y encabezados se escapan con barra invertida para que el formato no pierda información:
+//   \| \\ \n \r y un \^ o \~ inicial (una etiqueta "^" o "~3" no se confunde con una repetición o una referencia).
+final class CompactFormatter extends ResultFormatter {
+    // Etiquetas más cortas que esto no ahorran nada al codificarse
+    private static final int MIN_DICTIONARY_LENGTH = 4;
+    private static final int MAX_DICTIONARY_SIZE = 10_000;
+    private static final String ESCAPE_LEGEND = "in labels \\| \\\\ \\n \\r and a leading \\^ or \\~ are literal characters";
+
+    private final int significantDigits;
+    private final boolean references;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final String[] previous;
+
+    CompactFormatter(ColumnPlan plan, int significantDigits, boolean references) {
+        super(plan);
+        this.significantDigits = significantDigits;
+        this.references = references;
+        this.previous = new String[columnCount + 1];
+    }
+
+    @Override
+    public String preamble() {
+        if (references) {
+            return "#compact: ~n=label defines label n, ~n reuses it, ^ = same as row above, numbers rounded to "
+                    + significantDigits + " significant digits, " + ESCAPE_LEGEND;
+        }
+        return "#compact: numbers rounded to " + significantDigits + " significant digits, " + ESCAPE_LEGEND;
+    }
+
+    @Override
+    public void appendHeader(StringBuilder sb) {
+        for (int c = 1; c <= columnCount; c++) {
+            if (c > 1) {
+                sb.append('|');
+            }
+            appendEscaped(sb, plan.label(c));
+        }
+    }
+
+    @Override
+    public void appendRow(ResultSet rs, StringBuilder sb) throws SQLException {
+        for (int c = 1; c <= columnCount; c++) {
+            if (c > 1) {
+                sb.append('|');
+            }
+            Object o = plan.value(rs, c);
+            if (o == null) {
+                // La celda vacía corta la repetición: "^" debajo de ella se leería como vacío
+                previous[c] = null;
+                continue;
+            }
+            if (o instanceof Number n) {
+                sb.append(round(n, significantDigits));
+                continue;
+            }
+            String text = ColumnPlan.text(o);
+            if (!references) {
+                appendEscaped(sb, text);
+                continue;
+            }
+            if (text.equals(previous[c])) {
+                sb.append('^');
+                continue;
+            }
+            previous[c] = text;
+            appendLabel(sb, text);
+        }
+    }
+
+    private void appendLabel(StringBuilder sb, String text) {
+        if (text.length() < MIN_DICTIONARY_LENGTH) {
+            appendEscaped(sb, text);
+            return;
+        }
+        Integer id = dictionary.get(text);
+        if (id != null) {
+            sb.append('~').append(id);
+        } else if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+            id = dictionary.size();
+            dictionary.put(text, id);
+            sb.append('~').append(id).append('=');
+            appendEscaped(sb, text);
+        } else {
+            appendEscaped(sb, text);
+        }
+    }
+
+    // Sin caracteres especiales (lo habitual) la etiqueta se agrega tal cual
+    static void appendEscaped(StringBuilder sb, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            switch (ch) {
+                case '|', '\\' -> sb.append('\\').append(ch);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '^', '~' -> {
+                    if (i == 0) {
+                        sb.append('\\');
+                    }
+                    sb.append(ch);
+                }
+                default -> sb.append(ch);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package o3.utec.mcp_o3.format;
+
+import java.util.Locale;
+
+// Formatos de salida soportados para resultados MDX
+public enum OutputFormat {
+    // Columnas separadas por " | " (formato original)
+    TEXT,
+    // CSV RFC 4180, útil para las visualizaciones HTML que pide Generales.md
+    CSV,
+    // Etiquetas repetidas codificadas por diccionario y números redondeados
+    COMPACT;
+
+    // null o vacío equivale a TEXT
+    public static OutputFormat parse(String value) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("null")) {
+            return TEXT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato desconocido: " + value + " (use text, csv o compact)");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package o3.utec.mcp_o3.format;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+// Convierte un ResultSet en texto fila por fila usando un ColumnPlan compilado una vez por ResultSet.
+// Se crea una instancia por ejecución porque algunos formatos (COMPACT) mantienen estado entre filas;
+// los métodos append* escriben directo en el StringBuilder del llamador para no crear un String por fila.
+public abstract class ResultFormatter {
+
+    protected final ColumnPlan plan;
+    protected final int columnCount;
+    // StringBuilder reutilizado por row() para quienes necesitan la fila como String (ej. cursores)
+    private final StringBuilder rowBuffer = new StringBuilder(256);
+    // Filas formateadas hasta ahora (métricas)
+    private long rowCount;
+
+    protected ResultFormatter(ColumnPlan plan) {
+        this.plan = plan;
+        this.columnCount = plan.columnCount();
+    }
+
+    // streaming=true indica que las filas no se leen todas juntas (paginado), por lo que
+    // COMPACT no puede hacer referencias a filas anteriores
+    public static ResultFormatter create(OutputFormat format, ResultSetMetaData metadata, int significantDigits, boolean streaming) throws SQLException {
+        ColumnPlan plan = ColumnPlan.compile(metadata);
+        return switch (format) {
+            case TEXT -> new TextFormatter(plan);
+            case CSV -> new CsvFormatter(plan);
+            case COMPACT -> new CompactFormatter(plan, significantDigits, !streaming);
+        };
+    }
+
+    public abstract void appendHeader(StringBuilder sb);
+
+    public abstract void appendRow(ResultSet rs, StringBuilder sb) throws SQLException;
+
+    // Texto que va al comienzo del resultado (ej. leyenda del formato), vacío por defecto
+    public String preamble() {
+        return "";
+    }
+
+    public String header() {
+        StringBuilder sb = new StringBuilder();
+        appendHeader(sb);
+        return sb.toString();
+    }
+
+    public String row(ResultSet rs) throws SQLException {
+        rowCount++;
+        rowBuffer.setLength(0);
+        appendRow(rs, rowBuffer);
+        return rowBuffer.toString();
+    }
+
+    // Formatea todas las filas restantes del ResultSet (preámbulo, encabezado y una fila por línea)
+    public String formatAll(ResultSet rs) throws SQLException {
+        StringBuilder sb = new StringBuilder(4096);
+        String preamble = preamble();
+        if (!preamble.isEmpty()) {
+            sb.append(preamble).append('\n');
+        }
+        appendHeader(sb);
+        while (rs.next()) {
+            sb.append('\n');
+            appendRow(rs, sb);
+            rowCount++;
+        }
+        return sb.toString();
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    // Redondea a la cantidad de dígitos significativos indicada
+    static String round(Number n, int significantDigits) {
+        if (n instanceof Double d && (d.isNaN() || d.isInfinite()) || n instanceof Float f && (f.isNaN() || f.isInfinite())) {
+            return String.valueOf(n);
+        }
+        BigDecimal value = n instanceof BigDecimal b ? b : new BigDecimal(n.toString());
+        return value.round(new MathContext(significantDigits)).stripTrailingZeros().toPlainString();
+    }
+
+    static final class TextFormatter extends ResultFormatter {
+        TextFormatter(ColumnPlan plan) {
+            super(plan);
+        }
+
+        @Override
+        public void appendHeader(StringBuilder sb) {
+            for (int c = 1; c <= columnCount; c++) {
+                if (c > 1) {
+                    sb.append(" | ");
+                }
+                sb.append(plan.label(c));
+            }
+        }
+
+        @Override
+        public void appendRow(ResultSet rs, StringBuilder sb) throws SQLException {
+            for (int c = 1; c <= columnCount; c++) {
+                if (c > 1) {
+                    sb.append(" | ");
+                }
+                plan.appendText(rs, c, sb);
+            }
+        }
+    }
+
+    static final class CsvFormatter extends ResultFormatter {
+        CsvFormatter(ColumnPlan plan) {
+            super(plan);
+        }
+
+        @Override
+        public void appendHeader(StringBuilder sb) {
+            for (int c = 1; c <= columnCount; c++) {
+                if (c > 1) {
+                    sb.append(',');
+                }
+                appendCsv(sb, plan.label(c));
+            }
+        }
+
+        @Override
+        public void appendRow(ResultSet rs, StringBuilder sb) throws SQLException {
+            for (int c = 1; c <= columnCount; c++) {
+                if (c > 1) {
+                    sb.append(',');
+                }
+                if (plan.isNumeric(c)) {
+                    int start = sb.length();
+                    plan.appendText(rs, c, sb);
+                    if (rs.wasNull()) {
+                        sb.setLength(start);
+                    }
+                } else {
+                    Object o = plan.value(rs, c);
+                    if (o != null) {
+                        appendCsv(sb, ColumnPlan.text(o));
+                    }
+                }
+            }
+        }
+
+        static void appendCsv(StringBuilder sb, String value) {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                sb.append(value);
+                return;
+            }
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                if (ch == '"') {
+                    sb.append('"');
+                }
+                sb.append(ch);
+            }
+            sb.append('"');
+        }
+    }
+}
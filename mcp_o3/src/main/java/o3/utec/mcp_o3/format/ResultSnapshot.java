@@ -0,0 +1,128 @@
+package o3.utec.mcp_o3.format;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.zip.CRC32;
+
+// Resultado MDX como celdas direccionables, para el modo delta de executeCustomMdxQuery.
+// Las columnas no numéricas (miembros de las filas) forman la clave de la fila y las numéricas son los valores;
+// una celda es (clave de fila, columna de valor). Una clave repetida se numera (" #2") y sin columnas de
+// miembros la clave es el número de fila. El checksum es un CRC32 de columnas y filas, así el cliente puede
+// confirmar que el delta se calculó contra el mismo resultado que tiene.
+public record ResultSnapshot(List<String> keyLabels, List<String> valueLabels, Map<String, String[]> rows, long checksum) {
+
+    private static final String SEPARATOR = " | ";
+
+    public static ResultSnapshot of(List<String> keyLabels, List<String> valueLabels, Map<String, String[]> rows) {
+        CRC32 crc = new CRC32();
+        crc.update((String.join("\t", keyLabels) + "\n" + String.join("\t", valueLabels) + "\n").getBytes(StandardCharsets.UTF_8));
+        for (Map.Entry<String, String[]> row : rows.entrySet()) {
+            crc.update((row.getKey() + "\t" + String.join("\t", row.getValue()) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return new ResultSnapshot(keyLabels, valueLabels, rows, crc.getValue());
+    }
+
+    // Lee el ResultSet completo; cada fila también se agrega a full con el formatter (el resultado completo
+    // se necesita cuando no hay base para el delta)
+    public static ResultSnapshot read(ResultSet rs, ResultFormatter formatter, StringBuilder full) throws SQLException {
+        ColumnPlan plan = ColumnPlan.compile(rs.getMetaData());
+        int columnCount = plan.columnCount();
+        List<String> keyLabels = new ArrayList<>();
+        List<String> valueLabels = new ArrayList<>();
+        for (int c = 1; c <= columnCount; c++) {
+            (plan.isNumeric(c) ? valueLabels : keyLabels).add(plan.label(c));
+        }
+
+        String preamble = formatter.preamble();
+        if (!preamble.isEmpty()) {
+            full.append(preamble).append('\n');
+        }
+        formatter.appendHeader(full);
+
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        StringBuilder cell = new StringBuilder(64);
+        long rowNumber = 0;
+        while (rs.next()) {
+            full.append('\n');
+            formatter.appendRow(rs, full);
+            rowNumber++;
+
+            StringJoiner key = new StringJoiner(SEPARATOR);
+            String[] values = new String[valueLabels.size()];
+            int v = 0;
+            for (int c = 1; c <= columnCount; c++) {
+                cell.setLength(0);
+                plan.appendText(rs, c, cell);
+                if (plan.isNumeric(c)) {
+                    values[v++] = cell.toString();
+                } else {
+                    key.add(cell);
+                }
+            }
+            String rowKey = keyLabels.isEmpty() ? "#" + rowNumber : key.toString();
+            int seen = occurrences.merge(rowKey, 1, Integer::sum);
+            rows.put(seen == 1 ? rowKey : rowKey + " #" + seen, values);
+        }
+        return of(List.copyOf(keyLabels), List.copyOf(valueLabels), rows);
+    }
+
+    public String checksumHex() {
+        return String.format("%08x", checksum);
+    }
+
+    public long cellCount() {
+        return (long) rows.size() * Math.max(1, valueLabels.size());
+    }
+
+    // true si las columnas son las mismas y se puede calcular un delta por celdas
+    public boolean comparableTo(ResultSnapshot base) {
+        return keyLabels.equals(base.keyLabels) && valueLabels.equals(base.valueLabels);
+    }
+
+    // Celdas cambiadas, filas agregadas y filas quitadas respecto de base (mismas columnas)
+    public String renderDelta(ResultSnapshot base) {
+        List<String> changed = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        for (Map.Entry<String, String[]> row : rows.entrySet()) {
+            String[] before = base.rows.get(row.getKey());
+            String[] after = row.getValue();
+            if (before == null) {
+                added.add("ADDED " + row.getKey() + (after.length == 0 ? "" : SEPARATOR + String.join(SEPARATOR, after)));
+            } else if (!Arrays.equals(before, after)) {
+                for (int v = 0; v < after.length; v++) {
+                    if (!before[v].equals(after[v])) {
+                        changed.add("CHANGED " + row.getKey() + SEPARATOR + valueLabels.get(v) + ": " + before[v] + " -> " + after[v]);
+                    }
+                }
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String key : base.rows.keySet()) {
+            if (!rows.containsKey(key)) {
+                removed.add("REMOVED " + key);
+            }
+        }
+
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- DELTA base=" + base.checksumHex() + " new=" + checksumHex() + ": " + changed.size() + " changed cells, "
+                + added.size() + " added rows, " + removed.size() + " removed rows (" + rows.size() + " rows) ---");
+        if (changed.isEmpty() && added.isEmpty() && removed.isEmpty()) {
+            sj.add("No changes.");
+            return sj.toString();
+        }
+        sj.add("Columns: " + String.join(SEPARATOR, keyLabels) + " || " + String.join(SEPARATOR, valueLabels));
+        changed.forEach(sj::add);
+        added.forEach(sj::add);
+        removed.forEach(sj::add);
+        return sj.toString();
+    }
+}
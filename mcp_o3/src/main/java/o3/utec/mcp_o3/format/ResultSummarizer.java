@@ -0,0 +1,163 @@
+package o3.utec.mcp_o3.format;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+
+// Resumen de un resultado MDX calculado en la JVM mientras se recorre el ResultSet: por cada columna numérica
+// cantidad, suma, promedio, mínimo/máximo, Top-N y Bottom-N con su participación sobre el total.
+// Las columnas no numéricas (etiquetas de miembros) identifican cada fila. Solo se guardan N filas por columna
+// y extremo, así la memoria no depende del tamaño del resultado.
+public final class ResultSummarizer {
+    private final ColumnPlan plan;
+    private final int topN;
+    private final int significantDigits;
+
+    private ResultSummarizer(ColumnPlan plan, int topN, int significantDigits) {
+        this.plan = plan;
+        this.topN = topN;
+        this.significantDigits = significantDigits;
+    }
+
+    public static String summarize(ResultSet rs, int topN, int significantDigits) throws SQLException {
+        return new ResultSummarizer(ColumnPlan.compile(rs.getMetaData()), Math.max(1, topN), significantDigits).run(rs);
+    }
+
+    private record Ranked(String label, double value) {
+    }
+
+    private static final class ColumnStats {
+        final String name;
+        long count;
+        long empty;
+        double sum;
+        Ranked min;
+        Ranked max;
+        // Top-N en un min-heap y Bottom-N en un max-heap, ambos acotados a N
+        final PriorityQueue<Ranked> top = new PriorityQueue<>(Comparator.comparingDouble(Ranked::value));
+        final PriorityQueue<Ranked> bottom = new PriorityQueue<>(Comparator.comparingDouble(Ranked::value).reversed());
+
+        ColumnStats(String name) {
+            this.name = name;
+        }
+
+        void add(String label, double value, int n) {
+            if (Double.isNaN(value)) {
+                empty++;
+                return;
+            }
+            count++;
+            sum += value;
+            Ranked r = new Ranked(label, value);
+            if (min == null || value < min.value()) {
+                min = r;
+            }
+            if (max == null || value > max.value()) {
+                max = r;
+            }
+            offer(top, r, n);
+            offer(bottom, r, n);
+        }
+
+        private static void offer(PriorityQueue<Ranked> heap, Ranked r, int n) {
+            if (heap.size() < n) {
+                heap.add(r);
+            } else if (heap.comparator().compare(r, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(r);
+            }
+        }
+    }
+
+    private String run(ResultSet rs) throws SQLException {
+        int columnCount = plan.columnCount();
+        // Qué columnas son medidas se decide con la primera fila: un valor Number (o vacío en una columna numérica)
+        boolean[] measure = null;
+        List<ColumnStats> stats = new ArrayList<>();
+        ColumnStats[] byColumn = new ColumnStats[columnCount + 1];
+        long rows = 0;
+        StringBuilder label = new StringBuilder();
+        while (rs.next()) {
+            if (measure == null) {
+                measure = new boolean[columnCount + 1];
+                for (int c = 1; c <= columnCount; c++) {
+                    Object v = plan.value(rs, c);
+                    measure[c] = v instanceof Number || v == null && plan.isNumeric(c);
+                    if (measure[c]) {
+                        byColumn[c] = new ColumnStats(plan.label(c));
+                        stats.add(byColumn[c]);
+                    }
+                }
+            }
+            rows++;
+            label.setLength(0);
+            for (int c = 1; c <= columnCount; c++) {
+                if (!measure[c]) {
+                    if (!label.isEmpty()) {
+                        label.append(" / ");
+                    }
+                    plan.appendText(rs, c, label);
+                }
+            }
+            String rowLabel = label.isEmpty() ? "row " + rows : label.toString();
+            for (int c = 1; c <= columnCount; c++) {
+                if (measure[c]) {
+                    byColumn[c].add(rowLabel, plan.doubleValue(rs, c), topN);
+                }
+            }
+        }
+        return render(rows, stats);
+    }
+
+    private String render(long rows, List<ColumnStats> stats) {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("=== SUMMARY: " + rows + " rows, " + stats.size() + " numeric columns ===");
+        if (stats.isEmpty()) {
+            sj.add("No numeric columns to summarize.");
+            return sj.toString();
+        }
+        for (ColumnStats s : stats) {
+            sj.add("");
+            sj.add("--- " + s.name + " ---");
+            if (s.count == 0) {
+                sj.add("No values (" + s.empty + " empty)");
+                continue;
+            }
+            sj.add("Count: " + s.count + (s.empty > 0 ? " (" + s.empty + " empty)" : "")
+                    + " / Sum: " + num(s.sum) + " / Avg: " + num(s.sum / s.count));
+            sj.add("Min: " + num(s.min.value()) + " (" + s.min.label() + ") / Max: " + num(s.max.value()) + " (" + s.max.label() + ")");
+            sj.add("Top " + s.top.size() + ":");
+            addRanking(sj, s.top, s.sum, true);
+            if (s.count > s.top.size()) {
+                sj.add("Bottom " + s.bottom.size() + ":");
+                addRanking(sj, s.bottom, s.sum, false);
+            }
+        }
+        sj.add("");
+        sj.add("Share = value / column sum.");
+        return sj.toString();
+    }
+
+    private void addRanking(StringJoiner sj, PriorityQueue<Ranked> heap, double sum, boolean descending) {
+        List<Ranked> ranked = new ArrayList<>(heap);
+        Comparator<Ranked> order = Comparator.comparingDouble(Ranked::value);
+        ranked.sort(descending ? order.reversed() : order);
+        int i = 1;
+        for (Ranked r : ranked) {
+            sj.add(i++ + ". " + r.label() + " = " + num(r.value()) + share(r.value(), sum));
+        }
+    }
+
+    private static String share(double value, double sum) {
+        return sum == 0 ? "" : String.format(Locale.ROOT, " (%.1f%%)", 100 * value / sum);
+    }
+
+    private String num(double v) {
+        return ResultFormatter.round(v, significantDigits);
+    }
+}
@@ -0,0 +1,32 @@
+package o3.utec.mcp_o3.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+// Consultas de metadatos de cubo que usan los distintos servicios (cache, catálogo).
+public final class CubeInfoQueries {
+
+    private CubeInfoQueries() {
+    }
+
+    // Retorna la fecha de última modificación del cubo tal como la reporta
+    // SELECT {CubeInfo.LastModifiedDate} ON COLUMNS FROM [Cube].
+    // Se concatenan todas las celdas del resultado para no depender de la forma exacta que devuelve el driver.
+    public static String lastModifiedDate(Connection conn, String cubeName) throws SQLException {
+        String query = "SELECT {CubeInfo.LastModifiedDate} ON COLUMNS FROM [" + cubeName + "]";
+        StringJoiner version = new StringJoiner("|");
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            int columnCount = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                for (int c = 1; c <= columnCount; c++) {
+                    version.add(String.valueOf(rs.getObject(c)));
+                }
+            }
+        }
+        return version.toString();
+    }
+}
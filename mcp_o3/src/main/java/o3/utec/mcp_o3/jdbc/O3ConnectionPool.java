@@ -0,0 +1,436 @@
+package o3.utec.mcp_o3.jdbc;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Pool acotado de conexiones para el driver thin de O3.
+// Cada tool de MCPCore pide prestada una conexión (borrow) y la devuelve al cerrar el Lease,
+// de esta forma una cadena de consultas exploratorias reutiliza sesiones ya autenticadas.
+// - Validación al prestar: isClosed() siempre, y la validationQuery si la conexión estuvo ociosa más de validateAfterIdleMs
+//   (O3ThinConnection.isValid() siempre retorna false, por eso no se usa).
+// - Desalojo de conexiones ociosas y tiempo máximo de vida, revisados por un hilo en segundo plano.
+// - Cache LRU de PreparedStatement por conexión (Lease.prepare): O3 parsea la consulta en prepareStatement,
+//   así reejecutar el mismo texto sobre la misma conexión no vuelve a parsearlo en el servidor.
+@Component
+public class O3ConnectionPool {
+    public static final String DRIVER_CLASS = "com.ideasoft.o3.jdbc.thin.client.O3ThinDriver";
+
+    @Value("${o3.server.url}")
+    private String o3ServerUrl;
+
+    @Value("${o3.server.username}")
+    private String o3Username;
+
+    @Value("${o3.server.password}")
+    private String o3Password;
+
+    @Value("${o3.server.columnsType}")
+    private String o3ColumnsType;
+
+    @Value("${o3.server.memberByLabel}")
+    private String o3MemberByLabel;
+
+    // Driver a usar para la URL. Con o3.utec.standin.O3StandInDriver (módulo o3-standin) se trabaja sin servidor O3.
+    @Value("${o3.server.driverClass:" + DRIVER_CLASS + "}")
+    private String driverClass;
+
+    // Configuración del pool (todas opcionales)
+    @Value("${o3.pool.maxSize:4}")
+    private int maxSize;
+
+    @Value("${o3.pool.borrowTimeoutMs:30000}")
+    private long borrowTimeoutMs;
+
+    @Value("${o3.pool.idleTimeoutMs:300000}")
+    private long idleTimeoutMs;
+
+    @Value("${o3.pool.maxLifetimeMs:1800000}")
+    private long maxLifetimeMs;
+
+    @Value("${o3.pool.validateAfterIdleMs:5000}")
+    private long validateAfterIdleMs;
+
+    @Value("${o3.pool.validationQuery:SELECT {Cubes} ON COLUMNS FROM SYSCATALOG}")
+    private String validationQuery;
+
+    @Value("${o3.pool.evictionIntervalMs:30000}")
+    private long evictionIntervalMs;
+
+    // PreparedStatement abiertos por conexión (mínimo 1)
+    @Value("${o3.pool.preparedStatementCacheSize:32}")
+    private int preparedStatementCacheSize;
+
+    private Semaphore permits;
+    // Conexiones ociosas, la más reciente al frente (LIFO) para que las viejas expiren al fondo
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private ScheduledExecutorService evictor;
+    private volatile boolean driverLoaded;
+    // Instancia registrada de driverClass; null si no se encontró y se delega en DriverManager
+    private volatile Driver driver;
+
+    // Estadísticas
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong borrowWaitNanos = new AtomicLong();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong preparedHits = new AtomicLong();
+    private final AtomicLong preparedMisses = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(Math.max(1, maxSize), true);
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "o3-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        evictor.scheduleWithFixedDelay(this::evict, evictionIntervalMs, evictionIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        evictor.shutdownNow();
+        List<PooledConnection> toClose;
+        synchronized (idle) {
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        toClose.forEach(this::destroy);
+    }
+
+    // Pide una conexión al pool, esperando como máximo borrowTimeoutMs si todas están en uso.
+    public Lease borrow() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.incrementAndGet();
+                throw new PoolExhaustedException("Timeout esperando una conexión O3 libre del pool (" + borrowTimeoutMs + " ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PoolExhaustedException("Interrumpido esperando una conexión O3 del pool", e);
+        }
+        long waited = System.nanoTime() - start;
+        borrows.incrementAndGet();
+        borrowWaitNanos.addAndGet(waited);
+        maxBorrowWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            PooledConnection pc;
+            while ((pc = pollIdle()) != null) {
+                if (isUsable(pc)) {
+                    break;
+                }
+                destroy(pc);
+            }
+            if (pc == null) {
+                pc = create();
+            }
+            active.incrementAndGet();
+            return new Lease(pc);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Registra el driver y abre conexiones ociosas hasta tener count en el pool (como máximo maxSize),
+    // para que la primera tool no pague la conexión. Retorna cuántas se abrieron.
+    // Cada conexión se abre con un permiso, como un borrow, y antes se cuentan las ociosas más los otros permisos
+    // tomados (incluye las tools que están abriendo su conexión y todavía no figuran en active): así no se abre
+    // ninguna por encima de maxSize. Sin permisos libres el pool ya está en uso y no hace falta precalentarlo.
+    public int prewarm(int count) throws SQLException {
+        loadDriver();
+        int target = Math.min(count, maxSize);
+        int opened = 0;
+        while (permits.tryAcquire()) {
+            try {
+                synchronized (idle) {
+                    int borrowed = Math.max(1, maxSize) - permits.availablePermits() - 1;
+                    if (idle.size() + borrowed >= target) {
+                        break;
+                    }
+                }
+                PooledConnection pc = create();
+                synchronized (idle) {
+                    idle.addFirst(pc);
+                }
+                opened++;
+            } finally {
+                permits.release();
+            }
+        }
+        return opened;
+    }
+
+    private PooledConnection pollIdle() {
+        synchronized (idle) {
+            return idle.pollFirst();
+        }
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        long now = System.currentTimeMillis();
+        if (now - pc.createdAt > maxLifetimeMs) {
+            return false;
+        }
+        try {
+            if (pc.connection.isClosed()) {
+                return false;
+            }
+            if (validationQuery != null && !validationQuery.isBlank() && now - pc.lastUsedAt > validateAfterIdleMs) {
+                try (Statement stmt = pc.connection.createStatement();
+                     ResultSet rs = stmt.executeQuery(validationQuery)) {
+                    rs.next();
+                }
+            }
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            validationFailures.incrementAndGet();
+            return false;
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        loadDriver();
+        Properties info = new Properties();
+        info.put("user", o3Username);
+        info.put("password", o3Password);
+        info.put("COLUMNS_TYPE", o3ColumnsType);
+        info.put("MEMBER_BY_LABEL", o3MemberByLabel);
+        // Con el driver configurado directamente: si hay otro driver registrado para jdbc:o3: (ej. el real y el
+        // stand-in a la vez) DriverManager usaría el primero que acepte la URL
+        Connection conn = driver != null ? driver.connect(o3ServerUrl, info) : DriverManager.getConnection(o3ServerUrl, info);
+        if (conn == null) {
+            throw new SQLException("El driver " + driverClass + " no acepta la URL " + o3ServerUrl);
+        }
+        created.incrementAndGet();
+        return new PooledConnection(conn);
+    }
+
+    // Registra el driver una sola vez por proceso
+    private void loadDriver() throws SQLException {
+        if (driverLoaded) {
+            return;
+        }
+        try {
+            Class.forName(driverClass);
+            driver = DriverManager.drivers().filter(d -> d.getClass().getName().equals(driverClass)).findFirst().orElse(null);
+            driverLoaded = true;
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Driver O3 no encontrado en el classpath: " + driverClass, e);
+        }
+    }
+
+    private void release(PooledConnection pc, boolean broken) {
+        active.decrementAndGet();
+        try {
+            long now = System.currentTimeMillis();
+            // Una conexión cerrada mientras estaba prestada (ej. consulta abortada por QueryWatchdog) no vuelve al pool
+            if (broken || now - pc.createdAt > maxLifetimeMs || isClosed(pc)) {
+                destroy(pc);
+            } else {
+                pc.lastUsedAt = now;
+                synchronized (idle) {
+                    idle.addFirst(pc);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static boolean isClosed(PooledConnection pc) {
+        try {
+            return pc.connection.isClosed();
+        } catch (SQLException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        destroyed.incrementAndGet();
+        pc.closeStatements();
+        try {
+            pc.connection.close();
+        } catch (SQLException | RuntimeException ignored) {
+            // La conexión se descarta de todas formas
+        }
+    }
+
+    // Cierra las conexiones ociosas que superaron idleTimeoutMs o maxLifetimeMs
+    void evict() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> expired = new ArrayList<>();
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastUsedAt > idleTimeoutMs || now - pc.createdAt > maxLifetimeMs) {
+                    it.remove();
+                    expired.add(pc);
+                }
+            }
+        }
+        expired.forEach(this::destroy);
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // Cantidad de hilos esperando una conexión en este momento
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getBorrowCount() {
+        return borrows.get();
+    }
+
+    public double getAverageBorrowWaitMillis() {
+        long count = borrows.get();
+        return count == 0 ? 0.0 : borrowWaitNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxBorrowWaitMillis() {
+        return maxBorrowWaitNanos.get() / 1_000_000.0;
+    }
+
+    public double getPreparedHitRatio() {
+        long h = preparedHits.get();
+        long total = h + preparedMisses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- CONNECTION POOL ---");
+        sj.add("Active: " + getActiveCount() + " / Idle: " + getIdleCount() + " / Max: " + maxSize);
+        sj.add("Waiting borrowers: " + getWaitingCount());
+        sj.add("Borrows: " + borrows.get() + " (timeouts: " + borrowTimeouts.get() + ")");
+        sj.add(String.format("Borrow wait avg: %.3f ms / max: %.3f ms", getAverageBorrowWaitMillis(), getMaxBorrowWaitMillis()));
+        sj.add("Connections created: " + created.get() + " / destroyed: " + destroyed.get()
+                + " / validation failures: " + validationFailures.get());
+        sj.add(String.format("Prepared statements: hits %d / misses %d (hit ratio %.1f%%)",
+                preparedHits.get(), preparedMisses.get(), 100 * getPreparedHitRatio()));
+        return sj.toString();
+    }
+
+    private static final class PooledConnection {
+        final Connection connection;
+        final long createdAt;
+        volatile long lastUsedAt;
+        // Solo lo usa el hilo que tiene la conexión prestada, o destroy() cuando ya no está prestada
+        final Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsedAt = createdAt;
+        }
+
+        void closeStatements() {
+            statements.values().forEach(PooledConnection::closeQuietly);
+            statements.clear();
+        }
+
+        static void closeQuietly(PreparedStatement stmt) {
+            try {
+                stmt.close();
+            } catch (SQLException | RuntimeException ignored) {
+                // Se descarta de todas formas
+            }
+        }
+    }
+
+    // Préstamo de una conexión. Se usa con try-with-resources; close() la devuelve al pool.
+    public final class Lease implements AutoCloseable {
+        private final PooledConnection pooled;
+        private boolean broken;
+        private boolean closed;
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        public Connection connection() {
+            return pooled.connection;
+        }
+
+        // PreparedStatement para el texto dado, reutilizado de ejecuciones anteriores sobre esta conexión si existe.
+        // Pertenece al cache: no se debe cerrar, solo cerrar sus ResultSet.
+        public PreparedStatement prepare(String query) throws SQLException {
+            Map<String, PreparedStatement> statements = pooled.statements;
+            PreparedStatement stmt = statements.get(query);
+            if (stmt != null && !stmt.isClosed()) {
+                preparedHits.incrementAndGet();
+                stmt.clearParameters();
+                return stmt;
+            }
+            preparedMisses.incrementAndGet();
+            stmt = pooled.connection.prepareStatement(query);
+            statements.put(query, stmt);
+            Iterator<PreparedStatement> it = statements.values().iterator();
+            while (statements.size() > Math.max(1, preparedStatementCacheSize) && it.hasNext()) {
+                PooledConnection.closeQuietly(it.next());
+                it.remove();
+            }
+            return stmt;
+        }
+
+        // Marca la conexión como inservible para que se descarte en lugar de volver al pool
+        public void invalidate() {
+            broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            release(pooled, broken);
+        }
+    }
+}
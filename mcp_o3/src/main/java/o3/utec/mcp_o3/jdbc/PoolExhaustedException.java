@@ -0,0 +1,16 @@
+package o3.utec.mcp_o3.jdbc;
+
+import java.sql.SQLTransientException;
+
+// No se obtuvo una conexión del pool: todas en uso durante borrowTimeoutMs, o el hilo fue interrumpido esperando.
+// Es transitoria (reintentar más tarde puede funcionar) y ToolMetrics la clasifica por tipo como error del pool.
+public class PoolExhaustedException extends SQLTransientException {
+
+    public PoolExhaustedException(String message) {
+        super(message);
+    }
+
+    public PoolExhaustedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
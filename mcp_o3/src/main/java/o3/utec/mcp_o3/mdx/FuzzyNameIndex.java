@@ -0,0 +1,129 @@
+package o3.utec.mcp_o3.mdx;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Índice de nombres para corrección de errores de tipeo: un BK-tree sobre la distancia de Levenshtein
+// (inserciones, borrados y sustituciones) entre nombres en minúsculas. Se usa Levenshtein y no Damerau restringida
+// porque el BK-tree necesita una métrica (desigualdad triangular); una transposición cuenta como 2.
+// La búsqueda con distancia máxima d solo visita los subárboles cuya arista está en [dist - d, dist + d],
+// así con miles de miembros se compara contra una fracción pequeña de ellos.
+// Se construye una vez y después es de solo lectura, por lo que se puede consultar desde varios hilos.
+public final class FuzzyNameIndex {
+
+    public record Match(String name, int distance) {
+    }
+
+    private static final class Node {
+        final String key;
+        // Nombres originales con esta misma clave en minúsculas (Paris, PARIS)
+        final List<String> names = new ArrayList<>(1);
+        final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String key) {
+            this.key = key;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    public FuzzyNameIndex(Collection<String> names) {
+        names.forEach(this::add);
+    }
+
+    private void add(String name) {
+        if (name == null || name.isEmpty()) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        if (root == null) {
+            root = new Node(key);
+            root.names.add(name);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int d = distance(key, node.key);
+            if (d == 0) {
+                if (!node.names.contains(name)) {
+                    node.names.add(name);
+                }
+                return;
+            }
+            Node child = node.children.get(d);
+            if (child == null) {
+                child = new Node(key);
+                child.names.add(name);
+                node.children.put(d, child);
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Existe un nombre igual sin distinguir mayúsculas
+    public boolean containsIgnoreCase(String name) {
+        return !search(name, 0, 1).isEmpty();
+    }
+
+    // Hasta limit nombres a distancia <= maxDistance, los más cercanos primero
+    public List<Match> search(String name, int maxDistance, int limit) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null || name == null) {
+            return matches;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int d = distance(key, node.key);
+            if (d <= maxDistance) {
+                for (String n : node.names) {
+                    matches.add(new Match(n, d));
+                }
+            }
+            for (Map.Entry<Integer, Node> e : node.children.entrySet()) {
+                if (e.getKey() >= d - maxDistance && e.getKey() <= d + maxDistance) {
+                    pending.add(e.getValue());
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::name));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    // Distancia de Levenshtein con dos filas
+    static int distance(String a, String b) {
+        int m = b.length();
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[m];
+    }
+}
@@ -0,0 +1,525 @@
+package o3.utec.mcp_o3.mdx;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Forma canónica y huella (fingerprint) de consultas MDX, para claves de cache y detección de duplicados.
+// Dos consultas que solo difieren en espacios, mayúsculas de palabras clave, comillado con corchetes
+// (Location.children vs [Location].[Location].children) u orden de los ejes generan el mismo texto canónico.
+// - canonical / exactFingerprint: conservan el orden de los elementos de cada set, que define el orden del resultado.
+//   Son los que hay que usar como clave de cache.
+// - fingerprint: además ordena los elementos de cada set; identifica la misma consulta lógica aunque
+//   el resultado salga en otro orden. Sirve para detectar duplicados.
+// Los nombres de miembros no se pasan a mayúsculas porque el cubo puede distinguirlas.
+public final class MdxCanonicalizer {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Propiedades y funciones que aparecen como segmento de un path (Location.children, Date.Year.Members)
+    private static final Set<String> PATH_KEYWORDS = Set.of(
+            "CHILDREN", "MEMBERS", "ALLMEMBERS", "PARENT", "FIRSTCHILD", "LASTCHILD", "CURRENTMEMBER",
+            "PREVMEMBER", "NEXTMEMBER", "DEFAULTMEMBER", "SIBLINGS", "FIRSTSIBLING", "LASTSIBLING",
+            "LEVEL", "LEVELS", "HIERARCHY", "DIMENSION", "NAME", "UNIQUENAME", "ORDINAL", "VALUE",
+            "COUNT", "ITEM", "LAG", "LEAD", "CURRENT");
+
+    // Palabras clave que terminan una expresión
+    private static final Set<String> CLAUSE_KEYWORDS = Set.of("SELECT", "ON", "FROM", "WHERE", "WITH", "CELL", "PROPERTIES", "DIMENSION");
+
+    private static final Set<String> WORD_OPERATORS = Set.of("AND", "OR", "XOR", "IS");
+
+    private static final Set<String> SYMBOL_OPERATORS = Set.of("+", "-", "*", "/", "^", "<", ">", "=", ":", "<=", ">=", "<>");
+
+    private static final List<String> AXIS_NAMES = List.of("COLUMNS", "ROWS", "PAGES", "SECTIONS", "CHAPTERS");
+
+    private MdxCanonicalizer() {
+    }
+
+    // Resultado del análisis. axes y slicer están en forma canónica.
+    public record CanonicalQuery(String canonical, String fingerprint, String exactFingerprint,
+                                 String cube, List<String> axes, String slicer) {
+    }
+
+    // Analiza la consulta; lanza MdxParseException si no es MDX válido sintácticamente
+    public static CanonicalQuery canonicalize(String mdx) {
+        Query query = new Parser(MdxTokenizer.tokenize(mdx)).parseQuery();
+        String canonical = query.print(false);
+        String logical = query.print(true);
+        List<String> axes = query.axes.stream().map(a -> a.print(false)).toList();
+        String slicer = query.slicer == null ? null : print(query.slicer, false);
+        return new CanonicalQuery(canonical, hash(logical), hash(canonical), query.cube, axes, slicer);
+    }
+
+    // Igual que canonicalize, pero si la consulta no se puede analizar usa el texto con espacios normalizados
+    public static CanonicalQuery canonicalizeOrNormalize(String mdx) {
+        try {
+            return canonicalize(mdx);
+        } catch (MdxParseException e) {
+            String normalized = WHITESPACE.matcher(mdx.trim()).replaceAll(" ");
+            String h = hash(normalized);
+            return new CanonicalQuery(normalized, h, h, "", List.of(), null);
+        }
+    }
+
+    private static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Árbol sintáctico mínimo
+
+    private sealed interface Node permits Name, Keyword, Path, Call, SetNode, Tuple, Literal, Sequence, Operator {
+    }
+
+    private record Name(String name) implements Node {
+    }
+
+    private record Keyword(String keyword) implements Node {
+    }
+
+    private record Path(List<Node> segments) implements Node {
+    }
+
+    private record Call(String function, List<Node> args) implements Node {
+    }
+
+    private record SetNode(List<Node> elements) implements Node {
+    }
+
+    private record Tuple(List<Node> elements) implements Node {
+    }
+
+    private record Literal(String text) implements Node {
+    }
+
+    private record Sequence(List<Node> parts) implements Node {
+    }
+
+    private record Operator(String op) implements Node {
+    }
+
+    private record Axis(String modifier, Node set, int ordinal) {
+        String print(boolean logical) {
+            String axisName = ordinal < AXIS_NAMES.size() ? AXIS_NAMES.get(ordinal) : "AXIS(" + ordinal + ")";
+            return (modifier == null ? "" : modifier + " ") + MdxCanonicalizer.print(set, logical) + " ON " + axisName;
+        }
+    }
+
+    private static final class Query {
+        String with;
+        final List<Axis> axes = new ArrayList<>();
+        String cube;
+        Node slicer;
+
+        String print(boolean logical) {
+            StringBuilder sb = new StringBuilder();
+            if (with != null) {
+                sb.append(with).append(' ');
+            }
+            sb.append("SELECT ");
+            for (int i = 0; i < axes.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(axes.get(i).print(logical));
+            }
+            sb.append(" FROM ").append(bracket(cube));
+            if (slicer != null) {
+                sb.append(" WHERE ").append(MdxCanonicalizer.print(slicer, logical));
+            }
+            return sb.toString();
+        }
+    }
+
+    private static String bracket(String name) {
+        return "[" + name.replace("]", "]]") + "]";
+    }
+
+    private static String print(Node node, boolean logical) {
+        StringBuilder sb = new StringBuilder();
+        print(node, logical, sb);
+        return sb.toString();
+    }
+
+    private static void print(Node node, boolean logical, StringBuilder sb) {
+        switch (node) {
+            case Name n -> sb.append(bracket(n.name()));
+            case Keyword k -> sb.append(k.keyword());
+            case Literal l -> sb.append(l.text());
+            case Operator o -> sb.append(o.op());
+            case Path p -> {
+                for (int i = 0; i < p.segments().size(); i++) {
+                    if (i > 0) {
+                        sb.append('.');
+                    }
+                    print(p.segments().get(i), logical, sb);
+                }
+            }
+            case Call c -> {
+                sb.append(c.function()).append('(');
+                printList(c.args(), logical, false, sb);
+                sb.append(')');
+            }
+            case SetNode s -> {
+                sb.append('{');
+                printList(s.elements(), logical, logical, sb);
+                sb.append('}');
+            }
+            case Tuple t -> {
+                sb.append('(');
+                printList(t.elements(), logical, false, sb);
+                sb.append(')');
+            }
+            case Sequence q -> {
+                for (int i = 0; i < q.parts().size(); i++) {
+                    Node part = q.parts().get(i);
+                    boolean tight = isRange(part) || i > 0 && (isRange(q.parts().get(i - 1)) || isUnary(q.parts(), i - 1));
+                    if (i > 0 && !tight) {
+                        sb.append(' ');
+                    }
+                    print(part, logical, sb);
+                }
+            }
+        }
+    }
+
+    private static boolean isRange(Node node) {
+        return node instanceof Operator o && o.op().equals(":");
+    }
+
+    // Un operador es unario si está al comienzo o después de otro operador
+    private static boolean isUnary(List<Node> parts, int index) {
+        return (index == 0 || parts.get(index - 1) instanceof Operator)
+                && parts.get(index) instanceof Operator o && (o.op().equals("-") || o.op().equals("+"));
+    }
+
+    private static void printList(List<Node> nodes, boolean logical, boolean sort, StringBuilder sb) {
+        List<String> printed = new ArrayList<>(nodes.size());
+        for (Node n : nodes) {
+            printed.add(print(n, logical));
+        }
+        if (sort) {
+            printed.sort(Comparator.naturalOrder());
+        }
+        sb.append(String.join(", ", printed));
+    }
+
+    // ------------------------------------------------------------------------------------------------
+    // Parser descendente recursivo
+
+    private static final class Parser {
+        private final List<MdxToken> tokens;
+        private int pos;
+
+        Parser(List<MdxToken> tokens) {
+            this.tokens = tokens;
+        }
+
+        private MdxToken peek() {
+            return tokens.get(pos);
+        }
+
+        private MdxToken peek(int offset) {
+            return tokens.get(Math.min(pos + offset, tokens.size() - 1));
+        }
+
+        private MdxToken next() {
+            MdxToken t = tokens.get(pos);
+            if (t.type() != MdxToken.Type.END) {
+                pos++;
+            }
+            return t;
+        }
+
+        private MdxToken expectSymbol(String symbol) {
+            MdxToken t = next();
+            if (!t.isSymbol(symbol)) {
+                throw new MdxParseException("Se esperaba '" + symbol + "' y se encontró " + describe(t), t.position());
+            }
+            return t;
+        }
+
+        private void expectKeyword(String keyword) {
+            MdxToken t = next();
+            if (!t.isKeyword(keyword)) {
+                throw new MdxParseException("Se esperaba " + keyword + " y se encontró " + describe(t), t.position());
+            }
+        }
+
+        private static String describe(MdxToken t) {
+            return switch (t.type()) {
+                case END -> "el final de la consulta";
+                case BRACKETED -> "[" + t.text() + "]";
+                default -> "'" + t.text() + "'";
+            };
+        }
+
+        Query parseQuery() {
+            Query query = new Query();
+            if (peek().isKeyword("WITH")) {
+                query.with = parseWith();
+            }
+            expectKeyword("SELECT");
+            query.axes.add(parseAxis());
+            while (peek().isSymbol(",")) {
+                next();
+                query.axes.add(parseAxis());
+            }
+            query.axes.sort(Comparator.comparingInt(Axis::ordinal));
+            expectKeyword("FROM");
+            query.cube = parseCube();
+            if (peek().isKeyword("WHERE")) {
+                next();
+                query.slicer = normalizeSlicer(parseExpression());
+            }
+            if (peek().isSymbol(";")) {
+                next();
+            }
+            MdxToken end = peek();
+            if (end.type() != MdxToken.Type.END) {
+                throw new MdxParseException("Texto inesperado después de la consulta: " + describe(end), end.position());
+            }
+            return query;
+        }
+
+        // La cláusula WITH se conserva token a token con espacios normalizados
+        private String parseWith() {
+            StringBuilder sb = new StringBuilder();
+            MdxToken previous = null;
+            while (!peek().isKeyword("SELECT")) {
+                MdxToken t = next();
+                if (t.type() == MdxToken.Type.END) {
+                    throw new MdxParseException("Cláusula WITH sin SELECT", t.position());
+                }
+                boolean tight = previous != null && (previous.isSymbol(".") || t.isSymbol(".") || t.isSymbol(",")
+                        || t.isSymbol(")") || previous.isSymbol("("));
+                if (previous != null && !tight) {
+                    sb.append(' ');
+                }
+                sb.append(switch (t.type()) {
+                    case BRACKETED -> bracket(t.text());
+                    case STRING -> "'" + t.text() + "'";
+                    case IDENTIFIER -> isReserved(t.text()) ? t.text().toUpperCase(Locale.ROOT) : t.text();
+                    default -> t.text();
+                });
+                previous = t;
+            }
+            return sb.toString();
+        }
+
+        private static boolean isReserved(String word) {
+            String upper = word.toUpperCase(Locale.ROOT);
+            return upper.equals("WITH") || upper.equals("MEMBER") || upper.equals("SET") || upper.equals("AS")
+                    || PATH_KEYWORDS.contains(upper) || WORD_OPERATORS.contains(upper);
+        }
+
+        private Axis parseAxis() {
+            String modifier = null;
+            if (peek().isKeyword("NON")) {
+                next();
+                MdxToken kind = next();
+                if (!kind.isKeyword("EMPTY") && !kind.isKeyword("ZERO")) {
+                    throw new MdxParseException("Se esperaba EMPTY o ZERO después de NON", kind.position());
+                }
+                modifier = "NON " + kind.text().toUpperCase(Locale.ROOT);
+            }
+            Node set = parseExpression();
+            if (!peek().isKeyword("ON")) {
+                MdxToken t = peek();
+                throw new MdxParseException("Se esperaba ON <eje> y se encontró " + describe(t), t.position());
+            }
+            next();
+            return new Axis(modifier, set, parseAxisOrdinal());
+        }
+
+        private int parseAxisOrdinal() {
+            MdxToken t = next();
+            if (t.type() == MdxToken.Type.NUMBER) {
+                return Integer.parseInt(t.text());
+            }
+            if (t.isKeyword("AXIS")) {
+                expectSymbol("(");
+                MdxToken n = next();
+                if (n.type() != MdxToken.Type.NUMBER) {
+                    throw new MdxParseException("Se esperaba un número de eje", n.position());
+                }
+                expectSymbol(")");
+                return Integer.parseInt(n.text());
+            }
+            if (t.type() == MdxToken.Type.IDENTIFIER) {
+                int ordinal = AXIS_NAMES.indexOf(t.text().toUpperCase(Locale.ROOT));
+                if (ordinal >= 0) {
+                    return ordinal;
+                }
+            }
+            throw new MdxParseException("Eje desconocido " + describe(t) + " (use COLUMNS, ROWS, PAGES...)", t.position());
+        }
+
+        private String parseCube() {
+            MdxToken t = next();
+            if (t.type() != MdxToken.Type.BRACKETED && t.type() != MdxToken.Type.IDENTIFIER) {
+                throw new MdxParseException("Se esperaba el nombre del cubo y se encontró " + describe(t), t.position());
+            }
+            return t.text();
+        }
+
+        private Node parseExpression() {
+            List<Node> parts = new ArrayList<>();
+            while (true) {
+                MdxToken t = peek();
+                if (t.isSymbol("-") || t.isSymbol("+") || t.isKeyword("NOT")) {
+                    next();
+                    parts.add(new Operator(t.type() == MdxToken.Type.IDENTIFIER ? "NOT" : t.text()));
+                    continue;
+                }
+                parts.add(parseTerm());
+                MdxToken op = peek();
+                if (op.type() == MdxToken.Type.SYMBOL && SYMBOL_OPERATORS.contains(op.text())) {
+                    next();
+                    parts.add(new Operator(op.text()));
+                } else if (op.type() == MdxToken.Type.IDENTIFIER && WORD_OPERATORS.contains(op.text().toUpperCase(Locale.ROOT))) {
+                    next();
+                    parts.add(new Operator(op.text().toUpperCase(Locale.ROOT)));
+                } else {
+                    break;
+                }
+            }
+            return parts.size() == 1 ? parts.get(0) : new Sequence(List.copyOf(parts));
+        }
+
+        private Node parseTerm() {
+            MdxToken t = peek();
+            Node term;
+            if (t.isSymbol("{")) {
+                next();
+                List<Node> elements = peek().isSymbol("}") ? List.of() : parseList();
+                expectClosing("}", t);
+                term = new SetNode(flattenSets(elements));
+            } else if (t.isSymbol("(")) {
+                next();
+                List<Node> elements = parseList();
+                expectClosing(")", t);
+                term = elements.size() == 1 && !(elements.get(0) instanceof Sequence) ? elements.get(0) : new Tuple(elements);
+            } else if (t.type() == MdxToken.Type.NUMBER) {
+                next();
+                term = new Literal(t.text());
+            } else if (t.type() == MdxToken.Type.STRING) {
+                next();
+                term = new Literal("'" + t.text() + "'");
+            } else if (t.type() == MdxToken.Type.IDENTIFIER && peek(1).isSymbol("(")) {
+                next();
+                term = parseCall(t);
+            } else if (t.type() == MdxToken.Type.IDENTIFIER && CLAUSE_KEYWORDS.contains(t.text().toUpperCase(Locale.ROOT))) {
+                throw new MdxParseException("Falta una expresión antes de " + t.text().toUpperCase(Locale.ROOT), t.position());
+            } else if (t.type() == MdxToken.Type.IDENTIFIER || t.type() == MdxToken.Type.BRACKETED) {
+                next();
+                List<Node> segments = new ArrayList<>();
+                segments.add(new Name(t.text()));
+                return parsePath(segments);
+            } else {
+                throw new MdxParseException("Expresión inesperada: " + describe(t), t.position());
+            }
+            // Métodos o propiedades aplicados a un set, tupla o función: Descendants(...).Item(0)
+            if (peek().isSymbol(".")) {
+                List<Node> segments = new ArrayList<>();
+                segments.add(term);
+                return parsePath(segments);
+            }
+            return term;
+        }
+
+        private void expectClosing(String symbol, MdxToken opening) {
+            MdxToken t = peek();
+            if (!t.isSymbol(symbol)) {
+                throw new MdxParseException("Falta '" + symbol + "' para cerrar '" + opening.text() + "' abierto en la posición "
+                        + opening.position() + "; se encontró " + describe(t), t.position());
+            }
+            next();
+        }
+
+        private Call parseCall(MdxToken function) {
+            MdxToken open = expectSymbol("(");
+            List<Node> args = peek().isSymbol(")") ? List.of() : parseList();
+            expectClosing(")", open);
+            return new Call(function.text().toUpperCase(Locale.ROOT), args);
+        }
+
+        private Node parsePath(List<Node> segments) {
+            while (peek().isSymbol(".")) {
+                next();
+                MdxToken t = next();
+                if (t.type() == MdxToken.Type.BRACKETED) {
+                    segments.add(new Name(t.text()));
+                } else if (t.type() == MdxToken.Type.IDENTIFIER && peek().isSymbol("(")) {
+                    segments.add(parseCall(t));
+                } else if (t.type() == MdxToken.Type.IDENTIFIER && PATH_KEYWORDS.contains(t.text().toUpperCase(Locale.ROOT))) {
+                    segments.add(new Keyword(t.text().toUpperCase(Locale.ROOT)));
+                } else if (t.type() == MdxToken.Type.IDENTIFIER || t.type() == MdxToken.Type.NUMBER) {
+                    segments.add(new Name(t.text()));
+                } else {
+                    throw new MdxParseException("Se esperaba un nombre después de '.' y se encontró " + describe(t), t.position());
+                }
+            }
+            return normalizePath(segments);
+        }
+
+        private List<Node> parseList() {
+            List<Node> items = new ArrayList<>();
+            items.add(parseExpression());
+            while (peek().isSymbol(",")) {
+                next();
+                items.add(parseExpression());
+            }
+            return List.copyOf(items);
+        }
+    }
+
+    // [<measures>] y measures se escriben Measures; [Dim].[Dim].x (jerarquía por defecto) se reduce a [Dim].x
+    private static Node normalizePath(List<Node> segments) {
+        if (!segments.isEmpty() && segments.get(0) instanceof Name first
+                && (first.name().equalsIgnoreCase("measures") || first.name().equalsIgnoreCase("<measures>"))) {
+            segments.set(0, new Name("Measures"));
+            if (segments.size() > 1 && segments.get(1) instanceof Name second
+                    && (second.name().equalsIgnoreCase("measures") || second.name().equalsIgnoreCase("<measures>"))) {
+                segments.set(1, new Name("Measures"));
+            }
+        }
+        if (segments.size() > 1 && segments.get(0) instanceof Name first && segments.get(1) instanceof Name second
+                && first.name().equalsIgnoreCase(second.name())) {
+            segments.remove(1);
+        }
+        return segments.size() == 1 ? segments.get(0) : new Path(List.copyOf(segments));
+    }
+
+    // {{a, b}} equivale a {a, b}
+    private static List<Node> flattenSets(List<Node> elements) {
+        if (elements.size() == 1 && elements.get(0) instanceof SetNode inner) {
+            return inner.elements();
+        }
+        return elements;
+    }
+
+    // El slicer es una tupla de miembros de distintas dimensiones: el orden no cambia el resultado
+    private static Node normalizeSlicer(Node slicer) {
+        if (slicer instanceof Tuple t) {
+            List<Node> sorted = new ArrayList<>(t.elements());
+            sorted.sort(Comparator.comparing(n -> print(n, false)));
+            return new Tuple(List.copyOf(sorted));
+        }
+        if (slicer instanceof SetNode s && s.elements().size() == 1) {
+            return s.elements().get(0);
+        }
+        return slicer;
+    }
+}
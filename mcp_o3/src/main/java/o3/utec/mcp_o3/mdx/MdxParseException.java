@@ -0,0 +1,23 @@
+package o3.utec.mcp_o3.mdx;
+
+// Error de sintaxis detectado localmente al analizar una consulta MDX.
+// position es el índice (0-based) del carácter donde se detectó el problema.
+public class MdxParseException extends IllegalArgumentException {
+    private final int position;
+    private final String detail;
+
+    public MdxParseException(String message, int position) {
+        super(message + " (posición " + position + ")");
+        this.position = position;
+        this.detail = message;
+    }
+
+    // Mensaje sin la posición
+    public String getDetail() {
+        return detail;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,162 @@
+package o3.utec.mcp_o3.mdx;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Extrae de una consulta MDX los nombres que se resuelven contra el cubo: el cubo del FROM y los paths
+// Dimensión.Miembro... (Location.[France].Paris, Measures.[Units Sold]), con la posición de cada segmento en el texto
+// para poder marcarlo o reemplazarlo. Un path termina en la primera propiedad o función (.children, .Members, .Item(0)).
+// Los miembros y sets calculados definidos en WITH se excluyen porque no existen en el cubo.
+public final class MdxReferences {
+
+    // Palabras que nunca empiezan un path de nombres
+    private static final Set<String> RESERVED = Set.of(
+            "SELECT", "FROM", "WHERE", "WITH", "MEMBER", "SET", "AS", "ON", "NON", "EMPTY", "ZERO", "CELL", "PROPERTIES",
+            "DIMENSION", "COLUMNS", "ROWS", "PAGES", "SECTIONS", "CHAPTERS", "AXIS", "AND", "OR", "XOR", "NOT", "IS",
+            "NULL", "SELF", "AFTER", "BEFORE", "BEFORE_AND_AFTER", "SELF_AND_AFTER", "SELF_AND_BEFORE", "SELF_BEFORE_AFTER",
+            "LEAVES", "ASC", "DESC", "BASC", "BDESC", "ALL", "RECURSIVE", "EXCLUDEEMPTY", "INCLUDEEMPTY",
+            // Conjuntos especiales de O3: {Cubes} FROM SYSCATALOG, {Dimensions}, CubeInfo.LastModifiedDate
+            "CUBES", "DIMENSIONS", "CUBEINFO", "SYSCATALOG");
+
+    // Propiedades que terminan un path (mismo criterio que MdxCanonicalizer)
+    private static final Set<String> PATH_KEYWORDS = Set.of(
+            "CHILDREN", "MEMBERS", "ALLMEMBERS", "PARENT", "FIRSTCHILD", "LASTCHILD", "CURRENTMEMBER",
+            "PREVMEMBER", "NEXTMEMBER", "DEFAULTMEMBER", "SIBLINGS", "FIRSTSIBLING", "LASTSIBLING",
+            "LEVEL", "LEVELS", "HIERARCHY", "DIMENSION", "NAME", "UNIQUENAME", "ORDINAL", "VALUE",
+            "COUNT", "ITEM", "LAG", "LEAD", "CURRENT");
+
+    private MdxReferences() {
+    }
+
+    // Segmento de un path; [start, end) es el rango en el texto original, corchetes incluidos
+    public record Segment(String name, int start, int end, boolean bracketed) {
+    }
+
+    public record Reference(List<Segment> segments, boolean cube) {
+        public String head() {
+            return segments.get(0).name();
+        }
+
+        // Measures.X, [<measures>].X o [<measures>].[<measures>].X
+        public boolean isMeasure() {
+            String h = head();
+            return !cube && (h.equalsIgnoreCase("Measures") || h.equalsIgnoreCase("<measures>"));
+        }
+
+        public String text() {
+            return String.join(".", segments.stream().map(Segment::name).toList());
+        }
+    }
+
+    // Lanza MdxParseException si el texto ni siquiera se puede tokenizar (corchetes o cadenas sin cerrar)
+    public static List<Reference> extract(String mdx) {
+        List<MdxToken> tokens = MdxTokenizer.tokenize(mdx);
+        List<Reference> references = new ArrayList<>();
+        Set<String> calculated = new HashSet<>();
+        int i = 0;
+        while (i < tokens.size()) {
+            MdxToken t = tokens.get(i);
+            if (t.isKeyword("FROM")) {
+                List<Segment> cube = new ArrayList<>();
+                int j = i + 1;
+                while (j < tokens.size() && isName(tokens.get(j))) {
+                    cube.add(segment(mdx, tokens.get(j)));
+                    if (!tokens.get(j + 1).isSymbol(".")) {
+                        break;
+                    }
+                    j += 2;
+                }
+                if (!cube.isEmpty()) {
+                    references.add(new Reference(List.of(cube.get(cube.size() - 1)), true));
+                }
+                i = j + 1;
+                continue;
+            }
+            boolean definition = t.isKeyword("MEMBER") || t.isKeyword("SET");
+            if (definition || !startsPath(tokens, i)) {
+                i++;
+                if (definition && i < tokens.size() && isName(tokens.get(i))) {
+                    // Nombre calculado: se recuerda su último segmento para no reportarlo como desconocido
+                    int end = i;
+                    while (end + 2 < tokens.size() && tokens.get(end + 1).isSymbol(".") && isName(tokens.get(end + 2))) {
+                        end += 2;
+                    }
+                    calculated.add(key(tokens.get(end).text()));
+                    i = end + 1;
+                }
+                continue;
+            }
+            List<Segment> segments = new ArrayList<>();
+            segments.add(segment(mdx, t));
+            int j = i + 1;
+            while (tokens.get(j).isSymbol(".") && isPathName(tokens, j + 1)) {
+                segments.add(segment(mdx, tokens.get(j + 1)));
+                j += 2;
+            }
+            references.add(new Reference(List.copyOf(segments), false));
+            i = j;
+        }
+        if (!calculated.isEmpty()) {
+            references.removeIf(r -> !r.cube() && calculated.contains(key(r.segments().get(r.segments().size() - 1).name())));
+        }
+        return references;
+    }
+
+    private static boolean startsPath(List<MdxToken> tokens, int i) {
+        MdxToken t = tokens.get(i);
+        if (i > 0 && tokens.get(i - 1).isSymbol(".")) {
+            return false;
+        }
+        if (t.type() == MdxToken.Type.BRACKETED) {
+            return true;
+        }
+        return t.type() == MdxToken.Type.IDENTIFIER
+                && !RESERVED.contains(t.text().toUpperCase(Locale.ROOT))
+                && !PATH_KEYWORDS.contains(t.text().toUpperCase(Locale.ROOT))
+                && !tokens.get(i + 1).isSymbol("(");
+    }
+
+    private static boolean isPathName(List<MdxToken> tokens, int i) {
+        MdxToken t = tokens.get(i);
+        return switch (t.type()) {
+            case BRACKETED, NUMBER -> true;
+            case IDENTIFIER -> !PATH_KEYWORDS.contains(t.text().toUpperCase(Locale.ROOT)) && !tokens.get(i + 1).isSymbol("(");
+            default -> false;
+        };
+    }
+
+    private static boolean isName(MdxToken t) {
+        return t.type() == MdxToken.Type.BRACKETED || t.type() == MdxToken.Type.IDENTIFIER && !RESERVED.contains(t.text().toUpperCase(Locale.ROOT));
+    }
+
+    private static Segment segment(String mdx, MdxToken t) {
+        if (t.type() != MdxToken.Type.BRACKETED) {
+            return new Segment(t.text(), t.position(), t.position() + t.text().length(), false);
+        }
+        // Fin del identificador entre corchetes, saltando los ]] escapados
+        int end = t.position() + 1;
+        while (end < mdx.length()) {
+            if (mdx.charAt(end) == ']') {
+                if (end + 1 < mdx.length() && mdx.charAt(end + 1) == ']') {
+                    end += 2;
+                    continue;
+                }
+                break;
+            }
+            end++;
+        }
+        return new Segment(t.text(), t.position(), end + 1, true);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // Nombre escrito entre corchetes, con ] escapado
+    public static String bracket(String name) {
+        return "[" + name.replace("]", "]]") + "]";
+    }
+}
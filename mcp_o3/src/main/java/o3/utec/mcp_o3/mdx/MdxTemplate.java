@@ -0,0 +1,187 @@
+package o3.utec.mcp_o3.mdx;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+// Forma de consulta MDX con parámetros, registrada una vez y ejecutada con distintos argumentos.
+// Dos tipos de parámetro:
+//   @nombre  estructural: se reemplaza en el texto (cubo, dimensión, miembro). Cada combinación es un texto distinto
+//            y por lo tanto un PreparedStatement distinto, que O3 parsea una sola vez por conexión.
+//   ?nombre  ligado: se convierte en el placeholder JDBC "?" y el valor se pasa con setObject, así todas las
+//            ejecuciones comparten el mismo PreparedStatement.
+// Los parámetros no se reconocen dentro de literales entre comillas; ?nombre tampoco dentro de [identificadores].
+// Los argumentos no pueden cambiar la forma de la consulta: dentro de [identificadores] el "]" se escapa como "]]" y
+// en el resto de los lugares (también los ligados, que el driver reemplaza en el texto) solo se aceptan miembros o
+// listas de miembros (Location.[France], Date.[2002], Products.[Mountain Bikes]).
+public final class MdxTemplate {
+    private static final String SEGMENT = "(?:\\[(?:[^\\]]|\\]\\])+\\]|[\\p{L}_][\\p{L}\\p{N}_]*)";
+    private static final String MEMBER = SEGMENT + "(?:\\s*\\.\\s*" + SEGMENT + ")*";
+    private static final Pattern MEMBER_LIST = Pattern.compile(MEMBER + "(?:\\s*,\\s*" + MEMBER + ")*");
+
+    private final String name;
+    private final String description;
+    private final String text;
+    private final List<Part> parts;
+    private final Set<String> structuralParams;
+    private final Set<String> boundParams;
+
+    private record Part(String literal, String param, boolean bound, boolean inBrackets) {
+    }
+
+    // Texto listo para prepareStatement y los valores de los "?" en orden.
+    // resolvedText tiene los valores ligados en el texto: es la consulta que ejecuta O3 (validación y mensajes de error)
+    public record Bound(String statementText, List<Object> parameters, String resolvedText) {
+    }
+
+    private MdxTemplate(String name, String description, String text, List<Part> parts,
+            Set<String> structuralParams, Set<String> boundParams) {
+        this.name = name;
+        this.description = description;
+        this.text = text;
+        this.parts = parts;
+        this.structuralParams = structuralParams;
+        this.boundParams = boundParams;
+    }
+
+    public static MdxTemplate compile(String name, String description, String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Template " + name + " sin texto");
+        }
+        List<Part> parts = new ArrayList<>();
+        Set<String> structural = new LinkedHashSet<>();
+        Set<String> bound = new LinkedHashSet<>();
+        StringBuilder literal = new StringBuilder();
+        char quote = 0;
+        int bracketDepth = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                literal.append(c);
+                if (c == quote) {
+                    quote = 0;
+                }
+                i++;
+                continue;
+            }
+            if ((c == '@' || (c == '?' && bracketDepth == 0)) && i + 1 < text.length() && isNameStart(text.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < text.length() && isNamePart(text.charAt(end))) {
+                    end++;
+                }
+                String param = text.substring(i + 1, end);
+                parts.add(new Part(literal.toString(), null, false, false));
+                literal.setLength(0);
+                parts.add(new Part(null, param, c == '?', bracketDepth > 0));
+                (c == '?' ? bound : structural).add(param);
+                i = end;
+                continue;
+            }
+            if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[') {
+                bracketDepth++;
+            } else if (c == ']' && bracketDepth > 0) {
+                bracketDepth--;
+            }
+            literal.append(c);
+            i++;
+        }
+        parts.add(new Part(literal.toString(), null, false, false));
+        for (String param : bound) {
+            if (structural.contains(param)) {
+                throw new IllegalArgumentException("Template " + name + ": el parámetro " + param + " no puede ser estructural y ligado a la vez");
+            }
+        }
+        return new MdxTemplate(name, description == null ? "" : description, text, List.copyOf(parts),
+                Set.copyOf(structural), Set.copyOf(bound));
+    }
+
+    private static boolean isNameStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    // Aplica los argumentos; todos los parámetros son obligatorios y no se aceptan argumentos desconocidos
+    public Bound bind(Map<String, String> arguments) {
+        Set<String> missing = new LinkedHashSet<>(parameterNames());
+        missing.removeAll(arguments.keySet());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Faltan argumentos para el template " + name + ": " + missing);
+        }
+        Set<String> unknown = new LinkedHashSet<>(arguments.keySet());
+        unknown.removeAll(parameterNames());
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Argumentos desconocidos para el template " + name + ": " + unknown);
+        }
+        StringBuilder sb = new StringBuilder(text.length() + 32);
+        StringBuilder resolved = new StringBuilder(text.length() + 32);
+        List<Object> parameters = new ArrayList<>();
+        for (Part part : parts) {
+            if (part.literal() != null) {
+                sb.append(part.literal());
+                resolved.append(part.literal());
+                continue;
+            }
+            String value = argument(part, arguments.get(part.param()));
+            if (part.bound()) {
+                sb.append('?');
+                parameters.add(value);
+            } else {
+                sb.append(value);
+            }
+            resolved.append(value);
+        }
+        return new Bound(sb.toString(), List.copyOf(parameters), resolved.toString());
+    }
+
+    // Dentro de [ ] se escapa el cierre; afuera el valor tiene que ser un miembro o una lista de miembros
+    private String argument(Part part, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Falta el valor del parámetro " + part.param() + " del template " + name);
+        }
+        if (part.inBrackets()) {
+            return value.replace("]", "]]");
+        }
+        String trimmed = value.strip();
+        if (!MEMBER_LIST.matcher(trimmed).matches()) {
+            throw new IllegalArgumentException("Argumento inválido para " + part.param() + " en el template " + name
+                    + ": se espera un miembro o una lista de miembros (ej. Location.[France]), no " + value);
+        }
+        return trimmed;
+    }
+
+    public Set<String> parameterNames() {
+        Set<String> names = new LinkedHashSet<>(structuralParams);
+        names.addAll(boundParams);
+        return names;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String describe() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("- " + name + (description.isEmpty() ? "" : ": " + description));
+        sj.add("  parameters: " + parameterNames());
+        sj.add("  mdx: " + text);
+        return sj.toString();
+    }
+}
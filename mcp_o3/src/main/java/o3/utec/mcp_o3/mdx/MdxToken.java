@@ -0,0 +1,30 @@
+package o3.utec.mcp_o3.mdx;
+
+// Token de una consulta MDX. Para identificadores entre corchetes text no incluye los corchetes.
+public record MdxToken(Type type, String text, int position) {
+
+    public enum Type {
+        // Identificador sin corchetes: Location, children, SELECT...
+        IDENTIFIER,
+        // Identificador entre corchetes: [Units Sold]
+        BRACKETED,
+        NUMBER,
+        STRING,
+        // Puntuación y operadores: { } ( ) , . ; + - * / < > = :
+        SYMBOL,
+        END
+    }
+
+    public boolean is(Type t, String value) {
+        return type == t && text.equals(value);
+    }
+
+    public boolean isSymbol(String value) {
+        return is(Type.SYMBOL, value);
+    }
+
+    // Compara palabras clave sin distinguir mayúsculas (solo identificadores sin corchetes)
+    public boolean isKeyword(String keyword) {
+        return type == Type.IDENTIFIER && text.equalsIgnoreCase(keyword);
+    }
+}
@@ -0,0 +1,91 @@
+package o3.utec.mcp_o3.mdx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Tokenizador MDX liviano: identificadores, [identificadores entre corchetes] (con ]] como escape),
+// números, cadenas '...' o "..." y símbolos. Los comentarios (--, //, /* */) se descartan.
+public final class MdxTokenizer {
+
+    private MdxTokenizer() {
+    }
+
+    public static List<MdxToken> tokenize(String mdx) {
+        List<MdxToken> tokens = new ArrayList<>();
+        int i = 0;
+        int n = mdx.length();
+        while (i < n) {
+            char ch = mdx.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                i++;
+            } else if (ch == '-' && i + 1 < n && mdx.charAt(i + 1) == '-' || ch == '/' && i + 1 < n && mdx.charAt(i + 1) == '/') {
+                while (i < n && mdx.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (ch == '/' && i + 1 < n && mdx.charAt(i + 1) == '*') {
+                int end = mdx.indexOf("*/", i + 2);
+                if (end < 0) {
+                    throw new MdxParseException("Comentario /* sin cerrar", i);
+                }
+                i = end + 2;
+            } else if (ch == '[') {
+                int start = i;
+                StringBuilder name = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= n) {
+                        throw new MdxParseException("Corchete '[' sin cerrar", start);
+                    }
+                    char c = mdx.charAt(i);
+                    if (c == ']') {
+                        if (i + 1 < n && mdx.charAt(i + 1) == ']') {
+                            name.append(']');
+                            i += 2;
+                            continue;
+                        }
+                        i++;
+                        break;
+                    }
+                    name.append(c);
+                    i++;
+                }
+                tokens.add(new MdxToken(MdxToken.Type.BRACKETED, name.toString(), start));
+            } else if (ch == ']') {
+                throw new MdxParseException("Corchete ']' sin abrir", i);
+            } else if (ch == '\'' || ch == '"') {
+                int start = i;
+                int end = mdx.indexOf(ch, i + 1);
+                if (end < 0) {
+                    throw new MdxParseException("Cadena sin cerrar", start);
+                }
+                tokens.add(new MdxToken(MdxToken.Type.STRING, mdx.substring(i + 1, end), start));
+                i = end + 1;
+            } else if (Character.isDigit(ch)) {
+                int start = i;
+                while (i < n && (Character.isDigit(mdx.charAt(i)) || mdx.charAt(i) == '.' && i + 1 < n && Character.isDigit(mdx.charAt(i + 1)))) {
+                    i++;
+                }
+                tokens.add(new MdxToken(MdxToken.Type.NUMBER, mdx.substring(start, i), start));
+            } else if (Character.isLetter(ch) || ch == '_' || ch == '&' || ch == '@') {
+                int start = i;
+                while (i < n && (Character.isLetterOrDigit(mdx.charAt(i)) || mdx.charAt(i) == '_' || mdx.charAt(i) == '&' || mdx.charAt(i) == '@' || mdx.charAt(i) == '$')) {
+                    i++;
+                }
+                tokens.add(new MdxToken(MdxToken.Type.IDENTIFIER, mdx.substring(start, i), start));
+            } else if ("{}(),.;+-*/<>=:^".indexOf(ch) >= 0) {
+                // <> , <= , >= como un solo símbolo
+                if ((ch == '<' || ch == '>') && i + 1 < n && (mdx.charAt(i + 1) == '=' || ch == '<' && mdx.charAt(i + 1) == '>')) {
+                    tokens.add(new MdxToken(MdxToken.Type.SYMBOL, mdx.substring(i, i + 2), i));
+                    i += 2;
+                } else {
+                    tokens.add(new MdxToken(MdxToken.Type.SYMBOL, String.valueOf(ch), i));
+                    i++;
+                }
+            } else {
+                throw new MdxParseException("Carácter inesperado '" + ch + "'", i);
+            }
+        }
+        tokens.add(new MdxToken(MdxToken.Type.END, "", n));
+        return tokens;
+    }
+}
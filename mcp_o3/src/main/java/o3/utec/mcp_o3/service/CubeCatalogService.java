@@ -0,0 +1,274 @@
+package o3.utec.mcp_o3.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import o3.utec.mcp_o3.jdbc.CubeInfoQueries;
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+
+// Catálogo en memoria de cubos (SYSCATALOG) con sus dimensiones y medidas.
+// Se carga en segundo plano al arrancar, se refresca cada refreshIntervalMs y además revisa cada changeCheckMs
+// la LastModifiedDate de cada cubo para recargar solo los que cambiaron.
+// Se persiste un snapshot en disco para que un proceso MCP recién lanzado arranque con el catálogo caliente.
+// El snapshot se (de)serializa con Jackson: en imagen nativa los records necesitan hints de reflexión
+@Service
+@RegisterReflectionForBinding(CubeCatalogService.CatalogSnapshot.class)
+public class CubeCatalogService {
+    private static final Logger log = LoggerFactory.getLogger(CubeCatalogService.class);
+
+    @Autowired
+    private O3ConnectionPool connectionPool;
+
+    @Value("${o3.server.url}")
+    private String o3ServerUrl;
+
+    @Value("${o3.catalog.enabled:true}")
+    private boolean enabled;
+
+    @Value("${o3.catalog.refreshIntervalMs:3600000}")
+    private long refreshIntervalMs;
+
+    @Value("${o3.catalog.changeCheckMs:300000}")
+    private long changeCheckMs;
+
+    @Value("${o3.catalog.snapshotFile:./cache/cube-catalog.json}")
+    private String snapshotFile;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, CubeSchema> schemas = new ConcurrentHashMap<>();
+    private volatile List<String> cubes;
+    private ScheduledExecutorService refresher;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong liveLoads = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private volatile long lastRefreshAt;
+
+    // Estructura de un cubo tal como la reporta O3
+    public record CubeSchema(String name, List<String> dimensions, List<String> measures, String lastModified, long loadedAt) {
+    }
+
+    // Formato del snapshot en disco. Se descarta si fue tomado contra otro servidor.
+    record CatalogSnapshot(String serverUrl, long savedAt, List<String> cubes, List<CubeSchema> schemas) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        loadSnapshot();
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "o3-catalog-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshAll, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        refresher.scheduleWithFixedDelay(this::checkForChanges, changeCheckMs, changeCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    // Lista de cubos disponibles; si todavía no se cargó nunca se consulta a O3 en el momento
+    public List<String> getCubes() throws SQLException {
+        List<String> current = cubes;
+        if (current != null) {
+            memoryHits.incrementAndGet();
+            return current;
+        }
+        liveLoads.incrementAndGet();
+        return refreshCubeList();
+    }
+
+    // Estructura del cubo; un cubo que no está en memoria se carga en el momento y queda en el catálogo
+    public CubeSchema getSchema(String cubeName) throws SQLException {
+        CubeSchema schema = schemas.get(key(cubeName));
+        if (schema != null) {
+            memoryHits.incrementAndGet();
+            return schema;
+        }
+        liveLoads.incrementAndGet();
+        return loadCube(cubeName);
+    }
+
+    // Lista de cubos solo si ya está en memoria (null si no), nunca consulta a O3
+    public List<String> getCachedCubes() {
+        return cubes;
+    }
+
+    // Estructura del cubo solo si ya está en memoria (null si no), nunca consulta a O3
+    public CubeSchema getCachedSchema(String cubeName) {
+        return schemas.get(key(cubeName));
+    }
+
+    // Recarga completa: lista de cubos y estructura de cada uno
+    void refreshAll() {
+        try {
+            List<String> names = refreshCubeList();
+            for (String name : names) {
+                try {
+                    loadCube(name);
+                } catch (SQLException e) {
+                    log.warn("No se pudo cargar la estructura del cubo {}: {}", name, e.getMessage());
+                }
+            }
+            refreshes.incrementAndGet();
+            lastRefreshAt = System.currentTimeMillis();
+            saveSnapshot();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("No se pudo refrescar el catálogo de cubos: {}", e.getMessage());
+        }
+    }
+
+    // Recarga solo los cubos cuya LastModifiedDate cambió
+    void checkForChanges() {
+        boolean changed = false;
+        try (O3ConnectionPool.Lease lease = connectionPool.borrow()) {
+            for (CubeSchema schema : List.copyOf(schemas.values())) {
+                String version = CubeInfoQueries.lastModifiedDate(lease.connection(), schema.name());
+                if (!version.equals(schema.lastModified())) {
+                    schemas.put(key(schema.name()), readSchema(lease.connection(), schema.name()));
+                    changed = true;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("No se pudo verificar cambios en los cubos: {}", e.getMessage());
+        }
+        if (changed) {
+            saveSnapshot();
+        }
+    }
+
+    private List<String> refreshCubeList() throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (O3ConnectionPool.Lease lease = connectionPool.borrow();
+             Statement stmt = lease.connection().createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT {Cubes} ON COLUMNS FROM SYSCATALOG")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        List<String> loaded = List.copyOf(names);
+        cubes = loaded;
+        return loaded;
+    }
+
+    private CubeSchema loadCube(String cubeName) throws SQLException {
+        try (O3ConnectionPool.Lease lease = connectionPool.borrow()) {
+            CubeSchema schema = readSchema(lease.connection(), cubeName);
+            schemas.put(key(cubeName), schema);
+            return schema;
+        }
+    }
+
+    private CubeSchema readSchema(Connection conn, String cubeName) throws SQLException {
+        String lastModified;
+        try {
+            lastModified = CubeInfoQueries.lastModifiedDate(conn, cubeName);
+        } catch (SQLException e) {
+            lastModified = "";
+        }
+        List<String> dimensions = readFirstColumn(conn, "SELECT {Dimensions} ON COLUMNS FROM [" + cubeName + "]");
+        List<String> measures = readFirstColumn(conn, "SELECT {Measures.Members} ON COLUMNS FROM [" + cubeName + "]");
+        return new CubeSchema(cubeName, dimensions, measures, lastModified, System.currentTimeMillis());
+    }
+
+    private List<String> readFirstColumn(Connection conn, String query) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return List.copyOf(values);
+    }
+
+    private void loadSnapshot() {
+        Path path = Paths.get(snapshotFile);
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            CatalogSnapshot snapshot = mapper.readValue(path.toFile(), CatalogSnapshot.class);
+            if (!o3ServerUrl.equals(snapshot.serverUrl())) {
+                return;
+            }
+            if (snapshot.cubes() != null) {
+                cubes = List.copyOf(snapshot.cubes());
+            }
+            if (snapshot.schemas() != null) {
+                snapshot.schemas().forEach(s -> schemas.put(key(s.name()), s));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot de catálogo ilegible, se ignora: {}", e.getMessage());
+        }
+    }
+
+    private void saveSnapshot() {
+        Path path = Paths.get(snapshotFile);
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            // Escritura atómica para que otro proceso nunca lea un snapshot a medias
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            CatalogSnapshot snapshot = new CatalogSnapshot(o3ServerUrl, System.currentTimeMillis(),
+                    cubes, List.copyOf(schemas.values()));
+            mapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo guardar el snapshot del catálogo: {}", e.getMessage());
+        }
+    }
+
+    private static String key(String cubeName) {
+        return cubeName.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- CUBE CATALOG ---");
+        List<String> current = cubes;
+        sj.add("Cubes: " + (current == null ? "not loaded" : current.size()) + " / Schemas in memory: " + schemas.size());
+        sj.add("Served from memory: " + memoryHits.get() + " / Live loads: " + liveLoads.get());
+        sj.add("Full refreshes: " + refreshes.get()
+                + (lastRefreshAt == 0 ? "" : " (last " + (System.currentTimeMillis() - lastRefreshAt) / 1000 + " s ago)"));
+        return sj.toString();
+    }
+}
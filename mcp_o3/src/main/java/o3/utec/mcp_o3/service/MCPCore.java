@@ -1,16 +1,16 @@
 package o3.utec.mcp_o3.service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
-import java.sql.Date;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Types;
-import java.text.SimpleDateFormat;
-import java.util.Properties;
+import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
+import java.util.regex.Pattern;
 
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
@@ -19,97 +19,250 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import o3.utec.mcp_o3.ProyectoIdeApplication;
+import o3.utec.mcp_o3.cache.MdxResultCache;
 import o3.utec.mcp_o3.config.InjectInstrccion;
+import o3.utec.mcp_o3.config.McpSessionRegistry;
+import o3.utec.mcp_o3.config.MdxTemplateRegistry;
+import o3.utec.mcp_o3.config.QuerySuiteRegistry;
+import o3.utec.mcp_o3.format.OutputFormat;
+import o3.utec.mcp_o3.format.ResultFormatter;
+import o3.utec.mcp_o3.format.ResultSnapshot;
+import o3.utec.mcp_o3.format.ResultSummarizer;
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+import o3.utec.mcp_o3.mdx.MdxCanonicalizer;
+import o3.utec.mcp_o3.mdx.MdxTemplate;
 
 @Service
 public class MCPCore {
-    // Configuraciones de conexión
-    // La logica es la siguiente:
-    // Busca la propiedad o3.server.username. Si NO la encuentras, usa user como valor por defecto (o3.server.username:user).
-    // No esta implmentado mesnajes de error por tema de configuracion faltante, se asume que el usuario sabe como configurar estas propiedades.
-    @Value("${o3.server.url}")
-    private String o3ServerUrl;
+    // Pool de conexiones O3 compartido por todas las tools.
+    // La configuración de conexión (o3.server.*) y del pool (o3.pool.*) se lee en O3ConnectionPool.
+    @Autowired
+    private O3ConnectionPool connectionPool;
+
+    // Cache de resultados MDX invalidado por LastModifiedDate del cubo
+    @Autowired
+    private MdxResultCache resultCache;
+
+    // Catálogo de cubos en memoria para getCubeInformation
+    @Autowired
+    private CubeCatalogService cubeCatalog;
+
+    // Ejecución en paralelo de suites de consultas registradas
+    @Autowired
+    private ParallelQueryExecutor parallelExecutor;
+
+    @Autowired
+    private QuerySuiteRegistry querySuites;
+
+    // Templates MDX con parámetros (executeMdxTemplate)
+    @Autowired
+    private MdxTemplateRegistry mdxTemplates;
+
+    // Coalescencia de consultas idénticas concurrentes
+    @Autowired
+    private QueryCoalescer queryCoalescer;
+
+    // Cursores para resultados paginados (fetchMdxPage)
+    @Autowired
+    private ResultCursorStore cursorStore;
 
-    @Value("${o3.server.username}")
-    private String o3Username;
+    // Exportación de resultados completos a archivos locales (exportMdxResult)
+    @Autowired
+    private ResultFileExporter resultExporter;
 
-    @Value("${o3.server.password}")
-    private String o3Password;
+    // Último resultado por consulta canónica para el modo delta de executeCustomMdxQuery
+    @Autowired
+    private ResultDeltaStore deltaStore;
 
-    @Value("${o3.server.columnsType}")
-    private String o3ColumnsType;
+    // Plazos por tool y cancelación de consultas en curso
+    @Autowired
+    private QueryWatchdog queryWatchdog;
 
-    @Value("${o3.server.memberByLabel}")
-    private String o3MemberByLabel;
+    // Sugerencias de nombres cuando O3 rechaza un miembro, dimensión o medida
+    @Autowired
+    private MemberNameIndex memberNameIndex;
+
+    // Sesiones MCP activas en modo HTTP/SSE
+    @Autowired
+    private McpSessionRegistry sessionRegistry;
+
+    // Métricas por tool: fases JDBC, filas y errores
+    @Autowired
+    private ToolMetrics toolMetrics;
+
+    // Validación local contra el esquema en memoria antes de enviar la consulta a O3
+    @Autowired
+    private MdxValidator mdxValidator;
 
     // Inyector de instrucciones en primera ejecución
     @Autowired
     private InjectInstrccion instructionsInjector;
 
-    // Probare primer QUERY ya precargadas
-    private final SimpleDateFormat format = new SimpleDateFormat("dd-MMM-yyyy");
-    
-    // Las consultas se mantienen tal cual las proporcionaste
-    private final String[] queries = {
-        "SELECT {Measures.[Units Sold], Measures.[Cost]} ON COLUMNS, {Customers.Customers.[Major Accounts]} ON ROWS FROM Demo WHERE Measures.Discount",
-        "SELECT NON EMPTY {Customers.[Major Accounts]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM Demo WHERE Measures.[Units Sold]",
-        "SELECT {CubeInfo.LastModifiedDate} ON COLUMNS from Demo",
-        "SELECT NON ZERO {Location.children} ON ROWS, CROSSJOIN ({Salesmen.children}, {Customers.[Major Accounts]}) ON COLUMNS FROM Demo WHERE Measures.[Units Sold]",
-        "SELECT CrossJoin({[Date].[Date].children}, {[<measures>].[<measures>].[% Profit], [<measures>].[<measures>].[Revenue]}) ON COLUMNS, {{[Products].[Products].children}} ON ROWS FROM [Demo] WHERE ([Customers].[Customers],[Salesmen].[Salesmen],[Location].[Location])"
-    };
-     //----------------------------------------------------------------------------------------------------------------
+    // Warm-up de driver, conexiones y consultas al arrancar
+    @Autowired
+    private StartupWarmup startupWarmup;
+
+    // Máximo de consultas aceptadas por executeMdxBatch
+    @Value("${o3.batch.maxQueries:20}")
+    private int maxBatchQueries;
+
+    // Tamaño máximo del Top-N/Bottom-N de summarizeMdxQuery
+    @Value("${o3.summary.maxTopN:50}")
+    private int maxSummaryTopN;
+
+    // Dígitos significativos de los números en el formato compact
+    @Value("${o3.format.significantDigits:6}")
+    private int significantDigits;
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\\p{L}+|\\p{N}+|[^\\s\\p{L}\\p{N}]");
+
+    //----------------------------------------------------------------------------------------------------------------
     @Tool(description = "Ejecuta todas las consultas MDX de prueba y retorna los resultados de cada una.")
     public String runAllQueries() {
-        StringJoiner fullResults = new StringJoiner("\n\n---\n\n");
-        try {
-            Class.forName("com.ideasoft.o3.jdbc.thin.client.O3ThinDriver");
-            String url = o3ServerUrl;
-            Properties info = new Properties();
-            info.put("user", o3Username);
-            info.put("password", o3Password);
-            info.put("COLUMNS_TYPE", o3ColumnsType);
-            info.put("MEMBER_BY_LABEL", o3MemberByLabel);
-
-            try (Connection conn = DriverManager.getConnection(url, info)) {
-                for (int i = 0; i < queries.length; i++) {
-                    fullResults.add("Query #" + (i + 1) + ": " + queries[i]);
-                    fullResults.add(runQuery(conn, queries[i], null));
-                }
+        return runQuerySuite(QuerySuiteRegistry.SMOKE);
+    }
+
+    // Las consultas de la suite se ejecutan en paralelo, cada una con su conexión del pool,
+    // y la salida conserva el orden original "Query #n" con el tiempo de cada consulta.
+    @Tool(description = "Runs a registered suite of MDX queries (smoke tests, warm-up queries) in parallel and returns each result with its timing. " +
+        "Call with an unknown name to list the available suites.")
+    public String runQuerySuite(@ToolParam(description = "Name of the registered query suite, e.g. 'smoke'") String suiteName) {
+        List<String> suite = querySuites.get(suiteName);
+        if (suite == null) {
+            return "Suite desconocida: " + suiteName + ". Suites disponibles: " + querySuites.names();
+        }
+        long start = System.nanoTime();
+        List<ParallelQueryExecutor.QueryOutcome> outcomes = parallelExecutor.runAll(suite, (conn, q) -> runQuery("runQuerySuite", conn, q, null));
+        return ParallelQueryExecutor.format(outcomes)
+                + "\n\n---\n\nTotal: " + (System.nanoTime() - start) / 1_000_000 + " ms (" + outcomes.size() + " queries)";
+    }
+
+    private String runQuery(String tool, Connection conn, String query, Object[] params) throws SQLException {
+        return runQuery(tool, conn, query, params, OutputFormat.TEXT);
+    }
+
+    // tool identifica el plazo máximo (o3.timeout.tools.<tool>) que QueryWatchdog aplica a la consulta
+    private String runQuery(String tool, Connection conn, String query, Object[] params, OutputFormat outputFormat) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             QueryWatchdog.Guard guard = queryWatchdog.watch(tool, conn, stmt)) {
+            long executeStart = System.nanoTime();
+            try (ResultSet rs = stmt.executeQuery(query)) {
+                return formatAll(tool, rs, outputFormat, executeStart);
+            } catch (SQLException | RuntimeException e) {
+                guard.checkAborted(e);
+                throw e;
             }
-        } catch (Exception e) {
-            return "Error en la ejecución de las consultas: " + e.getMessage();
         }
-        return fullResults.toString();
     }
 
-    private String runQuery(Connection conn, String query, Object[] params) throws SQLException {
-        StringJoiner queryResults = new StringJoiner("\n");
+    // Lee y formatea todo el ResultSet registrando los tiempos de ejecución y de lectura/formato
+    private String formatAll(String tool, ResultSet rs, OutputFormat outputFormat, long executeStart) throws SQLException {
+        toolMetrics.phase(tool, "execute", executeStart);
+        long fetchStart = System.nanoTime();
+        // El plan de columnas se compila una vez por ResultSet; el loop de filas no consulta metadatos
+        ResultFormatter formatter = ResultFormatter.create(outputFormat, rs.getMetaData(), significantDigits, false);
+        String result = formatter.formatAll(rs);
+        toolMetrics.phase(tool, "fetch_format", fetchStart);
+        toolMetrics.rows(tool, formatter.rowCount());
+        return result;
+    }
+
+    private O3ConnectionPool.Lease borrow(String tool) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return connectionPool.borrow();
+        } finally {
+            toolMetrics.phase(tool, "borrow", start);
+        }
+    }
+
+    // Igual que runQuery pero las filas se vuelcan a un cursor server-side y solo se retorna la primera página
+    private String runPagedQuery(Connection conn, String query, int pageSize, OutputFormat outputFormat) throws SQLException, IOException {
         try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
-            
-            ResultSetMetaData metadata = rs.getMetaData();
-            int columnCount = metadata.getColumnCount();
-
-            StringJoiner headerJoiner = new StringJoiner(" | ");
-            for (int c = 1; c <= columnCount; c++) {
-                headerJoiner.add(metadata.getColumnLabel(c));
+             QueryWatchdog.Guard guard = queryWatchdog.watch("executeCustomMdxQuery", conn, stmt)) {
+            long executeStart = System.nanoTime();
+            try (ResultSet rs = stmt.executeQuery(query)) {
+                toolMetrics.phase("executeCustomMdxQuery", "execute", executeStart);
+                long fetchStart = System.nanoTime();
+                ResultFormatter formatter = ResultFormatter.create(outputFormat, rs.getMetaData(), significantDigits, true);
+                String header = formatter.preamble().isEmpty() ? formatter.header() : formatter.preamble() + "\n" + formatter.header();
+                ResultCursorStore.Page page = cursorStore.open(rs, header, formatter::row, pageSize);
+                toolMetrics.phase("executeCustomMdxQuery", "fetch_format", fetchStart);
+                toolMetrics.rows("executeCustomMdxQuery", page.totalRows());
+                return page.render();
+            } catch (SQLException | IOException | RuntimeException e) {
+                guard.checkAborted(e);
+                throw e;
             }
-            queryResults.add(headerJoiner.toString());
-
-            while (rs.next()) {
-                StringJoiner rowJoiner = new StringJoiner(" | ");
-                for (int c = 1; c <= columnCount; c++) {
-                    Object o = metadata.getColumnType(c) == Types.DATE ? rs.getDate(c) : rs.getObject(c);
-                    if (o instanceof Date) {
-                        rowJoiner.add(format.format((Date) o));
-                    } else {
-                        rowJoiner.add(String.valueOf(o));
-                    }
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+    // Mide cuántos bytes y tokens ocupa cada consulta de una suite en los tres formatos de salida
+    @Tool(description = "Measures the size in bytes and approximate tokens of each query of a registered suite (default 'smoke', the Demo sample queries) " +
+        "in text, csv and compact output formats.")
+    public String compareOutputFormats(@ToolParam(description = "Name of the registered query suite, defaults to 'smoke'", required = false) String suiteName) {
+        String name = suiteName == null || suiteName.isBlank() ? QuerySuiteRegistry.SMOKE : suiteName;
+        List<String> suite = querySuites.get(name);
+        if (suite == null) {
+            return "Suite desconocida: " + name + ". Suites disponibles: " + querySuites.names();
+        }
+        StringJoiner report = new StringJoiner("\n");
+        report.add("=== OUTPUT FORMAT SIZES: " + name + " ===");
+        report.add("Query | text bytes (~tokens) | csv bytes (~tokens) | compact bytes (~tokens) | compact vs text");
+        long[] totals = new long[6];
+        for (int i = 0; i < suite.size(); i++) {
+            String query = suite.get(i);
+            try (O3ConnectionPool.Lease lease = borrow("compareOutputFormats")) {
+                long[] sizes = new long[6];
+                OutputFormat[] formats = OutputFormat.values();
+                for (int f = 0; f < formats.length; f++) {
+                    String out = runQuery("compareOutputFormats", lease.connection(), query, null, formats[f]);
+                    sizes[f * 2] = out.getBytes(StandardCharsets.UTF_8).length;
+                    sizes[f * 2 + 1] = approximateTokens(out);
+                    totals[f * 2] += sizes[f * 2];
+                    totals[f * 2 + 1] += sizes[f * 2 + 1];
                 }
-                queryResults.add(rowJoiner.toString());
+                report.add("#" + (i + 1) + " | " + sizes[0] + " (" + sizes[1] + ") | " + sizes[2] + " (" + sizes[3] + ") | "
+                        + sizes[4] + " (" + sizes[5] + ") | " + savings(sizes[0], sizes[4]) + " bytes, " + savings(sizes[1], sizes[5]) + " tokens");
+            } catch (Exception e) {
+                report.add("#" + (i + 1) + " | Error: " + e.getMessage());
             }
         }
-        return queryResults.toString();
+        report.add("Total | " + totals[0] + " (" + totals[1] + ") | " + totals[2] + " (" + totals[3] + ") | "
+                + totals[4] + " (" + totals[5] + ") | " + savings(totals[0], totals[4]) + " bytes, " + savings(totals[1], totals[5]) + " tokens");
+        report.add("~tokens: words, numbers and punctuation marks counted separately (approximation of a BPE tokenizer)");
+        return report.toString();
+    }
+
+    private static long approximateTokens(String text) {
+        return TOKEN_PATTERN.matcher(text).results().count();
+    }
+
+    private static String savings(long base, long value) {
+        return base == 0 ? "n/a" : String.format("%+.1f%%", 100.0 * (value - base) / base);
+    }
+    //----------------------------------------------------------------------------------------------------------------
+    @Tool(description = "Returns runtime metrics of the MCP O3 Server (connection pool usage, borrow wait times, result cache hits/misses, coalesced calls). " +
+        "Useful for diagnosing slow responses.")
+    public String getServerMetrics() {
+        StringJoiner metrics = new StringJoiner("\n\n");
+        metrics.add("=== SERVER METRICS ===");
+        metrics.add(toolMetrics.stats());
+        metrics.add(sessionRegistry.stats());
+        metrics.add(instructionsInjector.stats());
+        metrics.add(connectionPool.stats());
+        metrics.add(resultCache.stats());
+        metrics.add(queryCoalescer.stats());
+        metrics.add(cubeCatalog.stats());
+        metrics.add(cursorStore.stats());
+        metrics.add(resultExporter.stats());
+        metrics.add(deltaStore.stats());
+        metrics.add(queryWatchdog.stats());
+        metrics.add(memberNameIndex.stats());
+        metrics.add(mdxValidator.stats());
+        metrics.add(startupWarmup.stats());
+        return metrics.toString();
     }
     //----------------------------------------------------------------------------------------------------------------
     //System Prompt General
@@ -188,24 +341,264 @@ public class MCPCore {
             Descends to the Month level
             Returns every month from every year.
         """)
-    public String executeCustomMdxQuery(@ToolParam(description = "Consulta MDX a ejecutar contra el cubo CubeName") String mdxQuery) {
-        // Agregar recordatorio si las instrucciones no se han visto
+    public String executeCustomMdxQuery(@ToolParam(description = "Consulta MDX a ejecutar contra el cubo CubeName") String mdxQuery,
+            @ToolParam(description = "Optional. Rows per page for large results. When set, only the first page is returned together with a cursorId for fetchMdxPage", required = false) Integer pageSize,
+            @ToolParam(description = "Optional output format: 'text' (default, ' | ' separated), 'csv', or 'compact' (dictionary-encoded labels, rounded numbers, fewest tokens)", required = false) String outputFormat,
+            @ToolParam(description = "Optional. When true and this same query was run before in delta mode, only the changed cells and the added/removed rows are returned, with the checksums of the previous and the new result", required = false) Boolean delta,
+            @ToolParam(description = "Optional, with delta=true. Checksum of the result you already have (from the previous call); if it does not match, the full result is returned", required = false) String deltaBase) {
+        // AUTO-INJECT: instrucciones en la primera llamada de la sesión
+        String reminder = instructionsInjector.checkAndInjectInstructions();
+        // En modo strict una consulta con errores no llega a O3; en advisory los avisos acompañan al resultado
+        MdxValidator.Result validation = mdxValidator.validate(mdxQuery);
+        if (validation.reject()) {
+            return reminder + validation.render();
+        }
+        try {
+            // Modo paginado: el resultado queda en un cursor server-side
+            OutputFormat format = OutputFormat.parse(outputFormat);
+            // Modo delta: solo las celdas que cambiaron respecto del resultado anterior de la misma consulta
+            if (Boolean.TRUE.equals(delta)) {
+                return reminder + runDeltaQuery(mdxQuery, format, deltaBase) + validation.render();
+            }
+            if (pageSize != null && pageSize > 0) {
+                try (O3ConnectionPool.Lease lease = borrow("executeCustomMdxQuery")) {
+                    return reminder + runPagedQuery(lease.connection(), mdxQuery, pageSize, format) + validation.render();
+                }
+            }
+            return reminder + executeCached("executeCustomMdxQuery", mdxQuery, format) + validation.render();
+        } catch (Exception e) {
+            toolMetrics.error(e);
+            return reminder + "Error ejecutando consulta MDX: " + e.getMessage() + 
+                    "\nConsulta intentada: " + mdxQuery + validation.render() + memberNameIndex.suggestFor(mdxQuery, e.getMessage());
+        }
+    }
+
+    private String executeCached(String tool, String mdxQuery, OutputFormat format) throws Exception {
+        // Consultas repetidas se sirven desde memoria mientras el cubo no haya sido modificado
+        String cached = resultCache.get(mdxQuery, format.name());
+        if (cached != null) {
+            return cached;
+        }
+        // Llamadas concurrentes con la misma consulta canónica comparten una sola ejecución
+        String key = format.name() + ":" + MdxCanonicalizer.canonicalizeOrNormalize(mdxQuery).exactFingerprint();
+        return queryCoalescer.execute(key, () -> {
+            String fresh;
+            try (O3ConnectionPool.Lease lease = borrow(tool)) {
+                Connection conn = lease.connection();
+                fresh = runQuery(tool, conn, mdxQuery, null, format);
+            }
+            resultCache.put(mdxQuery, format.name(), fresh);
+            return fresh;
+        });
+    }
+
+    // Siempre se ejecuta contra O3 (el delta se calcula sobre datos actuales); el resultado completo queda en la cache
+    private String runDeltaQuery(String mdxQuery, OutputFormat format, String deltaBase) throws Exception {
+        StringBuilder full = new StringBuilder(4096);
+        ResultSnapshot snapshot;
+        try (O3ConnectionPool.Lease lease = borrow("executeCustomMdxQuery");
+             Statement stmt = lease.connection().createStatement();
+             QueryWatchdog.Guard guard = queryWatchdog.watch("executeCustomMdxQuery", lease.connection(), stmt)) {
+            long executeStart = System.nanoTime();
+            try (ResultSet rs = stmt.executeQuery(mdxQuery)) {
+                toolMetrics.phase("executeCustomMdxQuery", "execute", executeStart);
+                long fetchStart = System.nanoTime();
+                ResultFormatter formatter = ResultFormatter.create(format, rs.getMetaData(), significantDigits, false);
+                snapshot = ResultSnapshot.read(rs, formatter, full);
+                toolMetrics.phase("executeCustomMdxQuery", "fetch_format", fetchStart);
+                toolMetrics.rows("executeCustomMdxQuery", snapshot.rows().size());
+            } catch (SQLException | RuntimeException e) {
+                guard.checkAborted(e);
+                throw e;
+            }
+        }
+        String result = full.toString();
+        resultCache.put(mdxQuery, format.name(), result);
+        return deltaStore.diff(mdxQuery, snapshot, result, deltaBase);
+    }
+
+    // Consultas de warm-up (StartupWarmup), por el mismo camino de cache y coalescencia que executeCustomMdxQuery:
+    // una primera pregunta igual a una consulta de la suite se responde desde memoria
+    List<ParallelQueryExecutor.QueryOutcome> warmUp(List<String> queries) {
+        return parallelExecutor.runEach(queries, query -> executeCached("warmup", query, OutputFormat.TEXT));
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+    // Varias consultas exploratorias en una sola tool call: se ejecutan en paralelo acotado (o3.parallel.maxConcurrency)
+    // con el mismo camino de cache y coalescencia que executeCustomMdxQuery; un error en una no afecta a las demás.
+    @Tool(description = "Executes several MDX queries in one call (e.g. measures, dimensions and member children while exploring a cube). " +
+        "Queries run in parallel and each result, error and timing is returned in input order. Prefer this over several executeCustomMdxQuery calls.")
+    public String executeMdxBatch(@ToolParam(description = "List of MDX queries to execute") List<String> mdxQueries,
+            @ToolParam(description = "Optional output format for all results: 'text' (default), 'csv', or 'compact'", required = false) String outputFormat) {
+        if (mdxQueries == null || mdxQueries.isEmpty()) {
+            return "No se recibieron consultas.";
+        }
+        if (mdxQueries.size() > maxBatchQueries) {
+            return "Demasiadas consultas en el lote: " + mdxQueries.size() + " (máximo " + maxBatchQueries + ").";
+        }
+        String reminder = instructionsInjector.getQuickReminder();
+        OutputFormat format;
+        try {
+            format = OutputFormat.parse(outputFormat);
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        long start = System.nanoTime();
+        List<ParallelQueryExecutor.QueryOutcome> outcomes = parallelExecutor.runEach(mdxQueries,
+                q -> {
+                    MdxValidator.Result validation = mdxValidator.validate(q);
+                    if (validation.reject()) {
+                        throw new IllegalArgumentException(validation.render());
+                    }
+                    return executeCached("executeMdxBatch", q, format) + validation.render();
+                });
+        long failed = outcomes.stream().filter(ParallelQueryExecutor.QueryOutcome::failed).count();
+        return reminder + ParallelQueryExecutor.format(outcomes)
+                + "\n\n---\n\nTotal: " + (System.nanoTime() - start) / 1_000_000 + " ms (" + outcomes.size() + " queries, " + failed + " errors)";
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+    // Los agregados se calculan en el servidor recorriendo el ResultSet; al modelo solo vuelve el resumen
+    @Tool(description = "Runs an MDX query and returns only a summary computed on the server for each numeric column: " +
+        "count, sum, average, min/max, Top-N and Bottom-N rows with their share of the total. " +
+        "Use it instead of executeCustomMdxQuery when you need rankings or totals of a large result; do not compute them yourself.")
+    public String summarizeMdxQuery(@ToolParam(description = "MDX query to execute") String mdxQuery,
+            @ToolParam(description = "Optional. Number of rows in the Top-N and Bottom-N rankings, default 5", required = false) Integer topN) {
         String reminder = instructionsInjector.getQuickReminder();
+        MdxValidator.Result validation = mdxValidator.validate(mdxQuery);
+        if (validation.reject()) {
+            return reminder + validation.render();
+        }
+        int n = topN == null || topN <= 0 ? 5 : Math.min(topN, maxSummaryTopN);
+        String variant = "SUMMARY:" + n;
         try {
-            Class.forName("com.ideasoft.o3.jdbc.thin.client.O3ThinDriver");
-            String url = o3ServerUrl;
-            Properties info = new Properties();
-            info.put("user", o3Username);
-            info.put("password", o3Password);
-            info.put("COLUMNS_TYPE", o3ColumnsType);
-            info.put("MEMBER_BY_LABEL", o3MemberByLabel);
-
-            try (Connection conn = DriverManager.getConnection(url, info)) {
-                return reminder + runQuery(conn, mdxQuery, null);                
+            String cached = resultCache.get(mdxQuery, variant);
+            if (cached != null) {
+                return reminder + cached + validation.render();
             }
+            String summary;
+            try (O3ConnectionPool.Lease lease = borrow("summarizeMdxQuery");
+                 Statement stmt = lease.connection().createStatement();
+                 QueryWatchdog.Guard guard = queryWatchdog.watch("summarizeMdxQuery", lease.connection(), stmt)) {
+                long executeStart = System.nanoTime();
+                try (ResultSet rs = stmt.executeQuery(mdxQuery)) {
+                    toolMetrics.phase("summarizeMdxQuery", "execute", executeStart);
+                    long fetchStart = System.nanoTime();
+                    summary = ResultSummarizer.summarize(rs, n, significantDigits);
+                    toolMetrics.phase("summarizeMdxQuery", "fetch_format", fetchStart);
+                } catch (SQLException | RuntimeException e) {
+                    guard.checkAborted(e);
+                    throw e;
+                }
+            }
+            resultCache.put(mdxQuery, variant, summary);
+            return reminder + summary + validation.render();
         } catch (Exception e) {
-            return "Error ejecutando consulta MDX: " + e.getMessage() + 
-                    "\nConsulta intentada: " + mdxQuery;
+            toolMetrics.error(e);
+            return reminder + "Error resumiendo consulta MDX: " + e.getMessage() +
+                    "\nConsulta intentada: " + mdxQuery + validation.render() + memberNameIndex.suggestFor(mdxQuery, e.getMessage());
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+    @Tool(description = "Returns another page of a large MDX result previously executed with executeCustomMdxQuery and a pageSize. " +
+        "Cursors expire after some minutes without use; if so, run the query again.")
+    public String fetchMdxPage(@ToolParam(description = "cursorId returned by executeCustomMdxQuery") String cursorId,
+            @ToolParam(description = "Page number, starting at 1") int page) {
+        try {
+            return cursorStore.fetch(cursorId, page).render();
+        } catch (Exception e) {
+            toolMetrics.error(e);
+            return "Error obteniendo la página: " + e.getMessage();
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+    // El resultado se escribe a un archivo local a medida que se lee del ResultSet (ResultFileExporter);
+    // por MCP solo vuelven la ruta, las cantidades y una vista previa
+    @Tool(description = "Runs an MDX query and writes the full result to a local file instead of returning it: 'csv' (default), " +
+        "'csv.gz' (gzip compressed CSV) or 'columnar' (binary, one block per column). Returns only the file path, row/column counts and a short preview. " +
+        "Use it for large results and as the data source of HTML visualizations that read CSV.")
+    public String exportMdxResult(@ToolParam(description = "MDX query to execute") String mdxQuery,
+            @ToolParam(description = "Optional file format: 'csv' (default), 'csv.gz' or 'columnar'", required = false) String format) {
+        String reminder = instructionsInjector.getQuickReminder();
+        MdxValidator.Result validation = mdxValidator.validate(mdxQuery);
+        if (validation.reject()) {
+            return reminder + validation.render();
+        }
+        try {
+            ResultFileExporter.ExportFormat exportFormat = ResultFileExporter.ExportFormat.parse(format);
+            ResultFileExporter.Export export;
+            try (O3ConnectionPool.Lease lease = borrow("exportMdxResult");
+                 Statement stmt = lease.connection().createStatement();
+                 QueryWatchdog.Guard guard = queryWatchdog.watch("exportMdxResult", lease.connection(), stmt)) {
+                long executeStart = System.nanoTime();
+                try (ResultSet rs = stmt.executeQuery(mdxQuery)) {
+                    toolMetrics.phase("exportMdxResult", "execute", executeStart);
+                    long writeStart = System.nanoTime();
+                    export = resultExporter.export(rs, exportFormat);
+                    toolMetrics.phase("exportMdxResult", "fetch_format", writeStart);
+                    toolMetrics.rows("exportMdxResult", export.rows());
+                } catch (SQLException | IOException | RuntimeException e) {
+                    guard.checkAborted(e);
+                    throw e;
+                }
+            }
+            return reminder + export.render() + validation.render();
+        } catch (Exception e) {
+            toolMetrics.error(e);
+            return reminder + "Error exportando consulta MDX: " + e.getMessage() +
+                    "\nConsulta intentada: " + mdxQuery + validation.render() + memberNameIndex.suggestFor(mdxQuery, e.getMessage());
+        }
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+    @Tool(description = "Executes a registered parameterized MDX template (common query shapes such as a measure by the children of a dimension) " +
+        "with the given arguments. Repeated executions reuse a prepared statement on the O3 server. Call with an unknown name to list the templates and their parameters.")
+    public String executeMdxTemplate(@ToolParam(description = "Name of the registered template, e.g. 'measureByChildren'") String templateName,
+            @ToolParam(description = "Template arguments by parameter name, e.g. {\"cube\": \"Demo\", \"measure\": \"Units Sold\", \"dimension\": \"Location\"}", required = false) Map<String, String> arguments,
+            @ToolParam(description = "Optional output format: 'text' (default), 'csv', or 'compact'", required = false) String outputFormat) {
+        String reminder = instructionsInjector.getQuickReminder();
+        MdxTemplate template = mdxTemplates.get(templateName);
+        if (template == null) {
+            return reminder + "Template desconocido: " + templateName + ". Templates disponibles:\n" + mdxTemplates.describeAll();
+        }
+        MdxTemplate.Bound bound = null;
+        MdxValidator.Result validation = null;
+        try {
+            OutputFormat format = OutputFormat.parse(outputFormat);
+            bound = template.bind(arguments == null ? Map.of() : arguments);
+            // Se valida la consulta que ejecuta O3, con los valores ligados en el texto
+            validation = mdxValidator.validate(bound.resolvedText());
+            if (validation.reject()) {
+                return reminder + validation.render();
+            }
+            try (O3ConnectionPool.Lease lease = borrow("executeMdxTemplate")) {
+                return reminder + runPreparedQuery("executeMdxTemplate", lease, bound.statementText(), bound.parameters().toArray(), format)
+                        + validation.render();
+            }
+        } catch (Exception e) {
+            toolMetrics.error(e);
+            return reminder + "Error ejecutando el template " + template.getName() + ": " + e.getMessage()
+                    + (bound == null ? "\n" + template.describe() : "\nConsulta intentada: " + bound.resolvedText()
+                            + (validation == null ? "" : validation.render()) + memberNameIndex.suggestFor(bound.resolvedText(), e.getMessage()));
+        }
+    }
+
+    // Ejecuta sobre el PreparedStatement cacheado de la conexión; el statement no se cierra, vuelve al cache
+    private String runPreparedQuery(String tool, O3ConnectionPool.Lease lease, String query, Object[] params, OutputFormat outputFormat) throws SQLException {
+        PreparedStatement stmt = lease.prepare(query);
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+        try (QueryWatchdog.Guard guard = queryWatchdog.watch(tool, lease.connection(), stmt)) {
+            long executeStart = System.nanoTime();
+            try (ResultSet rs = stmt.executeQuery()) {
+                return formatAll(tool, rs, outputFormat, executeStart);
+            } catch (SQLException | RuntimeException e) {
+                guard.checkAborted(e);
+                throw e;
+            }
         }
     }
 
@@ -217,105 +610,63 @@ public class MCPCore {
             // AUTO-INJECT: Cargar instrucciones en la primera llamada
             String autoLoadedInstructions = instructionsInjector.checkAndInjectInstructions();
             try {
-                Class.forName("com.ideasoft.o3.jdbc.thin.client.O3ThinDriver");
-                String url = o3ServerUrl;
-                Properties info = new Properties();
-                info.put("user", o3Username);
-                info.put("password", o3Password);
-                info.put("COLUMNS_TYPE", o3ColumnsType);
-                info.put("MEMBER_BY_LABEL", o3MemberByLabel);
-
-                try (Connection conn = DriverManager.getConnection(url, info)) {
-                    String result;
-                    if (cubeName == null || cubeName.trim().isEmpty() || cubeName.equalsIgnoreCase("null")) {
-                        result = listAvailableCubes(conn);
-                    } else {
-                        result = getCubeStructure(conn, cubeName.trim());
-                    }
-                    return autoLoadedInstructions + result;
+                // Se responde desde el catálogo en memoria, que se refresca en segundo plano
+                String result;
+                if (cubeName == null || cubeName.trim().isEmpty() || cubeName.equalsIgnoreCase("null")) {
+                    result = listAvailableCubes();
+                } else {
+                    result = getCubeStructure(cubeName.trim());
                 }
-                
+                return autoLoadedInstructions + result;
             } catch (Exception e) {
-                return "Error retrieving cube information: " + e.getMessage();
+                toolMetrics.error(e);
+                return autoLoadedInstructions + "Error retrieving cube information: " + e.getMessage();
             }
         }
 
-    private String listAvailableCubes(Connection conn) {
+    private String listAvailableCubes() throws SQLException {
         StringJoiner result = new StringJoiner("\n");
         result.add("=== AVAILABLE CUBES ===\n");
-        
-        try {
-            String query = "SELECT {Cubes} ON COLUMNS FROM SYSCATALOG";
-            try (Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(query)) {
-                
-                int count = 0;
-                while (rs.next()) {
-                    result.add("- " + rs.getString(1));
-                    count++;
-                }
-                
-                if (count == 0) {
-                    result.add("No cubes found.");
-                } else {
-                    result.add("\nTotal cubes: " + count);
-                }
-            }
-        } catch (SQLException e) {
-            result.add("Error listing cubes: " + e.getMessage());
+
+        List<String> cubes = cubeCatalog.getCubes();
+        for (String cube : cubes) {
+            result.add("- " + cube);
         }
-        
+
+        if (cubes.isEmpty()) {
+            result.add("No cubes found.");
+        } else {
+            result.add("\nTotal cubes: " + cubes.size());
+        }
+
         return result.toString();
     }
 
-    private String getCubeStructure(Connection conn, String cubeName) {
+    private String getCubeStructure(String cubeName) throws SQLException {
+        CubeCatalogService.CubeSchema schema = cubeCatalog.getSchema(cubeName);
         StringJoiner result = new StringJoiner("\n");
         result.add("=== CUBE STRUCTURE: " + cubeName + " ===\n");
-        
+
         // Get dimensions
         result.add("--- DIMENSIONS ---");
-        try {
-            String dimensionsQuery = "SELECT {Dimensions} ON COLUMNS FROM [" + cubeName + "]";
-            try (Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(dimensionsQuery)) {
-                
-                int dimCount = 0;
-                while (rs.next()) {
-                    result.add("- " + rs.getString(1));
-                    dimCount++;
-                }
-                
-                if (dimCount == 0) {
-                    result.add("No dimensions found.");
-                } else {
-                    result.add("Total dimensions: " + dimCount);
-                }
-            }
-        } catch (SQLException e) {
-            result.add("Error retrieving dimensions: " + e.getMessage());
+        for (String dimension : schema.dimensions()) {
+            result.add("- " + dimension);
         }
-        
+        if (schema.dimensions().isEmpty()) {
+            result.add("No dimensions found.");
+        } else {
+            result.add("Total dimensions: " + schema.dimensions().size());
+        }
+
         // Get measures
         result.add("\n--- MEASURES ---");
-        try {
-            String measuresQuery = "SELECT {Measures.Members} ON COLUMNS FROM [" + cubeName + "]";
-            try (Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(measuresQuery)) {
-                
-                int measCount = 0;
-                while (rs.next()) {
-                    result.add("- " + rs.getString(1));
-                    measCount++;
-                }
-                
-                if (measCount == 0) {
-                    result.add("No measures found.");
-                } else {
-                    result.add("Total measures: " + measCount);
-                }
-            }
-        } catch (SQLException e) {
-            result.add("Error retrieving measures: " + e.getMessage());
+        for (String measure : schema.measures()) {
+            result.add("- " + measure);
+        }
+        if (schema.measures().isEmpty()) {
+            result.add("No measures found.");
+        } else {
+            result.add("Total measures: " + schema.measures().size());
         }
         
         // Add helpful tips
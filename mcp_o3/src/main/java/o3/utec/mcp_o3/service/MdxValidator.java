@@ -0,0 +1,213 @@
+package o3.utec.mcp_o3.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import o3.utec.mcp_o3.mdx.FuzzyNameIndex;
+import o3.utec.mcp_o3.mdx.MdxCanonicalizer;
+import o3.utec.mcp_o3.mdx.MdxParseException;
+import o3.utec.mcp_o3.mdx.MdxReferences;
+import o3.utec.mcp_o3.mdx.MdxToken;
+import o3.utec.mcp_o3.mdx.MdxTokenizer;
+
+// Validación local de una consulta MDX antes de enviarla a O3, contra el esquema que ya está en memoria (nunca consulta al servidor):
+// - Errores: corchetes, llaves y paréntesis sin balancear o cadenas sin cerrar; cubo, dimensión o medida inexistentes
+//   (sin distinguir mayúsculas, solo si el cubo ya está en el catálogo).
+// - Advertencias: lo que el parser local no entiende. El parser cubre el MDX de las tools pero no todo el de O3,
+//   por eso nunca rechaza una consulta por sí solo.
+// Modos (o3.validation.mode): off, advisory (se ejecuta igual y los problemas se informan junto al resultado)
+// y strict (una consulta con errores se rechaza sin ir al servidor).
+@Service
+public class MdxValidator {
+
+    public enum Mode { OFF, ADVISORY, STRICT }
+
+    @Autowired
+    private CubeCatalogService cubeCatalog;
+
+    @Value("${o3.validation.mode:advisory}")
+    private String modeName;
+
+    private Mode mode;
+
+    @Value("${o3.validation.maxSuggestions:3}")
+    private int maxSuggestions;
+
+    private final AtomicLong validated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong withWarnings = new AtomicLong();
+    private final AtomicLong validationNanos = new AtomicLong();
+
+    public record Diagnostic(boolean error, int position, String message) {
+    }
+
+    public record Result(String query, List<Diagnostic> diagnostics, boolean reject) {
+        public boolean hasErrors() {
+            return diagnostics.stream().anyMatch(Diagnostic::error);
+        }
+
+        // Diagnósticos con la posición marcada bajo la línea de la consulta
+        public String render() {
+            if (diagnostics.isEmpty()) {
+                return "";
+            }
+            StringJoiner sj = new StringJoiner("\n");
+            sj.add(reject ? "Consulta rechazada por la validación local (no se envió a O3):" : "\n--- VALIDACIÓN LOCAL ---");
+            for (Diagnostic d : diagnostics) {
+                sj.add((d.error() ? "ERROR" : "AVISO") + " en la posición " + d.position() + ": " + d.message());
+                sj.add(excerpt(query, d.position()));
+            }
+            return sj.toString();
+        }
+    }
+
+    // Un modo mal escrito falla al arrancar y no en la primera consulta
+    @PostConstruct
+    void init() {
+        mode = Mode.valueOf(modeName.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Result validate(String mdx) {
+        Mode current = mode;
+        if (current == Mode.OFF || mdx == null) {
+            return new Result(mdx, List.of(), false);
+        }
+        long start = System.nanoTime();
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        List<MdxToken> tokens = null;
+        try {
+            tokens = MdxTokenizer.tokenize(mdx);
+        } catch (MdxParseException e) {
+            diagnostics.add(new Diagnostic(true, e.getPosition(), e.getDetail()));
+        }
+        if (tokens != null) {
+            checkBalance(tokens, diagnostics);
+            if (diagnostics.isEmpty()) {
+                try {
+                    MdxCanonicalizer.canonicalize(mdx);
+                } catch (MdxParseException e) {
+                    diagnostics.add(new Diagnostic(false, e.getPosition(), "El parser local no reconoce la consulta: " + e.getDetail()));
+                }
+                checkNames(mdx, diagnostics);
+            }
+        }
+        boolean reject = current == Mode.STRICT && diagnostics.stream().anyMatch(Diagnostic::error);
+        validated.incrementAndGet();
+        validationNanos.addAndGet(System.nanoTime() - start);
+        if (reject) {
+            rejected.incrementAndGet();
+        } else if (!diagnostics.isEmpty()) {
+            withWarnings.incrementAndGet();
+        }
+        return new Result(mdx, List.copyOf(diagnostics), reject);
+    }
+
+    private static void checkBalance(List<MdxToken> tokens, List<Diagnostic> diagnostics) {
+        Deque<MdxToken> open = new ArrayDeque<>();
+        for (MdxToken t : tokens) {
+            if (t.isSymbol("{") || t.isSymbol("(")) {
+                open.push(t);
+            } else if (t.isSymbol("}") || t.isSymbol(")")) {
+                String expected = t.isSymbol("}") ? "{" : "(";
+                if (open.isEmpty()) {
+                    diagnostics.add(new Diagnostic(true, t.position(), "'" + t.text() + "' sin abrir"));
+                    return;
+                }
+                MdxToken opening = open.pop();
+                if (!opening.text().equals(expected)) {
+                    diagnostics.add(new Diagnostic(true, t.position(), "Se encontró '" + t.text() + "' pero falta cerrar '"
+                            + opening.text() + "' abierto en la posición " + opening.position()));
+                    return;
+                }
+            }
+        }
+        if (!open.isEmpty()) {
+            MdxToken opening = open.pop();
+            diagnostics.add(new Diagnostic(true, opening.position(), "'" + opening.text() + "' sin cerrar"));
+        }
+    }
+
+    private void checkNames(String mdx, List<Diagnostic> diagnostics) {
+        List<MdxReferences.Reference> references = MdxReferences.extract(mdx);
+        List<String> cubes = cubeCatalog.getCachedCubes();
+        MdxReferences.Reference cubeRef = references.stream().filter(MdxReferences.Reference::cube).findFirst().orElse(null);
+        if (cubeRef == null || cubes == null) {
+            return;
+        }
+        MdxReferences.Segment cubeSegment = cubeRef.segments().get(0);
+        if (!containsIgnoreCase(cubes, cubeSegment.name())) {
+            diagnostics.add(new Diagnostic(true, cubeSegment.start(), "El cubo '" + cubeSegment.name() + "' no existe"
+                    + didYouMean(cubes, cubeSegment.name())));
+            return;
+        }
+        CubeCatalogService.CubeSchema schema = cubeCatalog.getCachedSchema(cubeSegment.name());
+        if (schema == null) {
+            return;
+        }
+        for (MdxReferences.Reference reference : references) {
+            if (reference.cube()) {
+                continue;
+            }
+            List<MdxReferences.Segment> segments = reference.segments();
+            if (reference.isMeasure()) {
+                for (MdxReferences.Segment segment : segments.subList(1, segments.size())) {
+                    if (segment.name().equalsIgnoreCase("Measures") || segment.name().equalsIgnoreCase("<measures>")) {
+                        continue;
+                    }
+                    if (!containsIgnoreCase(schema.measures(), segment.name())) {
+                        diagnostics.add(new Diagnostic(true, segment.start(), "La medida '" + segment.name() + "' no existe en "
+                                + schema.name() + didYouMean(schema.measures(), segment.name())));
+                    }
+                    break;
+                }
+            } else if (!containsIgnoreCase(schema.dimensions(), reference.head())) {
+                MdxReferences.Segment head = segments.get(0);
+                diagnostics.add(new Diagnostic(true, head.start(), "La dimensión '" + head.name() + "' no existe en "
+                        + schema.name() + didYouMean(schema.dimensions(), head.name())));
+            }
+        }
+    }
+
+    private static boolean containsIgnoreCase(List<String> names, String name) {
+        return names.stream().anyMatch(n -> n.equalsIgnoreCase(name));
+    }
+
+    private String didYouMean(List<String> names, String name) {
+        int distance = Math.max(1, Math.min(3, name.length() / 3));
+        List<String> candidates = new FuzzyNameIndex(names).search(name, distance, maxSuggestions).stream()
+                .map(FuzzyNameIndex.Match::name).toList();
+        return candidates.isEmpty() ? "" : ". Quizás: " + String.join(", ", candidates);
+    }
+
+    // Línea de la consulta que contiene la posición y un ^ debajo
+    static String excerpt(String query, int position) {
+        int p = Math.max(0, Math.min(position, query.length()));
+        int lineStart = query.lastIndexOf('\n', p - 1) + 1;
+        int lineEnd = query.indexOf('\n', p);
+        String line = query.substring(lineStart, lineEnd < 0 ? query.length() : lineEnd);
+        return "  " + line + "\n  " + " ".repeat(p - lineStart) + "^";
+    }
+
+    public String stats() {
+        long count = validated.get();
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- LOCAL MDX VALIDATION ---");
+        sj.add("Mode: " + mode.name().toLowerCase(Locale.ROOT) + " / Validated: " + count + " / Rejected: " + rejected.get() + " / With warnings: " + withWarnings.get());
+        sj.add(String.format("Avg validation time: %.1f us", count == 0 ? 0.0 : validationNanos.get() / 1000.0 / count));
+        return sj.toString();
+    }
+}
@@ -0,0 +1,260 @@
+package o3.utec.mcp_o3.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+import o3.utec.mcp_o3.mdx.FuzzyNameIndex;
+import o3.utec.mcp_o3.mdx.MdxReferences;
+
+// Índice en memoria de nombres de miembros por cubo y dimensión, para sugerir correcciones cuando O3 rechaza
+// una consulta por un miembro, dimensión o medida inexistente (errores de tipeo o de mayúsculas).
+// Los miembros de una dimensión se cargan recién la primera vez que hacen falta, con memberQuery, y se recargan después de ttlMs.
+// Dimensiones y medidas salen del catálogo de cubos en memoria.
+@Service
+public class MemberNameIndex {
+    private static final Logger log = LoggerFactory.getLogger(MemberNameIndex.class);
+
+    @Autowired
+    private O3ConnectionPool connectionPool;
+
+    @Autowired
+    private CubeCatalogService cubeCatalog;
+
+    @Autowired
+    private QueryWatchdog queryWatchdog;
+
+    @Value("${o3.members.enabled:true}")
+    private boolean enabled;
+
+    // %1$s = cubo, %2$s = dimensión; se lee la primera columna de cada fila
+    @Value("${o3.members.memberQuery:SELECT {[%2$s].Members} ON ROWS FROM [%1$s]}")
+    private String memberQuery;
+
+    // Dimensiones más grandes no se indexan completas
+    @Value("${o3.members.maxPerDimension:50000}")
+    private int maxPerDimension;
+
+    // Plazo de la consulta de miembros: corre en el camino de error de una tool call y no debe demorarla más que
+    // la consulta original (o3.timeout.tools.memberIndex lo reemplaza)
+    @Value("${o3.members.loadTimeoutMs:5000}")
+    private long loadTimeoutMs;
+
+    @Value("${o3.members.ttlMs:3600000}")
+    private long ttlMs;
+
+    @Value("${o3.members.maxDistance:3}")
+    private int maxDistance;
+
+    @Value("${o3.members.maxSuggestions:3}")
+    private int maxSuggestions;
+
+    // Errores de O3 que indican un nombre inexistente (no los de sintaxis, que no se resuelven con otro nombre)
+    @Value("${o3.members.errorPattern:(?i)(not found|no encontrad|no existe|unknown (cube|dimension|hierarchy|level|member|measure)|(cubo|dimensi[oó]n|jerarqu[ií]a|nivel|miembro|medida) desconocid)}")
+    private String errorRegex;
+
+    private Pattern errorPattern;
+
+    private final Map<String, DimensionMembers> members = new ConcurrentHashMap<>();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong suggestionsGiven = new AtomicLong();
+    private final AtomicLong dimensionsLoaded = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        errorPattern = Pattern.compile(errorRegex);
+    }
+
+    private record DimensionMembers(FuzzyNameIndex index, long loadedAt) {
+    }
+
+    // Nombre inválido encontrado en la consulta, con las alternativas más cercanas
+    public record Suggestion(MdxReferences.Segment segment, String kind, String scope, List<String> candidates) {
+    }
+
+    // Sugerencias para una consulta rechazada por O3: texto listo para agregar a la respuesta, o "" si no aplica
+    public String suggestFor(String mdxQuery, String errorMessage) {
+        if (!enabled || errorMessage == null || !errorPattern.matcher(errorMessage).find()) {
+            return "";
+        }
+        lookups.incrementAndGet();
+        try {
+            List<Suggestion> suggestions = findUnknownNames(mdxQuery);
+            if (suggestions.isEmpty()) {
+                return "";
+            }
+            suggestionsGiven.incrementAndGet();
+            return render(mdxQuery, suggestions);
+        } catch (SQLException | RuntimeException e) {
+            // Incluye MdxParseException: una consulta que no se puede tokenizar no tiene sugerencias
+            log.debug("No se pudieron calcular sugerencias: {}", e.getMessage());
+            return "";
+        }
+    }
+
+    // Busca los nombres de la consulta que no existen en el cubo y sus alternativas más cercanas
+    public List<Suggestion> findUnknownNames(String mdxQuery) throws SQLException {
+        List<MdxReferences.Reference> references = MdxReferences.extract(mdxQuery);
+        String cube = references.stream().filter(MdxReferences.Reference::cube).map(MdxReferences.Reference::head).findFirst().orElse(null);
+        List<Suggestion> suggestions = new ArrayList<>();
+        if (cube == null) {
+            return suggestions;
+        }
+        List<String> cubes = cubeCatalog.getCubes();
+        FuzzyNameIndex cubeIndex = new FuzzyNameIndex(cubes);
+        if (!isKnown(cubeIndex, cube)) {
+            MdxReferences.Segment segment = references.stream().filter(MdxReferences.Reference::cube).findFirst().get().segments().get(0);
+            addSuggestion(suggestions, cubeIndex, segment, "cube", "server");
+            // Sin cubo válido no se pueden revisar dimensiones ni miembros
+            return suggestions;
+        }
+        CubeCatalogService.CubeSchema schema = cubeCatalog.getSchema(cube);
+        FuzzyNameIndex dimensions = new FuzzyNameIndex(schema.dimensions());
+        FuzzyNameIndex measures = new FuzzyNameIndex(schema.measures());
+        for (MdxReferences.Reference reference : references) {
+            if (reference.cube()) {
+                continue;
+            }
+            List<MdxReferences.Segment> segments = reference.segments();
+            if (reference.isMeasure()) {
+                MdxReferences.Segment measure = measureSegment(segments);
+                if (measure != null && !isKnown(measures, measure.name())) {
+                    addSuggestion(suggestions, measures, measure, "measure", cube);
+                }
+                continue;
+            }
+            MdxReferences.Segment head = segments.get(0);
+            if (!isKnown(dimensions, head.name())) {
+                addSuggestion(suggestions, dimensions, head, "dimension", cube);
+                continue;
+            }
+            // Segmentos siguientes: jerarquía (igual a la dimensión), nivel o miembro. Solo se sugiere si hay un miembro cercano.
+            FuzzyNameIndex dimensionMembers = null;
+            for (int s = 1; s < segments.size(); s++) {
+                MdxReferences.Segment segment = segments.get(s);
+                if (segment.name().equalsIgnoreCase(head.name())) {
+                    continue;
+                }
+                if (dimensionMembers == null) {
+                    dimensionMembers = membersOf(cube, head.name());
+                }
+                if (dimensionMembers.size() > 0 && !isKnown(dimensionMembers, segment.name())) {
+                    addSuggestion(suggestions, dimensionMembers, segment, "member", head.name());
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    // Coincidencia exacta; si solo coincide sin distinguir mayúsculas se sugiere la forma correcta
+    private boolean isKnown(FuzzyNameIndex index, String name) {
+        return index.search(name, 0, maxSuggestions).stream().anyMatch(m -> m.name().equals(name));
+    }
+
+    // Measures.X, [<measures>].[<measures>].X: la medida es el primer segmento que no repite la dimensión Measures
+    private static MdxReferences.Segment measureSegment(List<MdxReferences.Segment> segments) {
+        for (int s = 1; s < segments.size(); s++) {
+            String name = segments.get(s).name();
+            if (!name.equalsIgnoreCase("Measures") && !name.equalsIgnoreCase("<measures>")) {
+                return segments.get(s);
+            }
+        }
+        return null;
+    }
+
+    private void addSuggestion(List<Suggestion> suggestions, FuzzyNameIndex index, MdxReferences.Segment segment, String kind, String scope) {
+        int distance = Math.min(maxDistance, Math.max(1, segment.name().length() / 3));
+        List<String> candidates = index.search(segment.name(), distance, maxSuggestions).stream().map(FuzzyNameIndex.Match::name).toList();
+        // Un nivel (Location.City) no es miembro: sin candidatos cercanos no se reporta
+        if (!candidates.isEmpty() || !kind.equals("member")) {
+            suggestions.add(new Suggestion(segment, kind, scope, candidates));
+        }
+    }
+
+    // Miembros de la dimensión, cargados desde O3 la primera vez (índice vacío si no se pudieron leer)
+    FuzzyNameIndex membersOf(String cube, String dimension) {
+        String key = cube.toUpperCase(Locale.ROOT) + "|" + dimension.toUpperCase(Locale.ROOT);
+        DimensionMembers current = members.get(key);
+        if (current != null && System.currentTimeMillis() - current.loadedAt() < ttlMs) {
+            return current.index();
+        }
+        List<String> names = new ArrayList<>();
+        String query = String.format(memberQuery, cube, dimension);
+        try (O3ConnectionPool.Lease lease = connectionPool.borrow();
+             Statement stmt = lease.connection().createStatement();
+             QueryWatchdog.Guard guard = queryWatchdog.watch("memberIndex", lease.connection(), stmt, loadTimeoutMs);
+             ResultSet rs = stmt.executeQuery(query)) {
+            while (rs.next() && names.size() < maxPerDimension) {
+                names.add(rs.getString(1));
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Sin la lista completa no se sugiere nada; el índice vacío queda hasta ttlMs para no repetir la carga
+            names.clear();
+            log.warn("No se pudieron leer los miembros de {}.{}: {}", cube, dimension, e.getMessage());
+        }
+        DimensionMembers loaded = new DimensionMembers(new FuzzyNameIndex(names), System.currentTimeMillis());
+        members.put(key, loaded);
+        dimensionsLoaded.incrementAndGet();
+        return loaded.index();
+    }
+
+    private static String render(String mdxQuery, List<Suggestion> suggestions) {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("\n--- SUGERENCIAS ---");
+        StringBuilder corrected = new StringBuilder(mdxQuery);
+        boolean changed = false;
+        // Reemplazo desde el final para que las posiciones anteriores sigan valiendo
+        List<Suggestion> byPosition = new ArrayList<>(suggestions);
+        byPosition.sort(Comparator.comparingInt((Suggestion s) -> s.segment().start()).reversed());
+        for (Suggestion s : byPosition) {
+            if (!s.candidates().isEmpty()) {
+                corrected.replace(s.segment().start(), s.segment().end(), MdxReferences.bracket(s.candidates().get(0)));
+                changed = true;
+            }
+        }
+        for (Suggestion s : suggestions) {
+            String where = s.kind().equals("cube") ? "en el servidor" : "en " + s.scope();
+            sj.add("'" + s.segment().name() + "' no es un nombre de " + kindLabel(s.kind()) + " conocido " + where
+                    + (s.candidates().isEmpty() ? "." : ". Quizás: " + String.join(", ", s.candidates())));
+        }
+        if (changed) {
+            sj.add("Consulta sugerida: " + corrected);
+        }
+        return sj.toString();
+    }
+
+    private static String kindLabel(String kind) {
+        return switch (kind) {
+            case "cube" -> "cubo";
+            case "dimension" -> "dimensión";
+            case "measure" -> "medida";
+            default -> "miembro";
+        };
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- MEMBER NAME INDEX ---");
+        sj.add("Dimensions indexed: " + members.size() + " (loads: " + dimensionsLoaded.get() + ")");
+        sj.add("Failed queries analyzed: " + lookups.get() + " / with suggestions: " + suggestionsGiven.get());
+        return sj.toString();
+    }
+}
@@ -0,0 +1,137 @@
+package o3.utec.mcp_o3.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import o3.utec.mcp_o3.config.McpCallContext;
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+
+// Ejecuta una lista de consultas MDX en paralelo sobre hilos virtuales.
+// Cada consulta usa su propia conexión del pool y el paralelismo total del proceso
+// queda acotado por o3.parallel.maxConcurrency (compartido entre todas las llamadas concurrentes).
+@Service
+public class ParallelQueryExecutor {
+
+    @Autowired
+    private O3ConnectionPool connectionPool;
+
+    @Value("${o3.parallel.maxConcurrency:4}")
+    private int maxConcurrency;
+
+    private Semaphore slots;
+
+    // Forma en que se ejecuta y formatea cada consulta sobre una conexión prestada
+    @FunctionalInterface
+    public interface QueryFunction {
+        String run(Connection conn, String query) throws SQLException;
+    }
+
+    // Ejecución completa de una consulta; la tarea decide si necesita una conexión (ej. puede responder desde cache)
+    @FunctionalInterface
+    public interface QueryTask {
+        String run(String query) throws Exception;
+    }
+
+    // Resultado de una consulta individual; error es null si terminó bien
+    public record QueryOutcome(int index, String query, String result, String error, long elapsedMillis) {
+        public boolean failed() {
+            return error != null;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        slots = new Semaphore(Math.max(1, maxConcurrency), true);
+    }
+
+    // Ejecuta todas las consultas, cada una con su conexión del pool, y retorna los resultados en el mismo orden de entrada
+    public List<QueryOutcome> runAll(List<String> queries, QueryFunction function) {
+        return runEach(queries, query -> {
+            try (O3ConnectionPool.Lease lease = connectionPool.borrow()) {
+                return function.run(lease.connection(), query);
+            }
+        });
+    }
+
+    // Igual que runAll pero sin pedir conexión: la tarea la pide solo si la necesita
+    public List<QueryOutcome> runEach(List<String> queries, QueryTask task) {
+        List<Future<QueryOutcome>> futures = new ArrayList<>(queries.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < queries.size(); i++) {
+                int index = i;
+                String query = queries.get(i);
+                // Las consultas quedan asociadas a la tool call MCP que lanzó la suite (cancelación)
+                futures.add(executor.submit(McpCallContext.wrap(() -> runOne(index, query, task))));
+            }
+        }
+        List<QueryOutcome> outcomes = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            outcomes.add(outcomeOf(i, queries.get(i), futures.get(i)));
+        }
+        return outcomes;
+    }
+
+    private QueryOutcome runOne(int index, String query, QueryTask task) {
+        long start = System.nanoTime();
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new QueryOutcome(index, query, null, "Interrumpida antes de ejecutarse", 0);
+        }
+        try {
+            String result = task.run(query);
+            return new QueryOutcome(index, query, result, null, elapsedMillis(start));
+        } catch (Exception e) {
+            return new QueryOutcome(index, query, null, e.getMessage(), elapsedMillis(start));
+        } finally {
+            slots.release();
+        }
+    }
+
+    private static QueryOutcome outcomeOf(int index, String query, Future<QueryOutcome> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new QueryOutcome(index, query, null, "Interrumpida", 0);
+        } catch (ExecutionException e) {
+            return new QueryOutcome(index, query, null, String.valueOf(e.getCause()), 0);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    // Formato de texto común: "Query #n (x ms): consulta" seguido del resultado o del error
+    public static String format(List<QueryOutcome> outcomes) {
+        StringJoiner fullResults = new StringJoiner("\n\n---\n\n");
+        for (QueryOutcome outcome : outcomes) {
+            fullResults.add("Query #" + (outcome.index() + 1) + " (" + outcome.elapsedMillis() + " ms): " + outcome.query());
+            fullResults.add(outcome.failed() ? "Error: " + outcome.error() : outcome.result());
+        }
+        return fullResults.toString();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getAvailableSlots() {
+        return slots.availablePermits();
+    }
+}
@@ -0,0 +1,16 @@
+package o3.utec.mcp_o3.service;
+
+import java.sql.SQLException;
+
+// Consulta abortada por un notifications/cancelled del cliente MCP (QueryWatchdog).
+// ToolMetrics la clasifica por tipo, así el texto del mensaje se puede cambiar libremente.
+public class QueryCancelledException extends SQLException {
+
+    public QueryCancelledException(String message) {
+        super(message);
+    }
+
+    public QueryCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,69 @@
+package o3.utec.mcp_o3.service;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+// Single-flight: si varios llamadores piden la misma consulta canónica al mismo tiempo
+// (Claude Desktop y chatbot-ia, o tool calls paralelas de un mismo turno) solo el primero la ejecuta
+// contra O3 y los demás esperan y reciben el mismo resultado (o el mismo error).
+@Component
+public class QueryCoalescer {
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @FunctionalInterface
+    public interface Work {
+        String run() throws Exception;
+    }
+
+    public String execute(String key, Work work) throws Exception {
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return await(existing);
+        }
+        executions.incrementAndGet();
+        try {
+            String result = work.run();
+            mine.complete(result);
+            return result;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- QUERY COALESCING ---");
+        sj.add("Executions: " + executions.get() + " / Coalesced calls: " + coalesced.get() + " / In flight: " + inFlight.size());
+        return sj.toString();
+    }
+}
@@ -0,0 +1,219 @@
+package o3.utec.mcp_o3.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import o3.utec.mcp_o3.config.McpCallContext;
+
+// Plazos máximos para las consultas de cada tool y cancelación de consultas en curso.
+// El plazo se configura por tool (o3.timeout.tools.<tool>, en ms) con o3.timeout.defaultMs como valor por defecto; 0 lo desactiva.
+// Se pasa al driver con setQueryTimeout y además un hilo vigía aborta la consulta al vencer el plazo:
+// primero intenta Statement.cancel() y, como el driver thin no lo implementa, cierra la conexión para destrabar
+// la lectura bloqueada. El pool descarta la conexión cerrada al devolverse, así el slot queda libre.
+// Las consultas quedan registradas con la tool call MCP que las originó para poder abortarlas con notifications/cancelled.
+@Component
+public class QueryWatchdog {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${o3.timeout.defaultMs:120000}")
+    private long defaultTimeoutMs;
+
+    // Cuánto se recuerda un notifications/cancelled que llegó antes de que su consulta empezara
+    @Value("${o3.timeout.cancelMemoryMs:60000}")
+    private long cancelMemoryMs;
+
+    private final Map<String, Set<Guard>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> cancelledCalls = new ConcurrentHashMap<>();
+    private ScheduledExecutorService timer;
+
+    private final AtomicLong watched = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong cancellations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "o3-query-watchdog");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(this::forgetOldCancellations, cancelMemoryMs, cancelMemoryMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    // Plazo en ms para las consultas de la tool, 0 si no tiene
+    public long timeoutFor(String tool) {
+        return timeoutFor(tool, defaultTimeoutMs);
+    }
+
+    private long timeoutFor(String tool, long fallbackMs) {
+        return Math.max(0, environment.getProperty("o3.timeout.tools." + tool, Long.class, fallbackMs));
+    }
+
+    // Empieza a vigilar una consulta a punto de ejecutarse. Se usa con try-with-resources alrededor de executeQuery
+    // y del recorrido del ResultSet; close() cancela el vigía.
+    public Guard watch(String tool, Connection conn, Statement stmt) throws SQLException {
+        return watch(tool, conn, stmt, defaultTimeoutMs);
+    }
+
+    // Igual, con otro plazo por defecto para consultas internas (ej. carga de miembros) que deben ser más cortas
+    // que o3.timeout.defaultMs; o3.timeout.tools.<tool> lo sigue reemplazando
+    public Guard watch(String tool, Connection conn, Statement stmt, long fallbackTimeoutMs) throws SQLException {
+        McpCallContext context = McpCallContext.current();
+        String callKey = context == null ? null : context.key();
+        if (callKey != null && cancelledCalls.containsKey(callKey)) {
+            throw new QueryCancelledException("Consulta cancelada por el cliente MCP antes de ejecutarse");
+        }
+        long timeoutMs = timeoutFor(tool, fallbackTimeoutMs);
+        Guard guard = new Guard(tool, timeoutMs, conn, stmt, callKey);
+        watched.incrementAndGet();
+        if (timeoutMs > 0) {
+            try {
+                stmt.setQueryTimeout((int) Math.max(1, (timeoutMs + 999) / 1000));
+            } catch (SQLException ignored) {
+                // El vigía aplica el plazo igual
+            }
+            guard.deadline = timer.schedule(() -> {
+                timeouts.incrementAndGet();
+                guard.abort("La consulta superó el tiempo máximo de " + timeoutMs + " ms de la tool " + tool, true);
+            }, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        if (callKey != null) {
+            inFlight.computeIfAbsent(callKey, k -> ConcurrentHashMap.newKeySet()).add(guard);
+        }
+        return guard;
+    }
+
+    // Aborta las consultas en curso de una tool call (notifications/cancelled). Retorna cuántas se abortaron.
+    public int cancel(String callKey, String reason) {
+        cancelledCalls.put(callKey, System.currentTimeMillis());
+        Set<Guard> guards = inFlight.remove(callKey);
+        if (guards == null) {
+            return 0;
+        }
+        for (Guard guard : guards) {
+            cancellations.incrementAndGet();
+            guard.abort("Consulta cancelada por el cliente MCP" + (reason == null || reason.isBlank() ? "" : ": " + reason), false);
+        }
+        return guards.size();
+    }
+
+    private void forgetOldCancellations() {
+        long limit = System.currentTimeMillis() - cancelMemoryMs;
+        cancelledCalls.values().removeIf(at -> at < limit);
+    }
+
+    private void unregister(Guard guard) {
+        if (guard.callKey != null) {
+            inFlight.computeIfPresent(guard.callKey, (k, guards) -> {
+                guards.remove(guard);
+                return guards.isEmpty() ? null : guards;
+            });
+        }
+    }
+
+    public int getInFlightCount() {
+        return inFlight.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- QUERY TIMEOUTS ---");
+        sj.add("Default timeout: " + defaultTimeoutMs + " ms / Watched queries: " + watched.get()
+                + " / Cancellable in flight: " + getInFlightCount());
+        sj.add("Timed out: " + timeouts.get() + " / Cancelled by client: " + cancellations.get());
+        return sj.toString();
+    }
+
+    // Vigilancia de una consulta en ejecución
+    public final class Guard implements AutoCloseable {
+        private final String tool;
+        private final long timeoutMs;
+        private final Connection connection;
+        private final Statement statement;
+        private final String callKey;
+        private volatile ScheduledFuture<?> deadline;
+        private volatile String abortReason;
+        private volatile boolean timedOut;
+
+        private Guard(String tool, long timeoutMs, Connection connection, Statement statement, String callKey) {
+            this.tool = tool;
+            this.timeoutMs = timeoutMs;
+            this.connection = connection;
+            this.statement = statement;
+            this.callKey = callKey;
+        }
+
+        private synchronized void abort(String reason, boolean byTimeout) {
+            if (abortReason != null) {
+                return;
+            }
+            abortReason = reason;
+            timedOut = byTimeout;
+            try {
+                statement.cancel();
+            } catch (SQLException | RuntimeException notSupported) {
+                // O3ThinStatement no soporta cancel(): cerrar la conexión corta la lectura del resultado
+                try {
+                    connection.close();
+                } catch (SQLException | RuntimeException ignored) {
+                    // El pool la descarta de todas formas
+                }
+            }
+        }
+
+        public boolean isAborted() {
+            return abortReason != null;
+        }
+
+        // Si la consulta fue abortada lanza el motivo en lugar del error de bajo nivel (conexión cerrada, etc.)
+        public void checkAborted(Exception cause) throws SQLException {
+            String reason = abortReason;
+            if (reason == null) {
+                return;
+            }
+            throw timedOut ? new SQLTimeoutException(reason, cause) : new QueryCancelledException(reason, cause);
+        }
+
+        public String getTool() {
+            return tool;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        @Override
+        public void close() {
+            ScheduledFuture<?> d = deadline;
+            if (d != null) {
+                d.cancel(false);
+            }
+            unregister(this);
+        }
+    }
+}
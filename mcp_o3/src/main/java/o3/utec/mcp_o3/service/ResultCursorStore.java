@@ -0,0 +1,253 @@
+package o3.utec.mcp_o3.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import o3.utec.mcp_o3.config.McpCallContext;
+import o3.utec.mcp_o3.config.McpSessionRegistry;
+
+// Cursores server-side para resultados MDX grandes.
+// Las filas ya formateadas se vuelcan (spill) a un archivo temporal a medida que se leen del ResultSet,
+// guardando solo el offset en bytes del comienzo de cada página. Así la memoria no crece con el tamaño
+// del resultado: solo se tiene en memoria la página que se está sirviendo.
+// Los cursores vencen después de ttlMs sin uso y se borran junto con su archivo.
+// En modo HTTP cada cursor pertenece a la sesión MCP que lo abrió: otra sesión no lo puede leer
+// y se cierra cuando esa sesión termina.
+@Component
+public class ResultCursorStore {
+
+    @Autowired
+    private McpSessionRegistry sessionRegistry;
+
+    @Value("${o3.cursor.ttlMs:600000}")
+    private long ttlMs;
+
+    @Value("${o3.cursor.maxOpen:64}")
+    private int maxOpen;
+
+    @Value("${o3.cursor.spillDir:${java.io.tmpdir}/mcp_o3-cursors}")
+    private String spillDir;
+
+    private final Map<String, Cursor> cursors = new ConcurrentHashMap<>();
+    private ScheduledExecutorService cleaner;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong pagesServed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    // Formatea la fila actual del ResultSet como una línea de texto
+    @FunctionalInterface
+    public interface RowFormatter {
+        String format(ResultSet rs) throws SQLException;
+    }
+
+    // Una página de resultados; page es 1-based
+    public record Page(String cursorId, String header, String rows, int page, int pageCount, long totalRows, int pageSize) {
+        public String render() {
+            StringJoiner sj = new StringJoiner("\n");
+            sj.add(header);
+            if (!rows.isEmpty()) {
+                sj.add(rows);
+            }
+            long first = totalRows == 0 ? 0 : (long) (page - 1) * pageSize + 1;
+            long last = Math.min((long) page * pageSize, totalRows);
+            sj.add("--- PAGE " + page + "/" + pageCount + " (rows " + first + "-" + last + " of " + totalRows + ")"
+                    + (page < pageCount ? " cursorId=" + cursorId + " - call fetchMdxPage(cursorId, page) for more ---" : " ---"));
+            return sj.toString();
+        }
+    }
+
+    private static final class Cursor {
+        final String id;
+        final Path file;
+        final String header;
+        final int pageSize;
+        final long[] pageOffsets;
+        final long fileSize;
+        final long totalRows;
+        // Sesión MCP dueña del cursor (null con stdio)
+        final String owner;
+        volatile long lastAccess;
+
+        Cursor(String id, Path file, String header, int pageSize, long[] pageOffsets, long fileSize, long totalRows, String owner) {
+            this.id = id;
+            this.owner = owner;
+            this.file = file;
+            this.header = header;
+            this.pageSize = pageSize;
+            this.pageOffsets = pageOffsets;
+            this.fileSize = fileSize;
+            this.totalRows = totalRows;
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        int pageCount() {
+            return Math.max(1, pageOffsets.length);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        // Con maxOpen <= 0 enforceLimit no terminaría nunca: como mínimo queda abierto el cursor recién creado
+        maxOpen = Math.max(1, maxOpen);
+        cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "o3-cursor-cleaner");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, ttlMs / 4);
+        cleaner.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+        sessionRegistry.onSessionEnd(this::closeSession);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cleaner.shutdownNow();
+        List.copyOf(cursors.keySet()).forEach(this::close);
+    }
+
+    // Recorre el ResultSet completo volcándolo a disco y retorna la primera página
+    public Page open(ResultSet rs, String header, RowFormatter formatter, int pageSize) throws SQLException, IOException {
+        Path dir = Paths.get(spillDir);
+        Files.createDirectories(dir);
+        String id = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        Path file = dir.resolve(id + ".rows");
+
+        List<Long> offsets = new ArrayList<>();
+        long offset = 0;
+        long rows = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            while (rs.next()) {
+                if (rows % pageSize == 0) {
+                    offsets.add(offset);
+                }
+                byte[] line = (formatter.format(rs) + "\n").getBytes(StandardCharsets.UTF_8);
+                out.write(line);
+                offset += line.length;
+                rows++;
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        long[] pageOffsets = offsets.stream().mapToLong(Long::longValue).toArray();
+        Cursor cursor = new Cursor(id, file, header, pageSize, pageOffsets, offset, rows, currentSession());
+        enforceLimit();
+        cursors.put(id, cursor);
+        opened.incrementAndGet();
+        return read(cursor, 1);
+    }
+
+    // Retorna la página pedida (1-based) de un cursor abierto
+    public Page fetch(String cursorId, int page) throws IOException {
+        Cursor cursor = cursorId == null ? null : cursors.get(cursorId.trim());
+        // El cursor de otra sesión se informa igual que uno inexistente
+        if (cursor == null || (cursor.owner != null && !cursor.owner.equals(currentSession()))) {
+            throw new IllegalArgumentException("Cursor inexistente o vencido: " + cursorId + ". Vuelva a ejecutar la consulta.");
+        }
+        if (page < 1 || page > cursor.pageCount()) {
+            throw new IllegalArgumentException("Página fuera de rango: " + page + " (1-" + cursor.pageCount() + ")");
+        }
+        cursor.lastAccess = System.currentTimeMillis();
+        return read(cursor, page);
+    }
+
+    private Page read(Cursor cursor, int page) throws IOException {
+        String rows = "";
+        if (cursor.pageOffsets.length > 0) {
+            long start = cursor.pageOffsets[page - 1];
+            long end = page < cursor.pageOffsets.length ? cursor.pageOffsets[page] : cursor.fileSize;
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            try (FileChannel channel = FileChannel.open(cursor.file, StandardOpenOption.READ)) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+            }
+            rows = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8).stripTrailing();
+        }
+        pagesServed.incrementAndGet();
+        return new Page(cursor.id, cursor.header, rows, page, cursor.pageCount(), cursor.totalRows, cursor.pageSize);
+    }
+
+    public void close(String cursorId) {
+        Cursor cursor = cursors.remove(cursorId);
+        if (cursor != null) {
+            try {
+                Files.deleteIfExists(cursor.file);
+            } catch (IOException ignored) {
+                // El directorio es temporal, se limpia igual al reiniciar
+            }
+        }
+    }
+
+    // Cierra los cursores de una sesión MCP que terminó
+    void closeSession(String sessionId) {
+        for (Cursor cursor : List.copyOf(cursors.values())) {
+            if (sessionId.equals(cursor.owner)) {
+                close(cursor.id);
+            }
+        }
+    }
+
+    private static String currentSession() {
+        McpCallContext context = McpCallContext.current();
+        return context == null ? null : context.sessionId();
+    }
+
+    // Si se alcanzó maxOpen se cierra el cursor usado hace más tiempo
+    private void enforceLimit() {
+        while (cursors.size() >= maxOpen) {
+            cursors.values().stream()
+                    .min(Comparator.comparingLong(c -> c.lastAccess))
+                    .ifPresentOrElse(c -> close(c.id), cursors::clear);
+        }
+    }
+
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (Cursor cursor : List.copyOf(cursors.values())) {
+            if (now - cursor.lastAccess > ttlMs) {
+                close(cursor.id);
+                expired.incrementAndGet();
+            }
+        }
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- RESULT CURSORS ---");
+        sj.add("Open: " + cursors.size() + " / Max: " + maxOpen + " / Opened total: " + opened.get());
+        sj.add("Pages served: " + pagesServed.get() + " / Expired: " + expired.get());
+        return sj.toString();
+    }
+}
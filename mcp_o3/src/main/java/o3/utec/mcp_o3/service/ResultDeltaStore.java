@@ -0,0 +1,110 @@
+package o3.utec.mcp_o3.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import o3.utec.mcp_o3.config.McpSessionRegistry;
+import o3.utec.mcp_o3.config.SessionStateStore;
+import o3.utec.mcp_o3.format.ResultSnapshot;
+import o3.utec.mcp_o3.mdx.MdxCanonicalizer;
+
+// Último resultado de cada consulta para el modo delta de executeCustomMdxQuery.
+// La clave es la forma canónica exacta de la consulta (MdxCanonicalizer), así la misma consulta escrita con otros
+// espacios o mayúsculas usa la misma base. Cada sesión MCP tiene sus propias bases (el delta es relativo a lo que
+// ese cliente ya recibió), con un LRU de o3.delta.maxQueries consultas por sesión; resultados de más de
+// o3.delta.maxCells celdas no se guardan y se responden completos.
+@Component
+public class ResultDeltaStore {
+
+    @Autowired
+    private McpSessionRegistry sessionRegistry;
+
+    @Value("${o3.delta.maxQueries:16}")
+    private int maxQueries;
+
+    @Value("${o3.delta.maxCells:200000}")
+    private long maxCells;
+
+    @Value("${o3.sessions.maxSessions:10000}")
+    private int maxSessions;
+
+    @Value("${o3.sessions.idleTimeoutMs:1800000}")
+    private long idleTimeoutMs;
+
+    private SessionStateStore<Map<String, ResultSnapshot>> bases;
+
+    private final AtomicLong deltas = new AtomicLong();
+    private final AtomicLong fullResults = new AtomicLong();
+    private final AtomicLong charsSaved = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        bases = new SessionStateStore<>(() -> new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResultSnapshot> eldest) {
+                return size() > maxQueries;
+            }
+        }, maxSessions, idleTimeoutMs);
+        sessionRegistry.onSessionEnd(bases::remove);
+    }
+
+    // Compara el resultado nuevo con la base guardada y la reemplaza. full es el resultado completo en el formato
+    // pedido: se retorna cuando no hay base, cuando deltaBase no coincide con el checksum guardado, cuando cambiaron
+    // las columnas o cuando el delta no es más chico que el resultado completo.
+    public String diff(String mdxQuery, ResultSnapshot current, String full, String deltaBase) {
+        return diff(SessionStateStore.currentSession(), mdxQuery, current, full, deltaBase);
+    }
+
+    String diff(String sessionId, String mdxQuery, ResultSnapshot current, String full, String deltaBase) {
+        String key = MdxCanonicalizer.canonicalizeOrNormalize(mdxQuery).exactFingerprint();
+        Map<String, ResultSnapshot> session = bases.get(sessionId);
+        ResultSnapshot base;
+        synchronized (session) {
+            base = session.get(key);
+            if (current.cellCount() <= maxCells) {
+                session.put(key, current);
+            } else {
+                session.remove(key);
+            }
+        }
+
+        String reason = null;
+        if (base == null) {
+            reason = "no previous result for this query";
+        } else if (deltaBase != null && !deltaBase.isBlank() && !deltaBase.trim().equalsIgnoreCase(base.checksumHex())) {
+            reason = "deltaBase " + deltaBase.trim() + " does not match the stored base " + base.checksumHex();
+        } else if (!current.comparableTo(base)) {
+            reason = "columns changed";
+        }
+        if (reason == null) {
+            String delta = current.renderDelta(base);
+            // Sin cambios el delta se retorna siempre: confirma al cliente que su resultado sigue vigente
+            if (delta.length() < full.length() || base.checksum() == current.checksum()) {
+                deltas.incrementAndGet();
+                charsSaved.addAndGet(full.length() - delta.length());
+                return delta;
+            }
+            reason = "delta not smaller than the full result";
+        }
+        fullResults.incrementAndGet();
+        String footer = current.cellCount() <= maxCells
+                ? "call again with delta=true and deltaBase=" + current.checksumHex() + " to receive only changes"
+                : "result too large to keep as a delta base";
+        return full + "\n--- FULL RESULT checksum=" + current.checksumHex() + " (" + reason + "; " + footer + ") ---";
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- DELTA RESULTS ---");
+        sj.add("Sessions with bases: " + bases.size() + " / Max queries per session: " + maxQueries + " / Max cells: " + maxCells);
+        sj.add("Deltas: " + deltas.get() + " / Full results: " + fullResults.get() + " / Chars saved: " + charsSaved.get());
+        return sj.toString();
+    }
+}
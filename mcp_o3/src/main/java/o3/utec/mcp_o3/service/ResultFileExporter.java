@@ -0,0 +1,348 @@
+package o3.utec.mcp_o3.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import o3.utec.mcp_o3.format.ColumnPlan;
+import o3.utec.mcp_o3.format.OutputFormat;
+import o3.utec.mcp_o3.format.ResultFormatter;
+
+// Exporta un ResultSet completo a un archivo local (exportMdxResult) en lugar de devolverlo como texto por MCP.
+// Las filas se escriben a medida que se leen: el texto se acumula en un StringBuilder de o3.export.chunkChars
+// caracteres que se codifica a UTF-8 en un ByteBuffer reutilizado y se escribe en el FileChannel, así la memoria
+// no crece con el tamaño del resultado. Al modelo solo vuelve la ruta, la cantidad de filas/columnas y unas filas
+// de vista previa; el archivo lo leen después otros pasos (ej. las visualizaciones HTML a partir de CSV).
+// Se conservan los últimos o3.export.maxFiles archivos del directorio, los más viejos se borran.
+//
+// Formato columnar (.o3col), todos los enteros big-endian:
+//   "O3COL1" | int columnas | por columna: byte tipo (0 texto, 1 número) + short largo + etiqueta UTF-8
+//   bloques de hasta o3.export.columnarBlockRows filas: int filas | por columna, los valores del bloque seguidos:
+//     número: double (NaN = nulo); texto: int largo (-1 = nulo) + bytes UTF-8
+//   int 0 (fin de bloques) | long total de filas
+@Component
+public class ResultFileExporter {
+
+    static final byte[] COLUMNAR_MAGIC = "O3COL1".getBytes(StandardCharsets.US_ASCII);
+    static final byte COLUMN_TEXT = 0;
+    static final byte COLUMN_NUMBER = 1;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${o3.export.dir:${java.io.tmpdir}/mcp_o3-exports}")
+    private String exportDir;
+
+    @Value("${o3.export.maxFiles:50}")
+    private int maxFiles;
+
+    @Value("${o3.export.previewRows:5}")
+    private int previewRows;
+
+    @Value("${o3.export.chunkChars:65536}")
+    private int chunkChars;
+
+    @Value("${o3.export.columnarBlockRows:8192}")
+    private int columnarBlockRows;
+
+    private final AtomicLong sequence = new AtomicLong();
+    // Archivos que se están escribiendo o que todavía no se devolvieron al cliente: enforceLimit no los borra
+    private final Set<Path> inProgress = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong exports = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    public enum ExportFormat {
+        CSV("csv", ".csv"), CSV_GZIP("csv.gz", ".csv.gz"), COLUMNAR("columnar", ".o3col");
+
+        final String label;
+        final String extension;
+
+        ExportFormat(String label, String extension) {
+            this.label = label;
+            this.extension = extension;
+        }
+
+        // null o vacío = csv
+        public static ExportFormat parse(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "csv" -> CSV;
+                case "csv.gz", "gzip", "csv_gzip", "gz" -> CSV_GZIP;
+                case "columnar", "o3col", "binary" -> COLUMNAR;
+                default -> throw new IllegalArgumentException("Formato de exportación desconocido: " + value + ". Use 'csv', 'csv.gz' o 'columnar'.");
+            };
+        }
+    }
+
+    // Resultado de una exportación: la vista previa son el encabezado y las primeras filas en CSV
+    public record Export(Path file, ExportFormat format, long rows, int columns, long bytes, String preview) {
+        public String render() {
+            StringJoiner sj = new StringJoiner("\n");
+            sj.add("Exported " + rows + " rows x " + columns + " columns to " + file.toAbsolutePath());
+            sj.add("Format: " + format.label + " (" + bytes + " bytes)");
+            sj.add("--- PREVIEW (CSV, first rows) ---");
+            sj.add(preview);
+            return sj.toString();
+        }
+    }
+
+    public Export export(ResultSet rs, ExportFormat format) throws SQLException, IOException {
+        Path dir = Paths.get(exportDir);
+        Files.createDirectories(dir);
+        // La secuencia ordena las exportaciones de un mismo segundo; el sufijo al azar evita choques entre procesos
+        String id = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        Path file = dir.resolve("export-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "-"
+                + String.format("%09d", sequence.incrementAndGet()) + "-" + id + format.extension);
+        inProgress.add(file);
+        try {
+            return write(rs, format, file, dir);
+        } finally {
+            inProgress.remove(file);
+        }
+    }
+
+    private Export write(ResultSet rs, ExportFormat format, Path file, Path dir) throws SQLException, IOException {
+        ColumnPlan plan = ColumnPlan.compile(rs.getMetaData());
+        // La vista previa usa el mismo CSV que la exportación, también para el formato columnar
+        ResultFormatter csv = ResultFormatter.create(OutputFormat.CSV, rs.getMetaData(), 6, true);
+        StringBuilder preview = new StringBuilder(csv.header());
+        long rows;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            rows = format == ExportFormat.COLUMNAR
+                    ? writeColumnar(rs, plan, csv, preview, channel)
+                    : writeCsv(rs, csv, preview, format == ExportFormat.CSV_GZIP ? gzip(channel) : channel);
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        long bytes = Files.size(file);
+        exports.incrementAndGet();
+        rowsWritten.addAndGet(rows);
+        bytesWritten.addAndGet(bytes);
+        enforceLimit(dir);
+        return new Export(file, format, rows, plan.columnCount(), bytes, preview.toString());
+    }
+
+    // GZIPOutputStream sobre el FileChannel; cerrarlo escribe el trailer y cierra el canal
+    private static WritableByteChannel gzip(FileChannel channel) throws IOException {
+        OutputStream out = new GZIPOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+        return Channels.newChannel(out);
+    }
+
+    private long writeCsv(ResultSet rs, ResultFormatter csv, StringBuilder preview, WritableByteChannel channel) throws SQLException, IOException {
+        try (WritableByteChannel out = channel) {
+            ChunkWriter writer = new ChunkWriter(out, chunkChars);
+            StringBuilder chunk = writer.chunk;
+            csv.appendHeader(chunk);
+            chunk.append('\n');
+            long rows = 0;
+            while (rs.next()) {
+                int start = chunk.length();
+                csv.appendRow(rs, chunk);
+                if (rows < previewRows) {
+                    preview.append('\n').append(chunk, start, chunk.length());
+                }
+                chunk.append('\n');
+                rows++;
+                writer.flushIfFull();
+            }
+            writer.flush();
+            return rows;
+        }
+    }
+
+    private long writeColumnar(ResultSet rs, ColumnPlan plan, ResultFormatter csv, StringBuilder preview, FileChannel channel) throws SQLException, IOException {
+        int columns = plan.columnCount();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        buffer.put(COLUMNAR_MAGIC).putInt(columns);
+        for (int c = 1; c <= columns; c++) {
+            byte[] label = plan.label(c).getBytes(StandardCharsets.UTF_8);
+            ensure(buffer, channel, 3 + label.length);
+            buffer.put(plan.isNumeric(c) ? COLUMN_NUMBER : COLUMN_TEXT).putShort((short) label.length);
+            put(buffer, channel, label);
+        }
+
+        // Un bloque de filas en memoria, columna por columna
+        double[][] numbers = new double[columns + 1][];
+        String[][] texts = new String[columns + 1][];
+        for (int c = 1; c <= columns; c++) {
+            if (plan.isNumeric(c)) {
+                numbers[c] = new double[columnarBlockRows];
+            } else {
+                texts[c] = new String[columnarBlockRows];
+            }
+        }
+        long rows = 0;
+        int blockRows = 0;
+        while (rs.next()) {
+            if (rows < previewRows) {
+                preview.append('\n').append(csv.row(rs));
+            }
+            for (int c = 1; c <= columns; c++) {
+                if (numbers[c] != null) {
+                    numbers[c][blockRows] = plan.doubleValue(rs, c);
+                } else {
+                    Object o = plan.value(rs, c);
+                    texts[c][blockRows] = o == null ? null : ColumnPlan.text(o);
+                }
+            }
+            rows++;
+            if (++blockRows == columnarBlockRows) {
+                writeBlock(buffer, channel, numbers, texts, blockRows);
+                blockRows = 0;
+            }
+        }
+        if (blockRows > 0) {
+            writeBlock(buffer, channel, numbers, texts, blockRows);
+        }
+        ensure(buffer, channel, Integer.BYTES + Long.BYTES);
+        buffer.putInt(0).putLong(rows);
+        drain(buffer, channel);
+        return rows;
+    }
+
+    private static void writeBlock(ByteBuffer buffer, FileChannel channel, double[][] numbers, String[][] texts, int blockRows) throws IOException {
+        ensure(buffer, channel, Integer.BYTES);
+        buffer.putInt(blockRows);
+        for (int c = 1; c < numbers.length; c++) {
+            if (numbers[c] != null) {
+                for (int r = 0; r < blockRows; r++) {
+                    ensure(buffer, channel, Double.BYTES);
+                    buffer.putDouble(numbers[c][r]);
+                }
+            } else {
+                for (int r = 0; r < blockRows; r++) {
+                    String value = texts[c][r];
+                    texts[c][r] = null;
+                    ensure(buffer, channel, Integer.BYTES);
+                    if (value == null) {
+                        buffer.putInt(-1);
+                    } else {
+                        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        buffer.putInt(bytes.length);
+                        put(buffer, channel, bytes);
+                    }
+                }
+            }
+        }
+    }
+
+    // Escribe bytes que pueden ser más grandes que el buffer
+    private static void put(ByteBuffer buffer, FileChannel channel, byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                drain(buffer, channel);
+            }
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private static void ensure(ByteBuffer buffer, FileChannel channel, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(buffer, channel);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Texto acumulado que se codifica a UTF-8 en un ByteBuffer reutilizado y se escribe en el canal al llenarse
+    private static final class ChunkWriter {
+        final StringBuilder chunk;
+        private final int capacity;
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        ChunkWriter(WritableByteChannel channel, int capacity) {
+            this.channel = channel;
+            this.capacity = capacity;
+            this.chunk = new StringBuilder(capacity + 1024);
+        }
+
+        void flushIfFull() throws IOException {
+            if (chunk.length() >= capacity) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            CharBuffer chars = CharBuffer.wrap(chunk);
+            encoder.reset();
+            CoderResult result;
+            while ((result = encoder.encode(chars, buffer, true)).isOverflow()) {
+                drain(buffer, channel);
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drain(buffer, channel);
+            }
+            drain(buffer, channel);
+            chunk.setLength(0);
+        }
+    }
+
+    // Conserva los maxFiles archivos de exportación más nuevos (el nombre ordena por fecha y secuencia)
+    private void enforceLimit(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> exported = files.filter(p -> p.getFileName().toString().startsWith("export-"))
+                    .sorted(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed())
+                    .toList();
+            for (Path old : exported.subList(Math.min(maxFiles, exported.size()), exported.size())) {
+                if (!inProgress.contains(old)) {
+                    Files.deleteIfExists(old);
+                }
+            }
+        } catch (IOException ignored) {
+            // Si no se puede listar el directorio se conserva todo
+        }
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- RESULT EXPORTS ---");
+        sj.add("Directory: " + Paths.get(exportDir).toAbsolutePath() + " (keeps " + maxFiles + " files)");
+        sj.add("Exports: " + exports.get() + " / Rows: " + rowsWritten.get() + " / Bytes: " + bytesWritten.get());
+        return sj.toString();
+    }
+}
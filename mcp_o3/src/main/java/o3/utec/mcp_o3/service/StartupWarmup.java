@@ -0,0 +1,111 @@
+package o3.utec.mcp_o3.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import o3.utec.mcp_o3.config.QuerySuiteRegistry;
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+
+// Warm-up en segundo plano al arrancar. Apenas el contexto está listo (el servidor MCP ya atiende initialize) se
+// registra el driver, se abren o3.warmup.connections conexiones del pool y se ejecutan las consultas de la suite
+// o3.warmup.suite (QuerySuiteRegistry) con el mismo camino de cache que executeCustomMdxQuery.
+// Así la primera pregunta no paga la carga de clases del driver, la conexión TCP ni la sesión O3 en frío.
+// Corre en un hilo daemon de baja prioridad; si O3 no responde solo queda registrado el error.
+@Service
+public class StartupWarmup {
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    @Autowired
+    private O3ConnectionPool connectionPool;
+
+    @Autowired
+    private QuerySuiteRegistry querySuites;
+
+    // MCPCore muestra estas estadísticas en getServerMetrics: se obtiene al usarlo para no formar un ciclo
+    @Autowired
+    private ObjectProvider<MCPCore> mcpCore;
+
+    @Value("${o3.warmup.enabled:true}")
+    private boolean enabled;
+
+    // Conexiones a abrir por adelantado (0 = solo registrar el driver); el pool no pasa de o3.pool.maxSize
+    @Value("${o3.warmup.connections:1}")
+    private int connections;
+
+    // Suite de QuerySuiteRegistry con las consultas de warm-up; si no está registrada no se ejecutan consultas
+    @Value("${o3.warmup.suite:warmup}")
+    private String suiteName;
+
+    private volatile String state = "pending";
+    private volatile int connectionsOpened;
+    private volatile long connectMillis;
+    private volatile int queriesOk;
+    private volatile int queriesFailed;
+    private volatile long queriesMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) {
+            state = "disabled";
+            return;
+        }
+        Thread t = new Thread(this::run, "o3-warmup");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+    }
+
+    void run() {
+        state = "running";
+        long start = System.nanoTime();
+        try {
+            connectionsOpened = connectionPool.prewarm(connections);
+        } catch (SQLException | RuntimeException e) {
+            state = "failed: " + e.getMessage();
+            log.warn("Warm-up: no se pudo conectar a O3: {}", e.getMessage());
+            return;
+        } finally {
+            connectMillis = (System.nanoTime() - start) / 1_000_000;
+        }
+
+        List<String> queries = querySuites.get(suiteName);
+        if (queries != null && !queries.isEmpty()) {
+            long queriesStart = System.nanoTime();
+            int ok = 0;
+            int failed = 0;
+            for (ParallelQueryExecutor.QueryOutcome outcome : mcpCore.getObject().warmUp(queries)) {
+                if (outcome.failed()) {
+                    failed++;
+                    log.warn("Warm-up: falló la consulta {}: {}", outcome.query(), outcome.error());
+                } else {
+                    ok++;
+                }
+            }
+            queriesOk = ok;
+            queriesFailed = failed;
+            queriesMillis = (System.nanoTime() - queriesStart) / 1_000_000;
+        }
+        state = "done";
+        log.info("Warm-up terminado: {} conexiones en {} ms, {} consultas ok / {} con error en {} ms",
+                connectionsOpened, connectMillis, queriesOk, queriesFailed, queriesMillis);
+    }
+
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- STARTUP WARM-UP ---");
+        sj.add("State: " + state);
+        sj.add("Connections opened: " + connectionsOpened + " (" + connectMillis + " ms)");
+        sj.add("Queries (suite '" + suiteName + "'): ok " + queriesOk + " / failed " + queriesFailed + " (" + queriesMillis + " ms)");
+        return sj.toString();
+    }
+}
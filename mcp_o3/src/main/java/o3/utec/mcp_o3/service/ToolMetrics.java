@@ -0,0 +1,331 @@
+package o3.utec.mcp_o3.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbackProvider;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import o3.utec.mcp_o3.jdbc.PoolExhaustedException;
+import o3.utec.mcp_o3.mdx.MdxParseException;
+
+// Métricas Micrometer de cada tool MCP (en memoria, sin exportador de red):
+// - mcp.tool.duration: duración total de la tool call, por tool, outcome (success/error) y tipo de error
+// - mcp.tool.phase: tiempo de cada fase JDBC por tool: borrow (obtener la conexión del pool), execute y fetch_format
+// - mcp.tool.rows / mcp.tool.output.bytes: filas leídas y bytes UTF-8 de la respuesta
+// Las tools se miden envolviendo sus ToolCallback (instrument), así que no hace falta tocar cada método;
+// las fases y las filas las reporta MCPCore. Un error que la tool atrapa y convierte en texto se marca con error().
+// Además se escribe periódicamente una línea JSON con todas las métricas en o3.metrics.file para analizar la carga
+// sin red y sin depender del log, que con stdio está apagado.
+@Component
+public class ToolMetrics {
+    private static final Logger log = LoggerFactory.getLogger(ToolMetrics.class);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${o3.metrics.file:./logs/MCP_O3_Metrics.jsonl}")
+    private String metricsFile;
+
+    // 0 desactiva el archivo
+    @Value("${o3.metrics.fileIntervalMs:60000}")
+    private long fileIntervalMs;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ScheduledExecutorService writer;
+
+    // Tipo de error de la tool call que corre en este hilo (null si no hubo)
+    private static final ThreadLocal<String> CALL_ERROR = new ThreadLocal<>();
+
+    @PostConstruct
+    void init() {
+        if (fileIntervalMs > 0 && !metricsFile.isBlank()) {
+            writer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "o3-metrics-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            writer.scheduleWithFixedDelay(this::writeSnapshot, fileIntervalMs, fileIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writer != null) {
+            writer.shutdownNow();
+            writeSnapshot();
+        }
+    }
+
+    // Envuelve cada tool para medir duración, tamaño de la respuesta y errores
+    public ToolCallbackProvider instrument(ToolCallbackProvider provider) {
+        return ToolCallbackProvider.from(Arrays.stream(provider.getToolCallbacks())
+                .map(callback -> (ToolCallback) new InstrumentedToolCallback(callback))
+                .toList());
+    }
+
+    private final class InstrumentedToolCallback implements ToolCallback {
+        private final ToolCallback delegate;
+
+        InstrumentedToolCallback(ToolCallback delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ToolDefinition getToolDefinition() {
+            return delegate.getToolDefinition();
+        }
+
+        @Override
+        public ToolMetadata getToolMetadata() {
+            return delegate.getToolMetadata();
+        }
+
+        @Override
+        public String call(String toolInput) {
+            return measure(() -> delegate.call(toolInput));
+        }
+
+        @Override
+        public String call(String toolInput, ToolContext toolContext) {
+            return measure(() -> delegate.call(toolInput, toolContext));
+        }
+
+        private String measure(Supplier<String> call) {
+            String tool = delegate.getToolDefinition().name();
+            CALL_ERROR.remove();
+            long start = System.nanoTime();
+            String error = null;
+            try {
+                String result = call.get();
+                error = CALL_ERROR.get();
+                if (result != null) {
+                    outputBytes(tool).record(utf8Length(result));
+                }
+                return result;
+            } catch (RuntimeException e) {
+                error = classify(e);
+                throw e;
+            } finally {
+                Timer.builder("mcp.tool.duration")
+                        .tag("tool", tool)
+                        .tag("outcome", error == null ? "success" : "error")
+                        .tag("error", error == null ? "none" : error)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(registry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (error != null) {
+                    registry.counter("mcp.tool.errors", "tool", tool, "error", error).increment();
+                }
+                CALL_ERROR.remove();
+            }
+        }
+    }
+
+    // Marca la tool call actual como fallida (la tool atrapó la excepción y respondió con un mensaje de error)
+    public void error(Throwable e) {
+        CALL_ERROR.set(classify(e));
+    }
+
+    // Registra el tiempo de una fase desde startNanos (System.nanoTime())
+    public void phase(String tool, String phase, long startNanos) {
+        registry.timer("mcp.tool.phase", "tool", tool, "phase", phase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void rows(String tool, long rows) {
+        DistributionSummary.builder("mcp.tool.rows").tag("tool", tool).register(registry).record(rows);
+    }
+
+    private DistributionSummary outputBytes(String tool) {
+        return DistributionSummary.builder("mcp.tool.output.bytes").baseUnit("bytes").tag("tool", tool).register(registry);
+    }
+
+    // Categoría del error, para separar problemas de O3, del pool, de la consulta y del cliente.
+    // Se decide por el tipo de excepción (y el SQLState 08xxx de conexión); solo los errores de conexión del driver
+    // O3, que no trae tipos propios, se reconocen además por su texto
+    static String classify(Throwable e) {
+        if (e instanceof SQLTimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof QueryCancelledException) {
+            return "cancelled";
+        }
+        if (e instanceof PoolExhaustedException) {
+            return "pool";
+        }
+        String message = e.getMessage() == null ? "" : e.getMessage();
+        if (e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+                || e instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")
+                || message.contains("driver session") || message.contains("Connection refused")) {
+            return "connection";
+        }
+        if (e instanceof SQLException) {
+            return "query";
+        }
+        if (e instanceof MdxParseException || e instanceof IllegalArgumentException) {
+            return "invalid_request";
+        }
+        if (e instanceof IOException) {
+            return "io";
+        }
+        return "internal";
+    }
+
+    // Bytes que ocupa el texto en UTF-8, sin copiarlo
+    static long utf8Length(String s) {
+        long bytes = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    // Línea JSON con el estado acumulado de todas las métricas mcp.*
+    void writeSnapshot() {
+        List<Map<String, Object>> meters = new ArrayList<>();
+        for (Meter meter : registry.getMeters()) {
+            // Los percentiles ya van dentro de su timer
+            String name = meter.getId().getName();
+            if (!name.startsWith("mcp.") || name.endsWith(".percentile")) {
+                continue;
+            }
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("name", name);
+            Map<String, String> tags = new TreeMap<>();
+            for (Tag tag : meter.getId().getTags()) {
+                tags.put(tag.getKey(), tag.getValue());
+            }
+            m.put("tags", tags);
+            if (meter instanceof Timer timer) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                m.put("count", snapshot.count());
+                m.put("totalMs", snapshot.total(TimeUnit.MILLISECONDS));
+                m.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+                for (ValueAtPercentile p : snapshot.percentileValues()) {
+                    m.put("p" + Math.round(p.percentile() * 100) + "Ms", p.value(TimeUnit.MILLISECONDS));
+                }
+            } else if (meter instanceof DistributionSummary summary) {
+                m.put("count", summary.count());
+                m.put("total", summary.totalAmount());
+                m.put("max", summary.max());
+            } else {
+                meter.measure().forEach(ms -> m.put(ms.getStatistic().name().toLowerCase(), ms.getValue()));
+            }
+            meters.add(m);
+        }
+        if (meters.isEmpty()) {
+            return;
+        }
+        try {
+            Path file = Paths.get(metricsFile);
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("timestamp", Instant.now().toString());
+            line.put("meters", meters);
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(mapper.writeValueAsString(line));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            log.warn("No se pudieron escribir las métricas en {}: {}", metricsFile, e.getMessage());
+        }
+    }
+
+    // Resumen por tool para getServerMetrics
+    public String stats() {
+        StringJoiner sj = new StringJoiner("\n");
+        sj.add("--- TOOL METRICS ---");
+        Map<String, List<Timer>> byTool = new TreeMap<>();
+        for (Timer timer : registry.find("mcp.tool.duration").timers()) {
+            byTool.computeIfAbsent(timer.getId().getTag("tool"), t -> new ArrayList<>()).add(timer);
+        }
+        if (byTool.isEmpty()) {
+            sj.add("No tool calls yet");
+        }
+        byTool.forEach((tool, timers) -> {
+            long calls = timers.stream().mapToLong(Timer::count).sum();
+            long errors = timers.stream().filter(t -> "error".equals(t.getId().getTag("outcome"))).mapToLong(Timer::count).sum();
+            double totalMs = timers.stream().mapToDouble(t -> t.totalTime(TimeUnit.MILLISECONDS)).sum();
+            double maxMs = timers.stream().mapToDouble(t -> t.max(TimeUnit.MILLISECONDS)).max().orElse(0);
+            StringBuilder line = new StringBuilder(String.format("%s: %d calls, %d errors, avg %.1f ms, max %.1f ms", tool, calls, errors,
+                    calls == 0 ? 0.0 : totalMs / calls, maxMs));
+            registry.find("mcp.tool.phase").tag("tool", tool).timers().stream()
+                    .sorted(Comparator.comparing(t -> t.getId().getTag("phase")))
+                    .forEach(t -> line.append(String.format(" | %s avg %.1f ms", t.getId().getTag("phase"), t.mean(TimeUnit.MILLISECONDS))));
+            DistributionSummary rows = registry.find("mcp.tool.rows").tag("tool", tool).summary();
+            if (rows != null) {
+                line.append(String.format(" | rows avg %.0f", rows.mean()));
+            }
+            DistributionSummary bytes = registry.find("mcp.tool.output.bytes").tag("tool", tool).summary();
+            if (bytes != null) {
+                line.append(String.format(" | output avg %.0f B, max %.0f B", bytes.mean(), bytes.max()));
+            }
+            sj.add(line.toString());
+        });
+        Map<String, Double> errorsByType = new TreeMap<>();
+        registry.find("mcp.tool.errors").counters()
+                .forEach(c -> errorsByType.merge(c.getId().getTag("error"), c.count(), Double::sum));
+        if (!errorsByType.isEmpty()) {
+            StringJoiner errors = new StringJoiner(", ", "Errors by type: ", "");
+            errorsByType.forEach((type, count) -> errors.add(type + "=" + count.longValue()));
+            sj.add(errors.toString());
+        }
+        if (writer != null) {
+            sj.add("Snapshot file: " + metricsFile + " (every " + fileIntervalMs / 1000 + " s)");
+        }
+        return sj.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package o3.utec.mcp_o3.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import o3.utec.mcp_o3.jdbc.O3ConnectionPool;
+
+class MdxResultCacheTest {
+
+    private static final String QUERY = "SELECT {Measures.[Units Sold]} ON COLUMNS, {Location.children} ON ROWS FROM [Demo]";
+
+    // Pool agotado: borrow espera hasta que se libera el latch y falla como un timeout del pool
+    private static O3ConnectionPool exhaustedPool(CountDownLatch release) {
+        return new O3ConnectionPool() {
+            @Override
+            public Lease borrow() throws SQLException {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new SQLException("Timeout esperando una conexión O3 libre del pool");
+            }
+        };
+    }
+
+    // freshnessCheckMs = 0: cada acceso encuentra la versión vencida
+    private static MdxResultCache cache(O3ConnectionPool pool) {
+        MdxResultCache cache = new MdxResultCache();
+        ReflectionTestUtils.setField(cache, "connectionPool", pool);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 16);
+        ReflectionTestUtils.setField(cache, "maxEntryChars", 1_000_000);
+        ReflectionTestUtils.setField(cache, "freshnessCheckMs", 0L);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        cache.init();
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, MdxResultCache.CubeVersion> versions(MdxResultCache cache) {
+        return (Map<String, MdxResultCache.CubeVersion>) ReflectionTestUtils.getField(cache, "cubeVersions");
+    }
+
+    @Test
+    void hitDoesNotWaitForTheVersionCheckAndAFailedCheckKeepsTheEntries() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        MdxResultCache cache = cache(exhaustedPool(release));
+        try {
+            versions(cache).put("DEMO", new MdxResultCache.CubeVersion("2024-01-01", 0));
+            cache.put(QUERY, "TEXT", "result");
+
+            // La consulta de la versión quedó esperando el pool y el hit responde igual
+            assertEquals("result", cache.get(QUERY, "TEXT"));
+
+            release.countDown();
+            Set<?> refreshing = (Set<?>) ReflectionTestUtils.getField(cache, "refreshing");
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!refreshing.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals("2024-01-01", versions(cache).get("DEMO").version());
+            assertEquals("result", cache.get(QUERY, "TEXT"));
+            assertTrue(cache.stats().contains("Failed version checks: "), cache.stats());
+            assertEquals(0, cache.getMisses());
+        } finally {
+            release.countDown();
+            cache.shutdown();
+        }
+    }
+}
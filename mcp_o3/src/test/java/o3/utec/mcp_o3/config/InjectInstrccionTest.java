@@ -0,0 +1,94 @@
+package o3.utec.mcp_o3.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class InjectInstrccionTest {
+
+    private static InjectInstrccion injector(int maxSessions, long idleTimeoutMs) {
+        InjectInstrccion injector = new InjectInstrccion();
+        ReflectionTestUtils.setField(injector, "sessionRegistry", new McpSessionRegistry());
+        ReflectionTestUtils.setField(injector, "maxSessions", maxSessions);
+        ReflectionTestUtils.setField(injector, "idleTimeoutMs", idleTimeoutMs);
+        injector.init();
+        return injector;
+    }
+
+    // Miles de sesiones simuladas, cada una con varias tool calls concurrentes: las instrucciones salen una sola vez por sesión
+    @Test
+    void injectsExactlyOncePerSessionUnderContention() throws Exception {
+        int sessions = 5000;
+        int callsPerSession = 8;
+        InjectInstrccion injector = injector(sessions, 60_000);
+        ConcurrentHashMap<String, AtomicInteger> injections = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> calls = new ArrayList<>();
+        for (int c = 0; c < callsPerSession; c++) {
+            for (int s = 0; s < sessions; s++) {
+                String session = "session-" + s;
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    if (!injector.checkAndInjectInstructions(session).isEmpty()) {
+                        injections.computeIfAbsent(session, k -> new AtomicInteger()).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> call : calls) {
+            call.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(sessions, injections.size());
+        assertTrue(injections.values().stream().allMatch(n -> n.get() == 1));
+    }
+
+    @Test
+    void sessionsDoNotShareState() {
+        InjectInstrccion injector = injector(100, 60_000);
+        assertFalse(injector.checkAndInjectInstructions("a").isEmpty());
+        assertEquals("", injector.checkAndInjectInstructions("a"));
+        assertFalse(injector.checkAndInjectInstructions("b").isEmpty());
+    }
+
+    @Test
+    void storeStaysBoundedAndExpires() throws InterruptedException {
+        SessionStateStore<AtomicInteger> store = new SessionStateStore<>(AtomicInteger::new, 100, 50);
+        for (int s = 0; s < 1000; s++) {
+            store.get("session-" + s);
+        }
+        assertTrue(store.size() <= 100, "size " + store.size());
+
+        store.get("idle").incrementAndGet();
+        Thread.sleep(80);
+        assertEquals(0, store.get("idle").get());
+    }
+
+    // La sesión stdio dura lo que el proceso: tras un rato sin tool calls no se vuelven a inyectar las instrucciones
+    @Test
+    void stdioSessionDoesNotExpire() throws InterruptedException {
+        InjectInstrccion injector = injector(1, 50);
+        assertFalse(injector.checkAndInjectInstructions(SessionStateStore.STDIO_SESSION).isEmpty());
+        injector.checkAndInjectInstructions("other");
+        Thread.sleep(80);
+        assertEquals("", injector.checkAndInjectInstructions(SessionStateStore.STDIO_SESSION));
+        assertFalse(injector.checkAndInjectInstructions("other").isEmpty());
+    }
+}
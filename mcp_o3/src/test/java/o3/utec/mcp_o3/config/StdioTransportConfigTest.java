@@ -0,0 +1,114 @@
+package o3.utec.mcp_o3.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import o3.utec.mcp_o3.service.QueryWatchdog;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class StdioTransportConfigTest {
+
+    private static final McpSchema.JSONRPCMessage RESPONSE = new McpSchema.JSONRPCResponse("2.0", 1, "ok", null);
+
+    // Transporte que rechaza los primeros envíos como el sink del SDK cuando otro hilo está emitiendo
+    private static McpServerTransport failing(int failures, String error, AtomicInteger attempts) {
+        return new McpServerTransport() {
+            @Override
+            public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+                return Mono.defer(() -> attempts.incrementAndGet() <= failures
+                        ? Mono.error(new RuntimeException(error))
+                        : Mono.empty());
+            }
+
+            @Override
+            public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+                return null;
+            }
+
+            @Override
+            public Mono<Void> closeGracefully() {
+                return Mono.empty();
+            }
+        };
+    }
+
+    @Test
+    void retriesUntilTheSinkAcceptsTheMessage() {
+        AtomicInteger attempts = new AtomicInteger();
+        McpServerTransport transport = new StdioTransportConfig.RetryingTransport(
+                failing(3, StdioTransportConfig.ENQUEUE_FAILED, attempts));
+        transport.sendMessage(RESPONSE).block(Duration.ofSeconds(5));
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    void otherErrorsAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        McpServerTransport transport = new StdioTransportConfig.RetryingTransport(failing(3, "closed", attempts));
+        assertThrows(RuntimeException.class, () -> transport.sendMessage(RESPONSE).block(Duration.ofSeconds(5)));
+        assertEquals(1, attempts.get());
+    }
+
+    // Sesión que anota el contexto con el que corre cada mensaje, desde boundedElastic como las tools sync del SDK
+    private static McpServerSession recording(List<String> handled) {
+        return new McpServerSession("s1", Duration.ofSeconds(5), null, null, null, Map.of(), Map.of()) {
+            @Override
+            public Mono<Void> handle(McpSchema.JSONRPCMessage message) {
+                return Mono.fromRunnable(() -> {
+                    McpCallContext context = McpCallContext.current();
+                    handled.add(context == null ? "none" : context.key());
+                }).subscribeOn(Schedulers.boundedElastic()).then();
+            }
+        };
+    }
+
+    @Test
+    void toolCallsRunWithTheStdioCallContext() {
+        List<String> handled = new ArrayList<>();
+        McpCallContext.installReactorHook();
+        try {
+            McpServerSession session = new StdioTransportConfig.CancellableSession(recording(handled), new QueryWatchdog());
+            session.handle(new McpSchema.JSONRPCRequest("2.0", "tools/call", 7, Map.of())).block(Duration.ofSeconds(5));
+            session.handle(new McpSchema.JSONRPCRequest("2.0", "tools/list", 8, Map.of())).block(Duration.ofSeconds(5));
+        } finally {
+            McpCallContext.removeReactorHook();
+        }
+        assertEquals(List.of(SessionStateStore.STDIO_SESSION + ":7", "none"), handled);
+        assertNull(McpCallContext.current());
+    }
+
+    @Test
+    void cancelledNotificationAbortsTheToolCall() {
+        List<String> handled = new ArrayList<>();
+        AtomicReference<String> cancelled = new AtomicReference<>();
+        QueryWatchdog watchdog = new QueryWatchdog() {
+            @Override
+            public int cancel(String callKey, String reason) {
+                cancelled.set(callKey + " " + reason);
+                return 1;
+            }
+        };
+        McpServerSession session = new StdioTransportConfig.CancellableSession(recording(handled), watchdog);
+        session.handle(new McpSchema.JSONRPCNotification("2.0", StdioTransportConfig.CancellableSession.CANCELLED,
+                Map.of("requestId", 7, "reason", "user"))).block(Duration.ofSeconds(5));
+        assertEquals(SessionStateStore.STDIO_SESSION + ":7 user", cancelled.get());
+        // La notificación no llega al SDK, que la rechazaría por no tener handler
+        assertEquals(List.of(), handled);
+    }
+}
@@ -0,0 +1,44 @@
+package o3.utec.mcp_o3.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnPlanTest {
+
+    // Una columna Ratio de tipo REAL con valor 0.1f
+    private static ResultSet realColumn() {
+        ResultSetMetaData metadata = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> 1;
+                    case "getColumnType" -> Types.REAL;
+                    case "getColumnLabel", "getColumnName" -> "Ratio";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> metadata;
+                    case "getFloat" -> 0.1f;
+                    case "getDouble" -> (double) 0.1f;
+                    case "wasNull" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Test
+    void realKeepsFloatDigits() throws Exception {
+        ResultSet rs = realColumn();
+        ColumnPlan plan = ColumnPlan.compile(rs.getMetaData());
+        StringBuilder sb = new StringBuilder();
+        plan.appendText(rs, 1, sb);
+        assertEquals("0.1", sb.toString());
+        assertEquals("0.1", ColumnPlan.text(plan.value(rs, 1)));
+        assertTrue(plan.isNumeric(1));
+    }
+}
@@ -0,0 +1,68 @@
+package o3.utec.mcp_o3.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+
+import org.junit.jupiter.api.Test;
+
+class CompactFormatterTest {
+
+    // Una columna con los valores indicados (null = celda vacía)
+    private static ResultSet resultSet(String header, String... locations) {
+        ResultSetMetaData metadata = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> 1;
+                    case "getColumnType" -> Types.VARCHAR;
+                    case "getColumnLabel", "getColumnName" -> header;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        int[] row = { 0 };
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> metadata;
+                    case "next" -> ++row[0] <= locations.length;
+                    case "getString" -> locations[row[0] - 1];
+                    case "wasNull" -> locations[row[0] - 1] == null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static String format(String... locations) throws Exception {
+        return formatWithHeader("Location", locations);
+    }
+
+    private static String formatWithHeader(String header, String... locations) throws Exception {
+        ResultSet rs = resultSet(header, locations);
+        String all = ResultFormatter.create(OutputFormat.COMPACT, rs.getMetaData(), 4, false).formatAll(rs);
+        return all.substring(all.indexOf('\n') + 1);
+    }
+
+    @Test
+    void repeatedLabelsUseReferences() throws Exception {
+        assertEquals("Location\n~0=Spain\n^\nUS\n~0", format("Spain", "Spain", "US", "Spain"));
+    }
+
+    @Test
+    void emptyCellBreaksTheRepetition() throws Exception {
+        assertEquals("Location\n~0=Spain\n\n~0", format("Spain", null, "Spain"));
+    }
+
+    // Etiquetas que parecen separadores, repeticiones o referencias se escapan con barra invertida
+    @Test
+    void specialCharactersInLabelsAreEscaped() throws Exception {
+        assertEquals("Sales\\|Q1\nA\\|B\n\\^\n\\~3\n~0=\\~3=x\n\\^\n~1=C:\\\\d\n",
+                formatWithHeader("Sales|Q1", "A|B", "^", "~3", "~3=x", "^", "C:\\d", null));
+    }
+
+    @Test
+    void legendDescribesTheEscapes() throws Exception {
+        ResultSet rs = resultSet("Location");
+        String all = ResultFormatter.create(OutputFormat.COMPACT, rs.getMetaData(), 4, false).formatAll(rs);
+        assertTrue(all.startsWith("#compact: ") && all.contains("\\| \\\\ \\n \\r and a leading \\^ or \\~"), all);
+    }
+}
@@ -0,0 +1,56 @@
+package o3.utec.mcp_o3.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ResultSnapshotTest {
+
+    private static ResultSnapshot snapshot(String... rows) {
+        Map<String, String[]> map = new LinkedHashMap<>();
+        for (String row : rows) {
+            String[] parts = row.split("=");
+            map.put(parts[0], parts[1].split(","));
+        }
+        return ResultSnapshot.of(List.of("Location"), List.of("Units Sold", "Revenue"), map);
+    }
+
+    @Test
+    void checksumDependsOnlyOnContent() {
+        ResultSnapshot a = snapshot("Spain=10.0,100.0", "France=20.0,200.0");
+        assertEquals(a.checksum(), snapshot("Spain=10.0,100.0", "France=20.0,200.0").checksum());
+        assertNotEquals(a.checksum(), snapshot("Spain=10.0,100.0", "France=21.0,200.0").checksum());
+        assertEquals(8, a.checksumHex().length());
+    }
+
+    @Test
+    void deltaListsChangedAddedAndRemovedCells() {
+        ResultSnapshot base = snapshot("Spain=10.0,100.0", "France=20.0,200.0", "Brazil=5.0,50.0");
+        ResultSnapshot current = snapshot("Spain=10.0,100.0", "France=20.0,210.0", "US=1.0,2.0");
+        assertEquals("--- DELTA base=" + base.checksumHex() + " new=" + current.checksumHex()
+                + ": 1 changed cells, 1 added rows, 1 removed rows (3 rows) ---\n"
+                + "Columns: Location || Units Sold | Revenue\n"
+                + "CHANGED France | Revenue: 200.0 -> 210.0\n"
+                + "ADDED US | 1.0 | 2.0\n"
+                + "REMOVED Brazil", current.renderDelta(base));
+    }
+
+    @Test
+    void unchangedResultHasNoCells() {
+        ResultSnapshot base = snapshot("Spain=10.0,100.0");
+        assertTrue(snapshot("Spain=10.0,100.0").renderDelta(base).endsWith("(1 rows) ---\nNo changes."));
+    }
+
+    @Test
+    void differentColumnsAreNotComparable() {
+        ResultSnapshot other = ResultSnapshot.of(List.of("Location"), List.of("Cost"), new LinkedHashMap<>());
+        assertFalse(other.comparableTo(snapshot("Spain=10.0,100.0")));
+    }
+}
@@ -0,0 +1,96 @@
+package o3.utec.mcp_o3.format;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+
+import org.junit.jupiter.api.Test;
+
+class ResultSummarizerTest {
+
+    // ResultSet en memoria: rows[r][c - 1] es el valor de la columna c (null = celda vacía)
+    private static ResultSet resultSet(String[] labels, int[] types, Object[][] rows) {
+        ResultSetMetaData metadata = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> labels.length;
+                    case "getColumnType" -> types[(Integer) args[0] - 1];
+                    case "getColumnLabel", "getColumnName" -> labels[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // row[1] es la última columna leída, para wasNull
+        int[] row = { 0, 0 };
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getMetaData")) {
+                        return metadata;
+                    }
+                    if (method.getName().equals("next")) {
+                        return ++row[0] <= rows.length;
+                    }
+                    if (method.getName().equals("wasNull")) {
+                        return rows[row[0] - 1][row[1] - 1] == null;
+                    }
+                    row[1] = (Integer) args[0];
+                    Object v = rows[row[0] - 1][row[1] - 1];
+                    return switch (method.getName()) {
+                        case "getString", "getObject" -> v;
+                        case "getDouble" -> v == null ? 0.0 : ((Number) v).doubleValue();
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+
+    // L1..L10 con Units Sold = 10 * i, salvo L3 vacía: suma 520
+    private static ResultSet unitsByLocation() {
+        Object[][] rows = new Object[10][];
+        for (int i = 1; i <= 10; i++) {
+            rows[i - 1] = new Object[] { "L" + i, i == 3 ? null : 10.0 * i };
+        }
+        return resultSet(new String[] { "Location", "Units Sold" }, new int[] { Types.VARCHAR, Types.DOUBLE }, rows);
+    }
+
+    @Test
+    void rankingsKeepOnlyTopAndBottomN() throws Exception {
+        String summary = ResultSummarizer.summarize(unitsByLocation(), 3, 6);
+        assertTrue(summary.startsWith("=== SUMMARY: 10 rows, 1 numeric columns ==="), summary);
+        assertTrue(summary.contains("Count: 9 (1 empty) / Sum: 520 / Avg: 57.7778"), summary);
+        assertTrue(summary.contains("Min: 10 (L1) / Max: 100 (L10)"), summary);
+        assertTrue(summary.contains("Top 3:\n1. L10 = 100 (19.2%)\n2. L9 = 90 (17.3%)\n3. L8 = 80 (15.4%)\n"), summary);
+        assertTrue(summary.contains("Bottom 3:\n1. L1 = 10 (1.9%)\n2. L2 = 20 (3.8%)\n3. L4 = 40 (7.7%)\n"), summary);
+    }
+
+    @Test
+    void bottomIsOmittedWhenTopAlreadyHasEveryValue() throws Exception {
+        String summary = ResultSummarizer.summarize(unitsByLocation(), 20, 6);
+        assertTrue(summary.contains("Top 9:"), summary);
+        assertFalse(summary.contains("Bottom"), summary);
+    }
+
+    // Units Sold vacía en la primera fila sigue siendo medida por su tipo; Extra (sin tipo numérico) lo es porque
+    // su primer valor es un número y Code no, así que forma parte de la etiqueta de la fila
+    @Test
+    void measureColumnsAreChosenFromTheFirstRow() throws Exception {
+        ResultSet rs = resultSet(new String[] { "Location", "Units Sold", "Extra", "Code" },
+                new int[] { Types.VARCHAR, Types.DOUBLE, Types.OTHER, Types.OTHER },
+                new Object[][] {
+                        { "Spain", null, 5.0, "A" },
+                        { "France", 20.0, 15.0, "B" } });
+        String summary = ResultSummarizer.summarize(rs, 5, 6);
+        assertTrue(summary.startsWith("=== SUMMARY: 2 rows, 2 numeric columns ==="), summary);
+        assertTrue(summary.contains("--- Units Sold ---\nCount: 1 (1 empty) / Sum: 20"), summary);
+        assertTrue(summary.contains("--- Extra ---\nCount: 2 / Sum: 20 / Avg: 10"), summary);
+        assertTrue(summary.contains("1. France / B = 15 (75.0%)"), summary);
+        assertFalse(summary.contains("--- Code ---"), summary);
+    }
+
+    @Test
+    void columnWithoutValuesOnlyCountsEmptyCells() throws Exception {
+        ResultSet rs = resultSet(new String[] { "Location", "Units Sold" }, new int[] { Types.VARCHAR, Types.DOUBLE },
+                new Object[][] { { "Spain", null }, { "France", null } });
+        assertTrue(ResultSummarizer.summarize(rs, 5, 6).contains("--- Units Sold ---\nNo values (2 empty)"));
+    }
+}
@@ -0,0 +1,54 @@
+package o3.utec.mcp_o3.mdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FuzzyNameIndexTest {
+
+    private final FuzzyNameIndex index = new FuzzyNameIndex(List.of(
+            "France", "Frankfurt", "Spain", "Brazil", "US", "Units Sold", "Unit Price", "Mountain Bikes", "Road Bikes"));
+
+    @Test
+    void findsTyposAndCaseMismatches() {
+        assertEquals("France", index.search("Fance", 2, 3).get(0).name());
+        assertEquals("Units Sold", index.search("units sold", 0, 3).get(0).name());
+        assertEquals("Mountain Bikes", index.search("Moutain Bike", 2, 3).get(0).name());
+        assertTrue(index.containsIgnoreCase("BRAZIL"));
+        assertFalse(index.containsIgnoreCase("Brasil"));
+    }
+
+    @Test
+    void closestMatchesComeFirst() {
+        List<FuzzyNameIndex.Match> matches = index.search("Unit Sold", 3, 5);
+        assertEquals("Units Sold", matches.get(0).name());
+        assertEquals(1, matches.get(0).distance());
+    }
+
+    // El BK-tree debe encontrar lo mismo que una búsqueda lineal
+    @Test
+    void agreesWithLinearScan() {
+        Random random = new Random(7);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 3 + random.nextInt(8);
+            for (int j = 0; j < len; j++) {
+                sb.append((char) ('a' + random.nextInt(6)));
+            }
+            names.add(sb.toString());
+        }
+        FuzzyNameIndex big = new FuzzyNameIndex(names);
+        for (int q = 0; q < 50; q++) {
+            String query = names.get(random.nextInt(names.size())) + "b";
+            long expected = names.stream().distinct().filter(n -> FuzzyNameIndex.distance(query, n) <= 2).count();
+            assertEquals(expected, big.search(query, 2, Integer.MAX_VALUE).size());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package o3.utec.mcp_o3.mdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// Corpus tomado de los ejemplos de las descripciones de las tools de MCPCore y de la suite smoke
+class MdxCanonicalizerTest {
+
+    static List<String> corpus() {
+        return List.of(
+            "SELECT {Measures.[MeasureName]} ON COLUMNS FROM [CubeName]",
+            "SELECT {Measures.[MeasureName]} ON COLUMNS, {[Dimension].children} ON ROWS FROM [CubeName]",
+            "SELECT {Measures.[MeasureName1], Measures.[MeasureName2]} ON COLUMNS FROM [CubeName]",
+            "SELECT {Measures.[MeasureName]} ON COLUMNS FROM [CubeName] WHERE Measures.[MeasureFilter]",
+            "SELECT NON EMPTY {[Dimension].children} ON ROWS FROM [CubeName]",
+            "SELECT CROSSJOIN({[Dimension1].children}, {[Dimension2].[SpecificMember]}) ON COLUMNS FROM [CubeName]",
+            "SELECT {CubeInfo.LastModifiedDate} ON COLUMNS FROM [CubeName]",
+            "SELECT {Measures.[Units Sold]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM [CubeName]",
+            "SELECT {Measures.[Cost], Measures.[Units Sold]} ON COLUMNS, {Customers.[Major Accounts]} ON ROWS FROM [CubeName]",
+            "SELECT {Measures.[Revenue]} ON COLUMNS, NON EMPTY {Products.children} ON ROWS FROM [CubeName]",
+            "SELECT {Customers.[Major Accounts], Customers.[Minor Accounts]} ON COLUMNS, {Location.[France]} ON ROWS  FROM  [CubeName] WHERE  (Measures.[Units Sold])",
+            "SELECT {Measures.[Units Sold], Measures.[Commissions]} ON COLUMNS, {Salesmen.Seller.members} ON ROWS FROM [CubeName]",
+            "SELECT {Date.Date.[2002], Date.Date.[2003]} ON COLUMNS, {Location.[US]} ON ROWS FROM [CubeName] WHERE  (Products.[Mountain Bikes].[Professional], Measures.[Revenue])",
+            "SELECT {Date.children} ON COLUMNS FROM [CubeName]",
+            "SELECT {Customers.[Major Accounts].children} ON COLUMNS, {Location.[France].children} ON ROWS FROM   [CubeName] WHERE  (Measures.[Units Sold])",
+            "SELECT {Measures.children} ON COLUMNS, {Salesmen.Seller.members} ON ROWS FROM [CubeName]",
+            """
+            SELECT {Date.[2001], Date.[2002]} ON COLUMNS, {
+            (Location.[Brazil], Products.[Mountain Bikes].[Professional]),
+            (Location.[Brazil], Products.[Mountain Bikes].[Recreational]),
+            (Location.[Spain], Products.[Mountain Bikes].[Professional]),
+            (Location.[Spain], Products.[Mountain Bikes].[Recreational])
+            } ON ROWS FROM  [CubeName] WHERE (Measures.[Units Sold])""",
+            "SELECT {Date.[2001], Date.[2002]} ON COLUMNS, CrossJoin({Location.children}, {Products.[Mountain Bikes].children}) ON ROWS FROM  [CubeName] WHERE (Measures.[Units Sold])",
+            "SELECT except(Date.Year.Members, {Date.[2002]}) on COLUMNS, {Products.Line.Members} on ROWS FROM   [CubeName] WHERE  (Measures.[Cost])",
+            "SELECT {Location.[France].children} ON COLUMNS, {} ON ROWS FROM [CubeName]",
+            "SELECT {Measures.[Units Sold]} ON COLUMNS, Descendants(Location, Location.City) ON ROWS FROM [CubeName]",
+            "SELECT Except(Date.Year.Members, {Date.[2002]}) ON COLUMNS, {Products.Line.Members} ON ROWS FROM [CubeName] WHERE (Measures.[Cost])",
+            "SELECT {Cubes} ON COLUMNS FROM SYSCATALOG",
+            "SELECT {Dimensions} ON COLUMNS FROM [CubeName]",
+            "SELECT {Measures.Members} ON COLUMNS FROM [CubeName]",
+            "SELECT {Measures.[Units Sold], Measures.[Cost]} ON COLUMNS, {Customers.Customers.[Major Accounts]} ON ROWS FROM Demo WHERE Measures.Discount",
+            "SELECT NON ZERO {Location.children} ON ROWS, CROSSJOIN ({Salesmen.children}, {Customers.[Major Accounts]}) ON COLUMNS FROM Demo WHERE Measures.[Units Sold]",
+            "SELECT CrossJoin({[Date].[Date].children}, {[<measures>].[<measures>].[% Profit], [<measures>].[<measures>].[Revenue]}) ON COLUMNS, {{[Products].[Products].children}} ON ROWS FROM [Demo] WHERE ([Customers].[Customers],[Salesmen].[Salesmen],[Location].[Location])"
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("corpus")
+    void canonicalFormIsStable(String query) {
+        MdxCanonicalizer.CanonicalQuery first = MdxCanonicalizer.canonicalize(query);
+        MdxCanonicalizer.CanonicalQuery second = MdxCanonicalizer.canonicalize(first.canonical());
+        assertEquals(first.canonical(), second.canonical());
+        assertEquals(first.fingerprint(), second.fingerprint());
+    }
+
+    @Test
+    void corpusQueriesHaveDistinctFingerprints() {
+        Set<String> fingerprints = new HashSet<>();
+        for (String query : corpus()) {
+            fingerprints.add(MdxCanonicalizer.canonicalize(query).exactFingerprint());
+        }
+        // Los ejemplos 11 y 14 de la descripción de la tool son la misma consulta
+        assertEquals(corpus().size() - 1, fingerprints.size());
+    }
+
+    @Test
+    void whitespaceKeywordCaseAndQuotingAreIgnored() {
+        MdxCanonicalizer.CanonicalQuery a = MdxCanonicalizer.canonicalize(
+                "SELECT {Measures.[Units Sold]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM Demo");
+        MdxCanonicalizer.CanonicalQuery b = MdxCanonicalizer.canonicalize(
+                "select  { [Measures].[Units Sold] }  on columns ,\n non empty {[Location].[Location].Children} on rows from [Demo]");
+        assertEquals(a.canonical(), b.canonical());
+        assertEquals(a.exactFingerprint(), b.exactFingerprint());
+        assertEquals("SELECT {[Measures].[Units Sold]} ON COLUMNS, NON EMPTY {[Location].CHILDREN} ON ROWS FROM [Demo]", a.canonical());
+    }
+
+    @Test
+    void axisOrderAndSlicerFormAreIgnored() {
+        MdxCanonicalizer.CanonicalQuery a = MdxCanonicalizer.canonicalize(
+                "SELECT {Location.children} ON ROWS, {Date.[2001]} ON COLUMNS FROM Demo WHERE (Products.[Mountain Bikes], Measures.[Revenue])");
+        MdxCanonicalizer.CanonicalQuery b = MdxCanonicalizer.canonicalize(
+                "SELECT {Date.[2001]} ON 0, {Location.children} ON 1 FROM Demo WHERE ([<measures>].[<measures>].[Revenue], Products.[Mountain Bikes])");
+        assertEquals(a.canonical(), b.canonical());
+        assertEquals("Demo", a.cube());
+        assertEquals(2, a.axes().size());
+    }
+
+    @Test
+    void setOrderOnlyAffectsExactFingerprint() {
+        MdxCanonicalizer.CanonicalQuery a = MdxCanonicalizer.canonicalize(
+                "SELECT {Measures.[Cost], Measures.[Units Sold]} ON COLUMNS FROM Demo");
+        MdxCanonicalizer.CanonicalQuery b = MdxCanonicalizer.canonicalize(
+                "SELECT {Measures.[Units Sold], Measures.[Cost]} ON COLUMNS FROM Demo");
+        assertEquals(a.fingerprint(), b.fingerprint());
+        assertNotEquals(a.exactFingerprint(), b.exactFingerprint());
+    }
+
+    @Test
+    void unbalancedQueriesReportPosition() {
+        MdxParseException e = assertThrows(MdxParseException.class,
+                () -> MdxCanonicalizer.canonicalize("SELECT {Measures.[Units Sold] ON COLUMNS FROM Demo"));
+        assertEquals(30, e.getPosition());
+        assertThrows(MdxParseException.class, () -> MdxCanonicalizer.canonicalize("SELECT {[Location.children} ON ROWS FROM Demo"));
+    }
+}
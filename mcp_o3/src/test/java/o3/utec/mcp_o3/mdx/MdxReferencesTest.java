@@ -0,0 +1,48 @@
+package o3.utec.mcp_o3.mdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MdxReferencesTest {
+
+    private static List<String> texts(String mdx) {
+        return MdxReferences.extract(mdx).stream().map(r -> (r.cube() ? "cube:" : "") + r.text()).toList();
+    }
+
+    @Test
+    void extractsCubeMeasuresAndMemberPaths() {
+        assertEquals(List.of("Measures.Units Sold", "Location", "cube:Demo"),
+                texts("SELECT {Measures.[Units Sold]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM [Demo]"));
+        assertEquals(List.of("Date.Date.2002", "Location.US", "cube:CubeName", "Products.Mountain Bikes.Professional", "Measures.Revenue"),
+                texts("SELECT {Date.Date.[2002]} ON COLUMNS, {Location.[US]} ON ROWS FROM [CubeName] "
+                        + "WHERE (Products.[Mountain Bikes].[Professional], Measures.[Revenue])"));
+    }
+
+    @Test
+    void functionsKeywordsAndSpecialSetsAreNotReferences() {
+        assertEquals(List.of("Location", "Products.Mountain Bikes", "Measures.Units Sold"),
+                texts("SELECT CrossJoin({Location.children}, {Products.[Mountain Bikes].children}) ON ROWS FROM SYSCATALOG WHERE (Measures.[Units Sold])"));
+        assertEquals(List.of("cube:Demo"), texts("SELECT {CubeInfo.LastModifiedDate} ON COLUMNS FROM Demo"));
+        assertEquals(List.of(), texts("SELECT {Cubes} ON COLUMNS FROM SYSCATALOG"));
+    }
+
+    @Test
+    void calculatedMembersAreExcluded() {
+        List<String> refs = texts("WITH MEMBER Measures.[Margin] AS 'Measures.[Revenue] - Measures.[Cost]' "
+                + "SELECT {Measures.[Margin], Measures.[Cost]} ON COLUMNS FROM [Demo]");
+        assertEquals(List.of("Measures.Cost", "cube:Demo"), refs);
+    }
+
+    @Test
+    void segmentSpansCoverBracketsInOriginalText() {
+        String mdx = "SELECT {Location.[Fra]]nce]} ON COLUMNS FROM [Demo]";
+        MdxReferences.Segment segment = MdxReferences.extract(mdx).get(0).segments().get(1);
+        assertEquals("Fra]nce", segment.name());
+        assertEquals("[Fra]]nce]", mdx.substring(segment.start(), segment.end()));
+        assertTrue(segment.bracketed());
+    }
+}
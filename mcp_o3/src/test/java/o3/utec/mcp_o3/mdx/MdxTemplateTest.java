@@ -0,0 +1,67 @@
+package o3.utec.mcp_o3.mdx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MdxTemplateTest {
+
+    @Test
+    void structuralParametersAreReplacedInText() {
+        MdxTemplate t = MdxTemplate.compile("byChildren", "",
+                "SELECT {Measures.[@measure]} ON COLUMNS, NON EMPTY {@dimension.children} ON ROWS FROM [@cube]");
+        assertEquals(Set.of("measure", "dimension", "cube"), t.parameterNames());
+        MdxTemplate.Bound bound = t.bind(Map.of("measure", "Units Sold", "dimension", "Location", "cube", "Demo"));
+        assertEquals("SELECT {Measures.[Units Sold]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM [Demo]", bound.statementText());
+        assertEquals(List.of(), bound.parameters());
+    }
+
+    @Test
+    void boundParametersBecomeJdbcPlaceholdersInOrder() {
+        MdxTemplate t = MdxTemplate.compile("filtered", "",
+                "SELECT {Measures.[Units Sold]} ON COLUMNS FROM [@cube] WHERE (?year, ?product)");
+        MdxTemplate.Bound bound = t.bind(Map.of("cube", "Demo", "year", "Date.[2002]", "product", "Products.[Mountain Bikes]"));
+        assertEquals("SELECT {Measures.[Units Sold]} ON COLUMNS FROM [Demo] WHERE (?, ?)", bound.statementText());
+        assertEquals(List.of("Date.[2002]", "Products.[Mountain Bikes]"), bound.parameters());
+        assertEquals("SELECT {Measures.[Units Sold]} ON COLUMNS FROM [Demo] WHERE (Date.[2002], Products.[Mountain Bikes])", bound.resolvedText());
+    }
+
+    @Test
+    void argumentsCannotChangeTheQueryShape() {
+        MdxTemplate t = MdxTemplate.compile("byChildren", "",
+                "SELECT {Measures.[@measure]} ON COLUMNS, NON EMPTY {@dimension.children} ON ROWS FROM [@cube] WHERE (?slicer)");
+        // Dentro de [ ] el cierre se escapa y queda como parte del nombre
+        MdxTemplate.Bound bound = t.bind(Map.of("measure", "Units Sold", "dimension", "Location", "cube", "Demo] WHERE (Measures.[Cost])",
+                "slicer", "Date.[2002]"));
+        assertEquals("SELECT {Measures.[Units Sold]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM [Demo]] WHERE (Measures.[Cost]])] WHERE (?)",
+                bound.statementText());
+        // Afuera de [ ] solo miembros, también en los parámetros ligados
+        assertThrows(IllegalArgumentException.class, () -> t.bind(Map.of("measure", "Units Sold", "cube", "Demo",
+                "dimension", "Location.children} ON ROWS FROM [Other] --", "slicer", "Date.[2002]")));
+        assertThrows(IllegalArgumentException.class, () -> t.bind(Map.of("measure", "Units Sold", "cube", "Demo",
+                "dimension", "Location", "slicer", "Date.[2002]) ON ROWS FROM [Other")));
+        assertEquals(List.of("Date.[2002], Products.[Mountain Bikes]"), t.bind(Map.of("measure", "Units Sold", "cube", "Demo",
+                "dimension", "Location.[France]", "slicer", " Date.[2002], Products.[Mountain Bikes] ")).parameters());
+    }
+
+    @Test
+    void placeholdersInsideStringsAndBracketsAreLiteral() {
+        MdxTemplate t = MdxTemplate.compile("literal", "",
+                "SELECT {Measures.[Who?x]} ON COLUMNS FROM [@cube] WHERE Products.Name = 'a@b ?c'");
+        assertEquals(Set.of("cube"), t.parameterNames());
+        assertEquals("SELECT {Measures.[Who?x]} ON COLUMNS FROM [Demo] WHERE Products.Name = 'a@b ?c'",
+                t.bind(Map.of("cube", "Demo")).statementText());
+    }
+
+    @Test
+    void missingAndUnknownArgumentsAreRejected() {
+        MdxTemplate t = MdxTemplate.compile("measures", "", "SELECT {Measures.Members} ON COLUMNS FROM [@cube]");
+        assertThrows(IllegalArgumentException.class, () -> t.bind(Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> t.bind(Map.of("cube", "Demo", "extra", "x")));
+    }
+}
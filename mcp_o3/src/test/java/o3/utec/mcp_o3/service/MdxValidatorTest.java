@@ -0,0 +1,118 @@
+package o3.utec.mcp_o3.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MdxValidatorTest {
+
+    private static final String VALID = "SELECT {Measures.[Units Sold]} ON COLUMNS, {Location.children} ON ROWS FROM [Demo]";
+
+    // Catálogo en memoria con el cubo Demo; sin consultas a O3
+    private static final CubeCatalogService CATALOG = new CubeCatalogService() {
+        private final CubeSchema demo = new CubeSchema("Demo", List.of("Location", "Date", "Product"),
+                List.of("Units Sold", "Revenue"), "2024-01-01", 0);
+
+        @Override
+        public List<String> getCachedCubes() {
+            return List.of("Demo");
+        }
+
+        @Override
+        public CubeSchema getCachedSchema(String cubeName) {
+            return cubeName.equalsIgnoreCase("Demo") ? demo : null;
+        }
+    };
+
+    private static MdxValidator validator(String mode) {
+        MdxValidator validator = new MdxValidator();
+        ReflectionTestUtils.setField(validator, "cubeCatalog", CATALOG);
+        ReflectionTestUtils.setField(validator, "modeName", mode);
+        ReflectionTestUtils.setField(validator, "maxSuggestions", 3);
+        validator.init();
+        return validator;
+    }
+
+    private static String errors(String mdx) {
+        MdxValidator.Result result = validator("advisory").validate(mdx);
+        assertTrue(result.hasErrors(), mdx);
+        return result.render();
+    }
+
+    @Test
+    void validQueryHasNoDiagnostics() {
+        MdxValidator.Result result = validator("strict").validate(VALID);
+        assertEquals(List.of(), result.diagnostics());
+        assertFalse(result.reject());
+        assertEquals("", result.render());
+    }
+
+    @Test
+    void unbalancedBracesAndParentheses() {
+        assertTrue(errors("SELECT {Measures.[Units Sold] ON COLUMNS FROM [Demo]").contains("ERROR en la posición 7: '{' sin cerrar"));
+        assertTrue(errors("SELECT (Location.children} ON ROWS FROM [Demo]")
+                .contains("Se encontró '}' pero falta cerrar '(' abierto en la posición 7"));
+        assertTrue(errors("SELECT Location.children) ON ROWS FROM [Demo]").contains("')' sin abrir"));
+    }
+
+    @Test
+    void unknownNamesSuggestTheClosestOnes() {
+        assertTrue(errors("SELECT {Measures.[Units Sold]} ON COLUMNS FROM [Deno]").contains("El cubo 'Deno' no existe. Quizás: Demo"));
+        assertTrue(errors("SELECT {Measures.[Unit Sold]} ON COLUMNS FROM [Demo]")
+                .contains("La medida 'Unit Sold' no existe en Demo. Quizás: Units Sold"));
+        assertTrue(errors("SELECT {Locaton.children} ON COLUMNS FROM [Demo]")
+                .contains("La dimensión 'Locaton' no existe en Demo. Quizás: Location"));
+    }
+
+    @Test
+    void namesAreCheckedWithoutCase() {
+        assertEquals(List.of(), validator("strict").validate(
+                "SELECT {measures.[units sold]} ON COLUMNS, {location.children} ON ROWS FROM [demo]").diagnostics());
+    }
+
+    @Test
+    void measuresAliasIsAccepted() {
+        MdxValidator validator = validator("strict");
+        assertFalse(validator.validate("SELECT {[<measures>].[Units Sold]} ON COLUMNS FROM [Demo]").hasErrors());
+        assertFalse(validator.validate("SELECT {[<measures>].[<measures>].[Revenue]} ON COLUMNS FROM [Demo]").hasErrors());
+        assertTrue(validator.validate("SELECT {[<measures>].[Profit]} ON COLUMNS FROM [Demo]").hasErrors());
+    }
+
+    @Test
+    void specialO3SetsAreNotErrors() {
+        MdxValidator validator = validator("strict");
+        assertFalse(validator.validate("SELECT {CubeInfo.LastModifiedDate} ON COLUMNS FROM [Demo]").hasErrors());
+        assertFalse(validator.validate("SELECT {Cubes} ON COLUMNS FROM SYSCATALOG").hasErrors());
+        assertFalse(validator.validate("SELECT {Dimensions} ON COLUMNS FROM [Demo]").hasErrors());
+    }
+
+    @Test
+    void advisoryReportsAndStrictRejects() {
+        String bad = "SELECT {Measures.[Profit]} ON COLUMNS FROM [Demo]";
+
+        MdxValidator advisory = validator("advisory");
+        MdxValidator.Result advised = advisory.validate(bad);
+        assertTrue(advised.hasErrors());
+        assertFalse(advised.reject());
+        assertTrue(advised.render().startsWith("\n--- VALIDACIÓN LOCAL ---\nERROR"), advised.render());
+        assertTrue(advisory.stats().contains("Rejected: 0 / With warnings: 1"), advisory.stats());
+
+        MdxValidator strict = validator("strict");
+        MdxValidator.Result rejected = strict.validate(bad);
+        assertTrue(rejected.reject());
+        assertTrue(rejected.render().startsWith("Consulta rechazada por la validación local (no se envió a O3):"), rejected.render());
+        assertTrue(strict.stats().contains("Rejected: 1"), strict.stats());
+
+        assertEquals(List.of(), validator("off").validate(bad).diagnostics());
+    }
+
+    @Test
+    void excerptMarksThePosition() {
+        assertEquals("  SELECT {x\n         ^", MdxValidator.excerpt("SELECT {x", 7));
+    }
+}
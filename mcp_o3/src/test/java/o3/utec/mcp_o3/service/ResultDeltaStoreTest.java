@@ -0,0 +1,111 @@
+package o3.utec.mcp_o3.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import o3.utec.mcp_o3.config.McpSessionRegistry;
+import o3.utec.mcp_o3.format.ResultSnapshot;
+
+class ResultDeltaStoreTest {
+
+    private static final String QUERY = "SELECT {Measures.[Units Sold]} ON COLUMNS, {Location.children} ON ROWS FROM [CubeName]";
+    // Resultado completo largo, para que el delta de una celda sea más chico
+    private static final String FULL = "Location | Units Sold\n" + "Spain | 10.0\n".repeat(50);
+
+    private static ResultDeltaStore store(long maxCells) {
+        ResultDeltaStore store = new ResultDeltaStore();
+        ReflectionTestUtils.setField(store, "sessionRegistry", new McpSessionRegistry());
+        ReflectionTestUtils.setField(store, "maxQueries", 16);
+        ReflectionTestUtils.setField(store, "maxCells", maxCells);
+        ReflectionTestUtils.setField(store, "maxSessions", 100);
+        ReflectionTestUtils.setField(store, "idleTimeoutMs", 60_000L);
+        store.init();
+        return store;
+    }
+
+    // Filas "Location=valor" con la medida indicada
+    private static ResultSnapshot snapshot(String measure, String... rows) {
+        Map<String, String[]> map = new LinkedHashMap<>();
+        for (String row : rows) {
+            String[] parts = row.split("=");
+            map.put(parts[0], new String[] { parts[1] });
+        }
+        return ResultSnapshot.of(List.of("Location"), List.of(measure), map);
+    }
+
+    private static ResultSnapshot units(String... rows) {
+        return snapshot("Units Sold", rows);
+    }
+
+    @Test
+    void secondCallReturnsOnlyTheChangedCells() {
+        ResultDeltaStore store = store(1000);
+        String first = store.diff("a", QUERY, units("Spain=10.0", "France=20.0"), FULL, null);
+        assertTrue(first.startsWith(FULL + "\n--- FULL RESULT"), first);
+        assertTrue(first.contains("no previous result for this query"), first);
+
+        ResultSnapshot current = units("Spain=10.0", "France=21.0");
+        String delta = store.diff("a", QUERY, current, FULL, units("Spain=10.0", "France=20.0").checksumHex());
+        assertTrue(delta.startsWith("--- DELTA"), delta);
+        assertTrue(delta.contains("CHANGED France | Units Sold: 20.0 -> 21.0"), delta);
+
+        // La misma consulta escrita con otros espacios usa la misma base
+        String unchanged = store.diff("a", QUERY.replace(" ON ", "  ON "), current, FULL, null);
+        assertTrue(unchanged.endsWith("No changes."), unchanged);
+    }
+
+    @Test
+    void mismatchedDeltaBaseReturnsTheFullResult() {
+        ResultDeltaStore store = store(1000);
+        ResultSnapshot base = units("Spain=10.0");
+        store.diff("a", QUERY, base, FULL, null);
+        String result = store.diff("a", QUERY, units("Spain=11.0"), FULL, "deadbeef");
+        assertTrue(result.startsWith(FULL), result);
+        assertTrue(result.contains("deltaBase deadbeef does not match the stored base " + base.checksumHex()), result);
+    }
+
+    @Test
+    void changedColumnsReturnTheFullResult() {
+        ResultDeltaStore store = store(1000);
+        store.diff("a", QUERY, units("Spain=10.0"), FULL, null);
+        String result = store.diff("a", QUERY, snapshot("Revenue", "Spain=10.0"), FULL, null);
+        assertTrue(result.startsWith(FULL), result);
+        assertTrue(result.contains("(columns changed;"), result);
+    }
+
+    @Test
+    void deltaNotSmallerThanTheFullResultIsNotUsed() {
+        ResultDeltaStore store = store(1000);
+        String shortFull = "Spain | 10.0";
+        store.diff("a", QUERY, units("Spain=10.0"), shortFull, null);
+        String result = store.diff("a", QUERY, units("Spain=11.0"), "Spain | 11.0", null);
+        assertTrue(result.startsWith("Spain | 11.0\n--- FULL RESULT"), result);
+        assertTrue(result.contains("delta not smaller than the full result"), result);
+    }
+
+    @Test
+    void resultsOverMaxCellsAreNotKept() {
+        ResultDeltaStore store = store(1);
+        String first = store.diff("a", QUERY, units("Spain=10.0", "France=20.0"), FULL, null);
+        assertTrue(first.contains("result too large to keep as a delta base"), first);
+        String second = store.diff("a", QUERY, units("Spain=10.0", "France=20.0"), FULL, null);
+        assertTrue(second.contains("no previous result for this query"), second);
+    }
+
+    @Test
+    void sessionsDoNotShareBases() {
+        ResultDeltaStore store = store(1000);
+        store.diff("a", QUERY, units("Spain=10.0"), FULL, null);
+        String other = store.diff("b", QUERY, units("Spain=10.0"), FULL, null);
+        assertTrue(other.contains("no previous result for this query"), other);
+        String same = store.diff("a", QUERY, units("Spain=10.0"), FULL, null);
+        assertTrue(same.startsWith("--- DELTA"), same);
+        assertTrue(store.stats().contains("Sessions with bases: 2 /"), store.stats());
+    }
+}
@@ -0,0 +1,145 @@
+package o3.utec.mcp_o3.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ResultFileExporterTest {
+
+    private static final int ROWS = 1000;
+
+    @TempDir
+    Path dir;
+
+    private ResultFileExporter exporter(int maxFiles) {
+        ResultFileExporter exporter = new ResultFileExporter();
+        ReflectionTestUtils.setField(exporter, "exportDir", dir.toString());
+        ReflectionTestUtils.setField(exporter, "maxFiles", maxFiles);
+        ReflectionTestUtils.setField(exporter, "previewRows", 2);
+        // Chunks y bloques chicos para pasar varias veces por el volcado al canal
+        ReflectionTestUtils.setField(exporter, "chunkChars", 256);
+        ReflectionTestUtils.setField(exporter, "columnarBlockRows", 300);
+        return exporter;
+    }
+
+    // Location (texto, "Brazil, South" lleva comillas en CSV) y Units Sold (número, nulo cada 10 filas)
+    private static ResultSet resultSet(int rows) {
+        ResultSetMetaData metadata = (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> 2;
+                    case "getColumnType" -> (Integer) args[0] == 1 ? Types.VARCHAR : Types.DOUBLE;
+                    case "getColumnLabel", "getColumnName" -> (Integer) args[0] == 1 ? "Location" : "Units Sold";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // row[1] es la última columna leída, para wasNull
+        int[] row = { 0, 0 };
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMetaData" -> metadata;
+                    case "next" -> ++row[0] <= rows;
+                    case "getString" -> {
+                        row[1] = 1;
+                        yield row[0] % 2 == 0 ? "Brazil, South" : "Spain";
+                    }
+                    case "getDouble" -> {
+                        row[1] = 2;
+                        yield row[0] % 10 == 0 ? 0.0 : row[0] * 1.5;
+                    }
+                    case "wasNull" -> row[1] == 2 && row[0] % 10 == 0;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Test
+    void csvHasHeaderAndEveryRow() throws Exception {
+        ResultFileExporter.Export export = exporter(10).export(resultSet(ROWS), ResultFileExporter.ExportFormat.CSV);
+        List<String> lines = Files.readAllLines(export.file());
+        assertEquals(ROWS + 1, lines.size());
+        assertEquals("Location,Units Sold", lines.get(0));
+        assertEquals("Spain,1.5", lines.get(1));
+        assertEquals("\"Brazil, South\",", lines.get(10));
+        assertEquals(ROWS, export.rows());
+        assertEquals(2, export.columns());
+        assertEquals("Location,Units Sold\nSpain,1.5\n\"Brazil, South\",3.0", export.preview());
+    }
+
+    @Test
+    void gzipCsvHasTheSameContent() throws Exception {
+        ResultFileExporter exporter = exporter(10);
+        Path csv = exporter.export(resultSet(ROWS), ResultFileExporter.ExportFormat.CSV).file();
+        Path gz = exporter.export(resultSet(ROWS), ResultFileExporter.ExportFormat.CSV_GZIP).file();
+        assertTrue(gz.toString().endsWith(".csv.gz"));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(gz))) {
+            assertArrayEquals(Files.readAllBytes(csv), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void columnarWritesOneBlockPerColumn() throws Exception {
+        ResultFileExporter.Export export = exporter(10).export(resultSet(ROWS), ResultFileExporter.ExportFormat.COLUMNAR);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(export.file()))) {
+            assertArrayEquals(ResultFileExporter.COLUMNAR_MAGIC, in.readNBytes(ResultFileExporter.COLUMNAR_MAGIC.length));
+            assertEquals(2, in.readInt());
+            assertEquals(ResultFileExporter.COLUMN_TEXT, in.readByte());
+            assertEquals("Location", label(in));
+            assertEquals(ResultFileExporter.COLUMN_NUMBER, in.readByte());
+            assertEquals("Units Sold", label(in));
+            long rows = 0;
+            int blockRows;
+            while ((blockRows = in.readInt()) > 0) {
+                for (int r = 1; r <= blockRows; r++) {
+                    byte[] text = in.readNBytes(in.readInt());
+                    assertEquals((rows + r) % 2 == 0 ? "Brazil, South" : "Spain", new String(text, StandardCharsets.UTF_8));
+                }
+                for (int r = 1; r <= blockRows; r++) {
+                    double value = in.readDouble();
+                    long n = rows + r;
+                    assertEquals(n % 10 == 0 ? Double.NaN : n * 1.5, value);
+                }
+                rows += blockRows;
+            }
+            assertEquals(ROWS, rows);
+            assertEquals(ROWS, in.readLong());
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    void keepsOnlyTheNewestFiles() throws Exception {
+        // Varias exportaciones en el mismo segundo: el archivo devuelto nunca es el que se borra
+        ResultFileExporter exporter = exporter(2);
+        List<Path> returned = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Path file = exporter.export(resultSet(3), ResultFileExporter.ExportFormat.CSV).file();
+            assertTrue(Files.exists(file));
+            returned.add(file);
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(2, files.count());
+        }
+        assertTrue(Files.exists(returned.get(18)));
+        assertTrue(Files.exists(returned.get(19)));
+    }
+
+    private static String label(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readShort()), StandardCharsets.UTF_8);
+    }
+}
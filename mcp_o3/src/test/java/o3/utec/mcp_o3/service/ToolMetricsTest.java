@@ -0,0 +1,28 @@
+package o3.utec.mcp_o3.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import o3.utec.mcp_o3.jdbc.PoolExhaustedException;
+import o3.utec.mcp_o3.mdx.MdxParseException;
+
+class ToolMetricsTest {
+
+    // La categoría depende del tipo de excepción y no del texto del mensaje
+    @Test
+    void errorsAreClassifiedByType() {
+        assertEquals("timeout", ToolMetrics.classify(new SQLTimeoutException("x")));
+        assertEquals("cancelled", ToolMetrics.classify(new QueryCancelledException("aborted by the client")));
+        assertEquals("pool", ToolMetrics.classify(new PoolExhaustedException("no free connection")));
+        assertEquals("connection", ToolMetrics.classify(new SQLException("link failure", "08S01")));
+        assertEquals("query", ToolMetrics.classify(new SQLException("Consulta cancelada del pool")));
+        assertEquals("invalid_request", ToolMetrics.classify(new MdxParseException("'{' sin cerrar", 7)));
+        assertEquals("io", ToolMetrics.classify(new IOException("disk full")));
+        assertEquals("internal", ToolMetrics.classify(new IllegalStateException("x")));
+    }
+}
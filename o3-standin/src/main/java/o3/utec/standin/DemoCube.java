@@ -0,0 +1,293 @@
+package o3.utec.standin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Cubo sintético con la forma del cubo "Demo" de O3: Location, Products, Customers, Salesmen, Date y Measures.
+// Los valores son deterministas: cada miembro hoja tiene un peso pseudoaleatorio por medida (según seed) y el de un
+// miembro agregado es la suma de sus hijos, así una celda es base(medida) * producto de la participación de cada
+// coordenada en su dimensión y el total de un padre coincide con la suma de sus hijos, como en el servidor real.
+// Los pesos de Products cambian según la medida (precio y costo por producto) para que % Profit varíe.
+// Algunos miembros tienen peso 0 (clientes inactivos, meses futuros, un producto discontinuado) y sus celdas
+// quedan vacías (NULL), para que NON EMPTY y NON ZERO tengan algo que quitar.
+// scale multiplica la cantidad de miembros hoja de cada dimensión (ciudades, productos, clientes, vendedores).
+final class DemoCube {
+
+    static final String MEASURES = "Measures";
+
+    static final List<String> MEASURE_NAMES = List.of("Units Sold", "Revenue", "Cost", "Discount", "Commissions", "% Profit");
+
+    // Base de cada medida aditiva para el total del cubo (todas las dimensiones en All)
+    private static final double[] MEASURE_BASE = { 1_250_000, 96_500_000, 61_800_000, 4_350_000, 2_900_000, 0 };
+
+    private static final int FIRST_YEAR = 2001;
+    private static final int LAST_YEAR = 2014;
+    private static final String[] MONTHS = { "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec" };
+
+    // Dimensión del cubo. El miembro raíz (All) lleva el nombre de la dimensión: [Location] o [Location].[Location].
+    static final class Dimension {
+        final String name;
+        final List<String> levels;
+        final Member root;
+        private final Map<String, List<Member>> byName = new LinkedHashMap<>();
+
+        Dimension(String name, String... levels) {
+            this.name = name;
+            this.levels = List.of(levels);
+            this.root = new Member(this, name, 0, null);
+        }
+
+        Member add(Member parent, String name, double weight) {
+            Member m = new Member(this, name, parent.depth + 1, parent);
+            Arrays.fill(m.weights, weight);
+            parent.children.add(m);
+            byName.computeIfAbsent(name.toUpperCase(Locale.ROOT), k -> new ArrayList<>()).add(m);
+            return m;
+        }
+
+        // Primer miembro con ese nombre en cualquier nivel (Location.[Paris], Date.[2002])
+        Member find(String name) {
+            List<Member> found = byName.get(name.toUpperCase(Locale.ROOT));
+            return found == null ? null : found.get(0);
+        }
+
+        // Índice del nivel (1 = primer nivel debajo de All), -1 si no existe
+        int level(String name) {
+            for (int i = 0; i < levels.size(); i++) {
+                if (levels.get(i).equalsIgnoreCase(name)) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        List<Member> membersAt(int depth) {
+            List<Member> out = new ArrayList<>();
+            collect(root, depth, out);
+            return out;
+        }
+
+        // Todos los miembros en orden jerárquico, incluido All
+        List<Member> allMembers() {
+            List<Member> out = new ArrayList<>();
+            preorder(root, out);
+            return out;
+        }
+
+        private static void collect(Member m, int depth, List<Member> out) {
+            if (m.depth == depth) {
+                out.add(m);
+                return;
+            }
+            m.children.forEach(c -> collect(c, depth, out));
+        }
+
+        private static void preorder(Member m, List<Member> out) {
+            out.add(m);
+            m.children.forEach(c -> preorder(c, out));
+        }
+
+        boolean isMeasures() {
+            return name.equals(MEASURES);
+        }
+    }
+
+    static final class Member {
+        final Dimension dimension;
+        final String name;
+        final int depth;
+        final Member parent;
+        final List<Member> children = new ArrayList<>();
+        // Peso por medida (índice en MEASURE_NAMES)
+        final double[] weights = new double[MEASURE_NAMES.size()];
+
+        Member(Dimension dimension, String name, int depth, Member parent) {
+            this.dimension = dimension;
+            this.name = name;
+            this.depth = depth;
+            this.parent = parent;
+        }
+
+        Member child(String childName) {
+            for (Member c : children) {
+                if (c.name.equalsIgnoreCase(childName)) {
+                    return c;
+                }
+            }
+            return null;
+        }
+
+        boolean isAll() {
+            return parent == null;
+        }
+
+        // [Location].[France].[Paris]
+        String uniqueName() {
+            return parent == null ? "[" + name + "]" : parent.uniqueName() + ".[" + name + "]";
+        }
+
+        @Override
+        public String toString() {
+            return uniqueName();
+        }
+    }
+
+    private final Map<String, Dimension> dimensions = new LinkedHashMap<>();
+    private final Dimension measures;
+    private final long seed;
+
+    DemoCube(int scale, long seed) {
+        this.seed = seed;
+        int s = Math.max(1, scale);
+
+        Dimension location = dimension("Location", "Country", "City");
+        addTree(location, new String[][] {
+                { "US", "New York", "Chicago", "Seattle" },
+                { "France", "Paris", "Lille", "Lyon" },
+                { "Germany", "Berlin", "Munich", "Hamburg" },
+                { "Uruguay", "Montevideo", "Salto", "Maldonado" },
+                { "Japan", "Tokyo", "Osaka", "Kyoto" } }, s, "City");
+
+        Dimension products = dimension("Products", "Line", "Product");
+        addTree(products, new String[][] {
+                { "Mountain Bikes", "Professional", "Sport", "Trail", "Junior" },
+                { "Road Bikes", "Racing", "Touring", "Comfort", "Classic" },
+                { "Accessories", "Helmets", "Gloves", "Lights", "Locks" },
+                { "Clothing", "Jerseys", "Shorts", "Jackets", "Socks" } }, s, "Model");
+        // Producto discontinuado: sin ventas
+        Arrays.fill(products.find("Junior").weights, 0);
+        for (Member line : products.root.children) {
+            for (Member product : line.children) {
+                for (int m = 1; m < MEASURE_NAMES.size(); m++) {
+                    product.weights[m] *= 0.85 + 0.3 * unit(mix(seed + m * 31L + product.name.hashCode()));
+                }
+            }
+        }
+
+        Dimension customers = dimension("Customers", "Type", "Customer");
+        int customer = 1;
+        for (String type : List.of("Major Accounts", "Minor Accounts", "Retail")) {
+            Member t = customers.add(customers.root, type, 0);
+            for (int i = 0; i < 5 * s; i++, customer++) {
+                // El último de cada tipo está inactivo
+                customers.add(t, String.format("Customer %03d", customer), i == 5 * s - 1 ? 0 : weight(t.name, i));
+            }
+        }
+
+        Dimension salesmen = dimension("Salesmen", "Seller");
+        String[] sellers = { "Alice Brown", "Bruno Silva", "Carla Gomez", "Diego Ruiz", "Elena Costa", "Facundo Diaz", "Gabriela Sosa", "Hector Vidal" };
+        for (int i = 0; i < sellers.length * s; i++) {
+            salesmen.add(salesmen.root, i < sellers.length ? sellers[i] : "Seller " + (i + 1), weight("Salesmen", i));
+        }
+
+        Dimension date = dimension("Date", "Year", "Month");
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            Member y = date.add(date.root, String.valueOf(year), 0);
+            for (int month = 0; month < MONTHS.length; month++) {
+                // El segundo semestre del último año todavía no tiene datos
+                double w = year == LAST_YEAR && month >= 6 ? 0 : weight(y.name, month) * (1 + (year - FIRST_YEAR) * 0.05);
+                date.add(y, MONTHS[month] + " " + year, w);
+            }
+        }
+
+        measures = new Dimension(MEASURES);
+        for (String name : MEASURE_NAMES) {
+            measures.add(measures.root, name, 1);
+        }
+        dimensions.values().forEach(d -> sumWeights(d.root));
+    }
+
+    private Dimension dimension(String name, String... levels) {
+        Dimension d = new Dimension(name, levels);
+        dimensions.put(name.toUpperCase(Locale.ROOT), d);
+        return d;
+    }
+
+    // Primer elemento de cada fila: miembro del primer nivel; el resto, sus hijos. Con scale > 1 se agregan hijos numerados.
+    private void addTree(Dimension d, String[][] tree, int scale, String extraPrefix) {
+        for (String[] branch : tree) {
+            Member parent = d.add(d.root, branch[0], 0);
+            int leaves = (branch.length - 1) * scale;
+            for (int i = 0; i < leaves; i++) {
+                String name = i < branch.length - 1 ? branch[i + 1] : branch[0] + " " + extraPrefix + " " + (i + 1);
+                d.add(parent, name, weight(branch[0], i));
+            }
+        }
+    }
+
+    // Peso de una hoja en [0.5, 1.5), determinista para (seed, padre, posición)
+    private double weight(String parent, int index) {
+        return 0.5 + unit(mix(seed ^ parent.hashCode() * 0x9E3779B97F4A7C15L ^ index * 0xC2B2AE3D27D4EB4FL));
+    }
+
+    private static double unit(long h) {
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void sumWeights(Member m) {
+        if (m.children.isEmpty()) {
+            return;
+        }
+        Arrays.fill(m.weights, 0);
+        for (Member c : m.children) {
+            sumWeights(c);
+            for (int i = 0; i < m.weights.length; i++) {
+                m.weights[i] += c.weights[i];
+            }
+        }
+    }
+
+    // Dimensiones sin Measures, en el orden que las lista {Dimensions}
+    List<Dimension> dimensions() {
+        return List.copyOf(dimensions.values());
+    }
+
+    // Location, [Location], <measures> y Measures (sin distinguir mayúsculas)
+    Dimension dimension(String name) {
+        if (name.equalsIgnoreCase(MEASURES) || name.equalsIgnoreCase("<measures>")) {
+            return measures;
+        }
+        return dimensions.get(name.toUpperCase(Locale.ROOT));
+    }
+
+    Member defaultMeasure() {
+        return measures.root.children.get(0);
+    }
+
+    // Valor de la celda: coordenadas con un miembro por dimensión (las que faltan quedan en All).
+    // null si alguna coordenada tiene peso 0 (sin datos).
+    Double value(Member measure, List<Member> coordinates) {
+        int index = MEASURE_NAMES.indexOf(measure.name);
+        if (index == 5) {
+            Double revenue = value(measures.root.children.get(1), coordinates);
+            Double cost = value(measures.root.children.get(2), coordinates);
+            return revenue == null || cost == null || revenue == 0 ? null : round((revenue - cost) / revenue * 100);
+        }
+        double v = MEASURE_BASE[index];
+        for (Member m : coordinates) {
+            if (m.isAll()) {
+                continue;
+            }
+            double share = m.weights[index] / m.dimension.root.weights[index];
+            if (share == 0) {
+                return null;
+            }
+            v *= share;
+        }
+        return index == 0 ? (double) Math.round(v) : round(v);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+}
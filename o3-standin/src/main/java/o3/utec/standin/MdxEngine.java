@@ -0,0 +1,730 @@
+package o3.utec.standin;
+
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+import o3.utec.standin.DemoCube.Dimension;
+import o3.utec.standin.DemoCube.Member;
+
+// Intérprete del subconjunto de MDX que usan mcp_o3, mcp-server-version-alpha y consultas-o3 sobre el DemoCube:
+//   SELECT [NON EMPTY | NON ZERO] <set> ON COLUMNS|ROWS|0|1, ... FROM <cubo> [WHERE <tupla o set>]
+//   Sets: {a, b, ...}, {}, (tuplas), CrossJoin, Except, Union, Descendants, Head, .children, .members, Nivel.Members
+//   Rutas: Location.[France].[Paris], [Date].[Date].[2002], [<measures>].[<measures>].[Revenue], Salesmen.Seller
+// Y las consultas de metadatos de O3, que devuelven una fila por elemento:
+//   {Cubes} FROM SYSCATALOG, {Dimensions}, {Measures.Members} (como único eje), {CubeInfo.LastModifiedDate}
+// Forma del resultado (como COLUMNS_TYPE=DIMENSION_LABEL): una columna de etiqueta por cada dimensión del eje de filas
+// y después una columna por cada tupla del eje de columnas. Las filas se calculan a medida que se leen.
+// Un nombre inexistente produce "... not found", el mismo texto que reconoce MemberNameIndex para sugerir alternativas.
+final class MdxEngine {
+
+    private final DemoCube cube;
+    private final StandInConfig config;
+    private final boolean memberByLabel;
+    private final Timestamp lastModified;
+
+    MdxEngine(DemoCube cube, StandInConfig config, boolean memberByLabel, Timestamp lastModified) {
+        this.cube = cube;
+        this.config = config;
+        this.memberByLabel = memberByLabel;
+        this.lastModified = lastModified;
+    }
+
+    // Resultado: columnas y una fuente de filas que se recorre una sola vez
+    record Result(List<String> labels, List<Integer> types, RowSource rows) {
+    }
+
+    interface RowSource {
+        // null al terminar
+        Object[] next();
+    }
+
+    Result execute(String mdx) throws SQLException {
+        Parser parser = new Parser(tokenize(mdx));
+        Query query = parser.query();
+        if (query.cube.equalsIgnoreCase("SYSCATALOG")) {
+            if (query.axes.size() == 1 && isSpecial(query.axes.get(0).set, "CUBES")) {
+                return list("Cubes", Types.VARCHAR, new ArrayList<>(config.cubes()));
+            }
+            throw new SQLException("SYSCATALOG only supports SELECT {Cubes} ON COLUMNS");
+        }
+        if (!config.servesCube(query.cube)) {
+            throw new SQLException("Cube [" + query.cube + "] not found");
+        }
+        if (query.axes.size() == 1) {
+            Expr set = query.axes.get(0).set;
+            if (isSpecial(set, "DIMENSIONS")) {
+                return list("Dimensions", Types.VARCHAR, new ArrayList<>(cube.dimensions().stream().map(d -> (Object) d.name).toList()));
+            }
+            if (isSpecial(set, "CUBEINFO", "LASTMODIFIEDDATE")) {
+                return list("LastModifiedDate", Types.TIMESTAMP, List.of(lastModified));
+            }
+            if (isSpecial(set, "MEASURES", "MEMBERS") || isSpecial(set, "<MEASURES>", "MEMBERS")) {
+                return list("Measures", Types.VARCHAR, new ArrayList<>(DemoCube.MEASURE_NAMES));
+            }
+        }
+        return grid(query);
+    }
+
+    private static Result list(String label, int type, List<Object> values) {
+        int[] next = { 0 };
+        return new Result(List.of(label), List.of(type), () -> next[0] < values.size() ? new Object[] { values.get(next[0]++) } : null);
+    }
+
+    // {Cubes}, {Dimensions}, {CubeInfo.LastModifiedDate}, {Measures.Members}: un set con una sola ruta sin corchetes
+    private static boolean isSpecial(Expr expr, String... segments) {
+        if (!(expr instanceof SetLiteral literal) || literal.items.size() != 1 || !(literal.items.get(0) instanceof Path path)) {
+            return false;
+        }
+        if (path.segments.size() != segments.length) {
+            return false;
+        }
+        for (int i = 0; i < segments.length; i++) {
+            if (!path.segments.get(i).toUpperCase(Locale.ROOT).equals(segments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- Evaluación ----
+
+    private Result grid(Query query) throws SQLException {
+        Axis columnsAxis = null;
+        Axis rowsAxis = null;
+        for (Axis axis : query.axes) {
+            if (axis.ordinal == 0 && columnsAxis == null) {
+                columnsAxis = axis;
+            } else if (axis.ordinal == 1 && rowsAxis == null) {
+                rowsAxis = axis;
+            } else {
+                throw new SQLFeatureNotSupportedException("Only COLUMNS and ROWS axes are supported (duplicated or axis " + axis.ordinal + ")");
+            }
+        }
+        List<List<Member>> where = query.where == null ? List.of() : toSet(eval(query.where));
+        List<List<Member>> slicer = where.isEmpty() ? List.of(List.of()) : where;
+        List<List<Member>> columns = columnsAxis == null ? null : toSet(eval(columnsAxis.set));
+        List<List<Member>> rows = rowsAxis == null ? null : toSet(eval(rowsAxis.set));
+
+        // Sin eje de columnas: una columna con la medida del WHERE (o la medida por defecto)
+        List<List<Member>> valueColumns = columns != null ? columns : List.of(List.of());
+        List<List<Member>> rowTuples = rows != null ? rows : List.of(List.of());
+        if (columnsAxis != null && columnsAxis.nonEmpty != null) {
+            valueColumns = filterColumns(valueColumns, rowTuples, slicer, columnsAxis.nonEmpty);
+        }
+        List<List<Member>> finalColumns = valueColumns;
+
+        List<String> labels = new ArrayList<>();
+        List<Integer> types = new ArrayList<>();
+        int labelColumns = rows == null || rows.isEmpty() ? 0 : rows.get(0).size();
+        for (int i = 0; i < labelColumns; i++) {
+            labels.add(rows.get(0).get(i).dimension.name);
+            types.add(Types.VARCHAR);
+        }
+        for (List<Member> column : finalColumns) {
+            labels.add(columns == null ? measureOf(slicer.get(0), List.of()).name : caption(column));
+            types.add(Types.DOUBLE);
+        }
+
+        String rowFilter = rowsAxis == null ? null : rowsAxis.nonEmpty;
+        int[] next = { 0 };
+        RowSource source = () -> {
+            while (next[0] < rowTuples.size()) {
+                List<Member> row = rowTuples.get(next[0]++);
+                Object[] values = new Object[labelColumns + finalColumns.size()];
+                for (int i = 0; i < labelColumns && i < row.size(); i++) {
+                    values[i] = memberByLabel ? row.get(i).name : row.get(i).uniqueName();
+                }
+                boolean empty = true;
+                for (int c = 0; c < finalColumns.size(); c++) {
+                    Double v = cell(slicer, row, finalColumns.get(c));
+                    values[labelColumns + c] = v;
+                    empty &= isEmpty(v, rowFilter);
+                }
+                if (rowFilter == null || !empty) {
+                    return values;
+                }
+            }
+            return null;
+        };
+        return new Result(List.copyOf(labels), List.copyOf(types), source);
+    }
+
+    private List<List<Member>> filterColumns(List<List<Member>> columns, List<List<Member>> rows, List<List<Member>> slicer, String mode) {
+        List<List<Member>> kept = new ArrayList<>();
+        for (List<Member> column : columns) {
+            for (List<Member> row : rows) {
+                if (!isEmpty(cell(slicer, row, column), mode)) {
+                    kept.add(column);
+                    break;
+                }
+            }
+        }
+        return kept;
+    }
+
+    private static boolean isEmpty(Double v, String mode) {
+        return v == null || ("ZERO".equals(mode) && v == 0);
+    }
+
+    // Valor de una celda: coordenadas del WHERE, pisadas por las de filas y columnas. Un WHERE con varias tuplas se suma.
+    private Double cell(List<List<Member>> slicer, List<Member> row, List<Member> column) {
+        Double total = null;
+        for (List<Member> slice : slicer) {
+            List<Member> coordinates = new ArrayList<>();
+            Member measure = measureOf(slice, row, column);
+            put(coordinates, slice);
+            put(coordinates, row);
+            put(coordinates, column);
+            Double v = cube.value(measure, coordinates);
+            if (v != null) {
+                total = total == null ? v : total + v;
+            }
+        }
+        return total;
+    }
+
+    // Un miembro por dimensión (el último gana) y sin Measures
+    private static void put(List<Member> coordinates, List<Member> tuple) {
+        for (Member m : tuple) {
+            if (m.dimension.isMeasures()) {
+                continue;
+            }
+            coordinates.removeIf(c -> c.dimension == m.dimension);
+            coordinates.add(m);
+        }
+    }
+
+    @SafeVarargs
+    private Member measureOf(List<Member>... tuples) {
+        Member measure = null;
+        for (List<Member> tuple : tuples) {
+            for (Member m : tuple) {
+                if (m.dimension.isMeasures() && !m.isAll()) {
+                    measure = m;
+                }
+            }
+        }
+        return measure == null ? cube.defaultMeasure() : measure;
+    }
+
+    private String caption(List<Member> tuple) {
+        if (tuple.isEmpty()) {
+            return cube.defaultMeasure().name;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Member m : tuple) {
+            if (sb.length() > 0) {
+                sb.append(" / ");
+            }
+            sb.append(memberByLabel || m.dimension.isMeasures() ? m.name : m.uniqueName());
+        }
+        return sb.toString();
+    }
+
+    // Nivel de una dimensión: Salesmen.Seller, Date.Year
+    private record Level(Dimension dimension, int depth) {
+    }
+
+    private Object eval(Expr expr) throws SQLException {
+        if (expr instanceof Path path) {
+            return resolve(path);
+        }
+        if (expr instanceof SetLiteral literal) {
+            List<List<Member>> out = new ArrayList<>();
+            for (Expr item : literal.items) {
+                out.addAll(toSet(eval(item)));
+            }
+            return out;
+        }
+        if (expr instanceof TupleExpr tuple) {
+            // (a, b, c): producto de sus elementos; con miembros simples es una sola tupla
+            List<List<Member>> out = List.of(List.of());
+            for (Expr item : tuple.items) {
+                out = crossJoin(out, toSet(eval(item)));
+            }
+            return out;
+        }
+        Call call = (Call) expr;
+        if (call.name.equalsIgnoreCase("HEAD")) {
+            if (call.args.isEmpty() || call.args.size() > 2) {
+                throw new SQLSyntaxErrorException("Wrong number of arguments for " + call.name + ": " + call.args.size());
+            }
+            List<List<Member>> set = toSet(eval(call.args.get(0)));
+            int count = call.args.size() == 2 ? count(call, call.args.get(1)) : 1;
+            return new ArrayList<>(set.subList(0, Math.min(count, set.size())));
+        }
+        List<Object> args = new ArrayList<>();
+        for (Expr arg : call.args) {
+            args.add(eval(arg));
+        }
+        switch (call.name.toUpperCase(Locale.ROOT)) {
+            case "CROSSJOIN" -> {
+                arity(call, args, 2, Integer.MAX_VALUE);
+                List<List<Member>> out = toSet(args.get(0));
+                for (int i = 1; i < args.size(); i++) {
+                    out = crossJoin(out, toSet(args.get(i)));
+                }
+                return out;
+            }
+            case "EXCEPT" -> {
+                arity(call, args, 2, 2);
+                List<List<Member>> out = new ArrayList<>(toSet(args.get(0)));
+                out.removeAll(toSet(args.get(1)));
+                return out;
+            }
+            case "UNION" -> {
+                arity(call, args, 2, Integer.MAX_VALUE);
+                LinkedHashSet<List<Member>> out = new LinkedHashSet<>();
+                for (Object arg : args) {
+                    out.addAll(toSet(arg));
+                }
+                return new ArrayList<>(out);
+            }
+            case "DESCENDANTS" -> {
+                arity(call, args, 1, 2);
+                Member from = args.get(0) instanceof Member m ? m
+                        : args.get(0) instanceof Dimension d ? d.root : null;
+                if (from == null) {
+                    throw new SQLSyntaxErrorException("Descendants expects a member or dimension as first argument");
+                }
+                int depth = from.depth + 1;
+                if (args.size() == 2) {
+                    if (!(args.get(1) instanceof Level level) || level.dimension != from.dimension) {
+                        throw new SQLSyntaxErrorException("Descendants expects a level of " + from.dimension.name + " as second argument");
+                    }
+                    depth = level.depth;
+                }
+                List<List<Member>> out = new ArrayList<>();
+                for (Member m : from.dimension.membersAt(depth)) {
+                    if (isAncestor(from, m)) {
+                        out.add(List.of(m));
+                    }
+                }
+                return out;
+            }
+            default -> throw new SQLFeatureNotSupportedException("Function " + call.name + " is not supported by the O3 stand-in");
+        }
+    }
+
+    private static void arity(Call call, List<Object> args, int min, int max) throws SQLSyntaxErrorException {
+        if (args.size() < min || args.size() > max) {
+            throw new SQLSyntaxErrorException("Wrong number of arguments for " + call.name + ": " + args.size());
+        }
+    }
+
+    private static int count(Call call, Expr expr) throws SQLSyntaxErrorException {
+        if (expr instanceof Path path && path.segments.size() == 1) {
+            try {
+                return Integer.parseInt(path.segments.get(0));
+            } catch (NumberFormatException ignored) {
+                // Se reporta abajo
+            }
+        }
+        throw new SQLSyntaxErrorException(call.name + " expects a numeric count");
+    }
+
+    private static boolean isAncestor(Member ancestor, Member m) {
+        for (Member p = m; p != null; p = p.parent) {
+            if (p == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<List<Member>> crossJoin(List<List<Member>> left, List<List<Member>> right) {
+        List<List<Member>> out = new ArrayList<>(left.size() * right.size());
+        for (List<Member> l : left) {
+            for (List<Member> r : right) {
+                List<Member> tuple = new ArrayList<>(l.size() + r.size());
+                tuple.addAll(l);
+                tuple.addAll(r);
+                out.add(tuple);
+            }
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<List<Member>> toSet(Object value) {
+        if (value instanceof Member m) {
+            return List.of(List.of(m));
+        }
+        if (value instanceof Dimension d) {
+            return List.of(List.of(d.root));
+        }
+        if (value instanceof Level level) {
+            return level.dimension.membersAt(level.depth).stream().map(List::of).toList();
+        }
+        return (List<List<Member>>) value;
+    }
+
+    // Location, Location.children, [Date].[Date].[2002], Salesmen.Seller.members, Measures.[Units Sold], [Revenue]
+    private Object resolve(Path path) throws SQLException {
+        List<String> segments = path.segments;
+        String head = segments.get(0);
+        Dimension dimension = cube.dimension(head);
+        Object current;
+        if (dimension != null) {
+            current = dimension;
+        } else {
+            // Miembro sin dimensión: [Units Sold], [France]
+            Member found = cube.dimension(DemoCube.MEASURES).find(head);
+            for (Dimension d : cube.dimensions()) {
+                if (found == null) {
+                    found = d.find(head);
+                }
+            }
+            if (found == null) {
+                throw new SQLException("Dimension or member [" + head + "] not found in cube");
+            }
+            current = found;
+        }
+        for (int i = 1; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            boolean bracketed = path.bracketed.get(i);
+            if (!bracketed) {
+                Object applied = applyFunction(current, segment);
+                if (applied != null) {
+                    if (i != segments.size() - 1) {
+                        throw new SQLSyntaxErrorException("Unexpected ." + segments.get(i + 1) + " after ." + segment);
+                    }
+                    return applied;
+                }
+            }
+            current = step(current, segment);
+        }
+        return current;
+    }
+
+    // .children, .members, .allmembers, .parent, .firstchild, .lastchild; null si el segmento no es una función
+    private static Object applyFunction(Object current, String name) throws SQLException {
+        String fn = name.toUpperCase(Locale.ROOT);
+        if (!List.of("CHILDREN", "MEMBERS", "ALLMEMBERS", "PARENT", "FIRSTCHILD", "LASTCHILD").contains(fn)) {
+            return null;
+        }
+        if (current instanceof Level level) {
+            if (fn.equals("MEMBERS") || fn.equals("ALLMEMBERS")) {
+                return level.dimension.membersAt(level.depth).stream().map(List::of).toList();
+            }
+            throw new SQLSyntaxErrorException("." + name + " is not valid on level " + level.dimension.name + "." + level.dimension.levels.get(level.depth - 1));
+        }
+        Member member = current instanceof Dimension d ? d.root : (Member) current;
+        return switch (fn) {
+            case "CHILDREN" -> member.children.stream().map(List::of).toList();
+            case "MEMBERS", "ALLMEMBERS" -> {
+                if (!member.isAll()) {
+                    yield List.of(List.of(member));
+                }
+                List<Member> all = member.dimension.allMembers();
+                // Measures.Members son las medidas, sin el miembro raíz
+                yield (member.dimension.isMeasures() ? all.subList(1, all.size()) : all).stream().map(List::of).toList();
+            }
+            case "PARENT" -> member.parent == null ? List.of() : member.parent;
+            case "FIRSTCHILD" -> member.children.isEmpty() ? List.of() : member.children.get(0);
+            default -> member.children.isEmpty() ? List.of() : member.children.get(member.children.size() - 1);
+        };
+    }
+
+    private static Object step(Object current, String segment) throws SQLException {
+        if (current instanceof Dimension dimension) {
+            // [Date].[Date]: la jerarquía repite el nombre de la dimensión
+            if (segment.equalsIgnoreCase(dimension.name) || (dimension.isMeasures() && segment.equalsIgnoreCase("<measures>"))) {
+                return dimension;
+            }
+            int level = dimension.level(segment);
+            if (level > 0) {
+                return new Level(dimension, level);
+            }
+            Member child = dimension.root.child(segment);
+            if (child == null) {
+                child = dimension.find(segment);
+            }
+            if (child == null) {
+                throw new SQLException("Member [" + segment + "] not found in dimension [" + dimension.name + "]");
+            }
+            return child;
+        }
+        if (current instanceof Level level) {
+            for (Member m : level.dimension.membersAt(level.depth)) {
+                if (m.name.equalsIgnoreCase(segment)) {
+                    return m;
+                }
+            }
+            throw new SQLException("Member [" + segment + "] not found in level [" + level.dimension.levels.get(level.depth - 1) + "]");
+        }
+        Member member = (Member) current;
+        Member child = member.child(segment);
+        if (child == null) {
+            throw new SQLException("Member [" + segment + "] not found under " + member.uniqueName());
+        }
+        return child;
+    }
+
+    // ---- Sintaxis ----
+
+    private sealed interface Expr permits Path, SetLiteral, TupleExpr, Call {
+    }
+
+    private record Path(List<String> segments, List<Boolean> bracketed) implements Expr {
+    }
+
+    private record SetLiteral(List<Expr> items) implements Expr {
+    }
+
+    private record TupleExpr(List<Expr> items) implements Expr {
+    }
+
+    private record Call(String name, List<Expr> args) implements Expr {
+    }
+
+    // ordinal 0 = COLUMNS, 1 = ROWS; nonEmpty = null, "EMPTY" o "ZERO"
+    private record Axis(Expr set, int ordinal, String nonEmpty) {
+    }
+
+    private record Query(List<Axis> axes, String cube, Expr where) {
+    }
+
+    private enum Kind { WORD, BRACKET, NUMBER, STRING, SYMBOL, EOF }
+
+    private record Token(Kind kind, String text, int position) {
+        boolean is(String word) {
+            return (kind == Kind.WORD || kind == Kind.SYMBOL) && text.equalsIgnoreCase(word);
+        }
+    }
+
+    static List<Token> tokenize(String mdx) throws SQLSyntaxErrorException {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int n = mdx.length();
+        while (i < n) {
+            char ch = mdx.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                i++;
+            } else if (ch == '-' && i + 1 < n && mdx.charAt(i + 1) == '-' || ch == '/' && i + 1 < n && mdx.charAt(i + 1) == '/') {
+                while (i < n && mdx.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (ch == '/' && i + 1 < n && mdx.charAt(i + 1) == '*') {
+                int end = mdx.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (ch == '[') {
+                StringBuilder sb = new StringBuilder();
+                int start = i++;
+                while (true) {
+                    if (i >= n) {
+                        throw new SQLSyntaxErrorException("Unclosed [ at position " + start);
+                    }
+                    char c = mdx.charAt(i++);
+                    if (c == ']') {
+                        if (i < n && mdx.charAt(i) == ']') {
+                            sb.append(']');
+                            i++;
+                            continue;
+                        }
+                        break;
+                    }
+                    sb.append(c);
+                }
+                tokens.add(new Token(Kind.BRACKET, sb.toString(), start));
+            } else if (ch == '"' || ch == '\'') {
+                int start = i++;
+                int end = mdx.indexOf(ch, i);
+                if (end < 0) {
+                    throw new SQLSyntaxErrorException("Unclosed string at position " + start);
+                }
+                tokens.add(new Token(Kind.STRING, mdx.substring(i, end), start));
+                i = end + 1;
+            } else if (Character.isDigit(ch)) {
+                int start = i;
+                while (i < n && (Character.isDigit(mdx.charAt(i)) || mdx.charAt(i) == '.' && i + 1 < n && Character.isDigit(mdx.charAt(i + 1)))) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.NUMBER, mdx.substring(start, i), start));
+            } else if (Character.isLetter(ch) || ch == '_') {
+                int start = i;
+                while (i < n && (Character.isLetterOrDigit(mdx.charAt(i)) || mdx.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.WORD, mdx.substring(start, i), start));
+            } else if ("{}(),.;*+-/<>=:?".indexOf(ch) >= 0) {
+                tokens.add(new Token(Kind.SYMBOL, String.valueOf(ch), i++));
+            } else {
+                throw new SQLSyntaxErrorException("Unexpected character '" + ch + "' at position " + i);
+            }
+        }
+        tokens.add(new Token(Kind.EOF, "", n));
+        return tokens;
+    }
+
+    private static final class Parser {
+        private final List<Token> tokens;
+        private int pos;
+
+        Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        Query query() throws SQLException {
+            if (peek().is("WITH")) {
+                throw new SQLFeatureNotSupportedException("WITH MEMBER / WITH SET are not supported by the O3 stand-in");
+            }
+            expect("SELECT");
+            List<Axis> axes = new ArrayList<>();
+            if (!peek().is("FROM")) {
+                do {
+                    axes.add(axis());
+                } while (accept(","));
+            }
+            expect("FROM");
+            Token cube = next();
+            if (cube.kind != Kind.WORD && cube.kind != Kind.BRACKET) {
+                throw error("Expected cube name", cube);
+            }
+            Expr where = null;
+            if (accept("WHERE")) {
+                where = expression();
+            }
+            if (accept("CELL")) {
+                expect("PROPERTIES");
+                while (peek().kind != Kind.EOF && !peek().is(";")) {
+                    next();
+                }
+            }
+            accept(";");
+            if (peek().kind != Kind.EOF) {
+                throw error("Unexpected token '" + peek().text + "'", peek());
+            }
+            return new Query(axes, cube.text, where);
+        }
+
+        private Axis axis() throws SQLException {
+            String nonEmpty = null;
+            if (accept("NON")) {
+                Token t = next();
+                if (!t.is("EMPTY") && !t.is("ZERO")) {
+                    throw error("Expected EMPTY or ZERO after NON", t);
+                }
+                nonEmpty = t.text.toUpperCase(Locale.ROOT);
+            }
+            Expr set = expression();
+            expect("ON");
+            Token t = next();
+            int ordinal;
+            if (t.is("COLUMNS")) {
+                ordinal = 0;
+            } else if (t.is("ROWS")) {
+                ordinal = 1;
+            } else if (t.kind == Kind.NUMBER) {
+                ordinal = Integer.parseInt(t.text);
+            } else if (t.is("AXIS")) {
+                expect("(");
+                ordinal = Integer.parseInt(next().text);
+                expect(")");
+            } else {
+                throw error("Expected COLUMNS or ROWS", t);
+            }
+            return new Axis(set, ordinal, nonEmpty);
+        }
+
+        private Expr expression() throws SQLException {
+            Token t = peek();
+            if (accept("{")) {
+                List<Expr> items = new ArrayList<>();
+                if (!accept("}")) {
+                    do {
+                        items.add(expression());
+                    } while (accept(","));
+                    expect("}");
+                }
+                return suffixed(new SetLiteral(items));
+            }
+            if (accept("(")) {
+                List<Expr> items = new ArrayList<>();
+                do {
+                    items.add(expression());
+                } while (accept(","));
+                expect(")");
+                return items.size() == 1 ? items.get(0) : new TupleExpr(items);
+            }
+            if (t.kind == Kind.WORD && peek(1).is("(")) {
+                next();
+                next();
+                List<Expr> args = new ArrayList<>();
+                if (!accept(")")) {
+                    do {
+                        args.add(expression());
+                    } while (accept(","));
+                    expect(")");
+                }
+                return new Call(t.text, args);
+            }
+            if (t.kind == Kind.WORD || t.kind == Kind.BRACKET || t.kind == Kind.NUMBER) {
+                List<String> segments = new ArrayList<>();
+                List<Boolean> bracketed = new ArrayList<>();
+                segments.add(next().text);
+                bracketed.add(t.kind == Kind.BRACKET);
+                while (accept(".")) {
+                    Token s = next();
+                    if (s.kind != Kind.WORD && s.kind != Kind.BRACKET && s.kind != Kind.NUMBER) {
+                        throw error("Expected name after '.'", s);
+                    }
+                    segments.add(s.text);
+                    bracketed.add(s.kind == Kind.BRACKET);
+                }
+                return new Path(segments, bracketed);
+            }
+            throw error("Unexpected token '" + t.text + "'", t);
+        }
+
+        // {a, b}.children no es MDX válido en O3: se rechaza para no devolver algo engañoso
+        private Expr suffixed(Expr set) throws SQLException {
+            if (peek().is(".")) {
+                throw error("Unexpected '.' after set", peek());
+            }
+            return set;
+        }
+
+        private Token peek() {
+            return tokens.get(pos);
+        }
+
+        private Token peek(int ahead) {
+            return tokens.get(Math.min(pos + ahead, tokens.size() - 1));
+        }
+
+        private Token next() {
+            Token t = tokens.get(pos);
+            if (t.kind != Kind.EOF) {
+                pos++;
+            }
+            return t;
+        }
+
+        private boolean accept(String word) {
+            if (peek().is(word)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String word) throws SQLSyntaxErrorException {
+            Token t = next();
+            if (!t.is(word)) {
+                throw error("Expected " + word + " but found '" + t.text + "'", t);
+            }
+        }
+
+        private static SQLSyntaxErrorException error(String message, Token t) {
+            return new SQLSyntaxErrorException("MDX syntax error: " + message + " at position " + t.position);
+        }
+    }
+}
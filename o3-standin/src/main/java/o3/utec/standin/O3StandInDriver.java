@@ -0,0 +1,102 @@
+package o3.utec.standin;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+// Driver JDBC que reemplaza al servidor O3 en pruebas y benchmarks: atiende las mismas URLs que el driver thin
+// (jdbc:o3:mdx://, jdbc:o3:thin://, jdbc:o3:view://) y además jdbc:o3:standin://, que el driver real no reconoce.
+// No abre sockets: host y puerto se ignoran y las consultas se resuelven en memoria contra un DemoCube (ver MdxEngine).
+// Se registra en DriverManager al cargarse la clase y por META-INF/services/java.sql.Driver, así que alcanza con
+// tenerlo en el classpath. Si el driver real también está, DriverManager prueba primero el que se registró antes:
+// con O3 apagado el real falla al conectar y DriverManager sigue con el stand-in; jdbc:o3:standin:// lo fuerza siempre.
+// Latencia, tamaño del cubo y errores inyectados se configuran con StandInConfig.
+public final class O3StandInDriver implements Driver {
+
+    static final List<String> PREFIXES = List.of("jdbc:o3:mdx:", "jdbc:o3:thin:", "jdbc:o3:view:", "jdbc:o3:standin:");
+
+    // Fecha que reporta {CubeInfo.LastModifiedDate}: la carga del driver, como un servidor recién levantado
+    private static final Timestamp LOADED_AT = new Timestamp(System.currentTimeMillis());
+
+    // Un cubo por (scale, seed), compartido por todas las conexiones
+    private static final Map<String, DemoCube> CUBES = new ConcurrentHashMap<>();
+    private static final AtomicLong CONNECTIONS = new AtomicLong();
+
+    static {
+        try {
+            DriverManager.registerDriver(new O3StandInDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            // Contrato de Driver: null para que DriverManager pruebe el siguiente
+            return null;
+        }
+        StandInConfig config;
+        try {
+            config = StandInConfig.resolve(url, info);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Configuración inválida del O3 stand-in: " + e.getMessage(), e);
+        }
+        long number = CONNECTIONS.incrementAndGet();
+        Random random = new Random(config.seed() ^ number * 0x9E3779B97F4A7C15L);
+        StandInStatement.pause(config.connectLatencyMs());
+        if (config.connectErrorRate() > 0 && random.nextDouble() < config.connectErrorRate()) {
+            throw new SQLNonTransientConnectionException("Connection refused (injected by O3 stand-in)");
+        }
+        DemoCube cube = CUBES.computeIfAbsent(config.cubeKey(), k -> new DemoCube(config.scale(), config.seed()));
+        String byLabel = info == null ? null : info.getProperty("MEMBER_BY_LABEL");
+        boolean memberByLabel = byLabel == null || Boolean.parseBoolean(byLabel);
+        return new StandInConnection(url, config, new MdxEngine(cube, config, memberByLabel, LOADED_AT), random);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        if (url == null) {
+            return false;
+        }
+        String lower = url.toLowerCase();
+        return PREFIXES.stream().anyMatch(lower::startsWith);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("getParentLogger");
+    }
+}
@@ -0,0 +1,124 @@
+package o3.utec.standin;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+// Base de ResultSetMetaData: todo lo que no se sobreescribe lanza SQLFeatureNotSupportedException.
+public abstract class ResultSetMetaDataStub implements ResultSetMetaData {
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        throw new SQLFeatureNotSupportedException("unwrap");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return false;
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnCount");
+    }
+
+    @Override
+    public boolean isAutoIncrement(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isAutoIncrement");
+    }
+
+    @Override
+    public boolean isCaseSensitive(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isCaseSensitive");
+    }
+
+    @Override
+    public boolean isSearchable(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isSearchable");
+    }
+
+    @Override
+    public boolean isCurrency(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isCurrency");
+    }
+
+    @Override
+    public int isNullable(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isNullable");
+    }
+
+    @Override
+    public boolean isSigned(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isSigned");
+    }
+
+    @Override
+    public int getColumnDisplaySize(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnDisplaySize");
+    }
+
+    @Override
+    public String getColumnLabel(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnLabel");
+    }
+
+    @Override
+    public String getColumnName(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnName");
+    }
+
+    @Override
+    public String getSchemaName(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getSchemaName");
+    }
+
+    @Override
+    public int getPrecision(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getPrecision");
+    }
+
+    @Override
+    public int getScale(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getScale");
+    }
+
+    @Override
+    public String getTableName(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getTableName");
+    }
+
+    @Override
+    public String getCatalogName(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getCatalogName");
+    }
+
+    @Override
+    public int getColumnType(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnType");
+    }
+
+    @Override
+    public String getColumnTypeName(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnTypeName");
+    }
+
+    @Override
+    public boolean isReadOnly(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isReadOnly");
+    }
+
+    @Override
+    public boolean isWritable(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isWritable");
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isDefinitelyWritable");
+    }
+
+    @Override
+    public String getColumnClassName(int arg0) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnClassName");
+    }
+}
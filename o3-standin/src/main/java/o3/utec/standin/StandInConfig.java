@@ -0,0 +1,114 @@
+package o3.utec.standin;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// Configuración del stand-in. Cada valor se toma, en orden de prioridad, de:
+//   1. la URL: jdbc:o3:mdx://localhost:7777?latencyMs=200&errorRate=0.05
+//   2. las propiedades de la conexión con prefijo "standin.": info.put("standin.scale", "4")
+//   3. las propiedades de sistema con prefijo "o3.standin.": -Do3.standin.latencyMs=50
+//   4. el valor por defecto
+// Así se puede ajustar desde un test (URL o Properties) o sin tocar el cliente (-D en la JVM de mcp_o3, consultas-o3, etc.).
+record StandInConfig(
+        // Latencia de cada executeQuery, más un adicional aleatorio entre 0 y latencyJitterMs
+        long latencyMs,
+        long latencyJitterMs,
+        // Demora por fila leída con next(), para simular la transferencia de resultados grandes
+        long rowLatencyMicros,
+        // Demora al abrir una conexión (login en el servidor)
+        long connectLatencyMs,
+        // Multiplica la cantidad de miembros hoja de cada dimensión (filas de .children, .members, CrossJoin...)
+        int scale,
+        // Probabilidad (0..1) de que una consulta falle con SQLException
+        double errorRate,
+        // Probabilidad (0..1) de que abrir la conexión falle
+        double connectErrorRate,
+        // Las consultas que coinciden con esta regex fallan siempre (null = ninguna)
+        Pattern failOn,
+        // Nombres de cubo que se sirven, todos con los datos de Demo
+        List<String> cubes,
+        // Semilla de los valores del cubo y de la latencia/errores aleatorios
+        long seed) {
+
+    static final String SYSTEM_PREFIX = "o3.standin.";
+    static final String INFO_PREFIX = "standin.";
+
+    static StandInConfig resolve(String url, Properties info) {
+        Map<String, String> query = parseQuery(url);
+        Properties props = info == null ? new Properties() : info;
+        Function<String, String> get = name -> {
+            String v = query.get(name);
+            if (v == null) {
+                v = props.getProperty(INFO_PREFIX + name);
+            }
+            if (v == null) {
+                v = System.getProperty(SYSTEM_PREFIX + name);
+            }
+            return v == null || v.isBlank() ? null : v.trim();
+        };
+        String failOn = get.apply("failOn");
+        String cubes = get.apply("cubes");
+        return new StandInConfig(
+                longValue(get, "latencyMs", 0),
+                longValue(get, "latencyJitterMs", 0),
+                longValue(get, "rowLatencyMicros", 0),
+                longValue(get, "connectLatencyMs", 0),
+                (int) longValue(get, "scale", 1),
+                doubleValue(get, "errorRate", 0),
+                doubleValue(get, "connectErrorRate", 0),
+                failOn == null ? null : Pattern.compile(failOn),
+                cubes == null ? List.of("Demo") : Arrays.stream(cubes.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList(),
+                longValue(get, "seed", 42));
+    }
+
+    private static long longValue(Function<String, String> get, String name, long defaultValue) {
+        String v = get.apply(name);
+        try {
+            return v == null ? defaultValue : Long.parseLong(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + v, e);
+        }
+    }
+
+    private static double doubleValue(Function<String, String> get, String name, double defaultValue) {
+        String v = get.apply(name);
+        try {
+            return v == null ? defaultValue : Double.parseDouble(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + v, e);
+        }
+    }
+
+    // Parámetros después de "?" (separados por & o ;)
+    private static Map<String, String> parseQuery(String url) {
+        Map<String, String> params = new HashMap<>();
+        int q = url == null ? -1 : url.indexOf('?');
+        if (q < 0) {
+            return params;
+        }
+        for (String pair : url.substring(q + 1).split("[&;]")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq).trim(), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    // Mismo cubo para las mismas dimensiones de datos: las conexiones con igual scale y seed lo comparten
+    String cubeKey() {
+        return scale + ":" + seed;
+    }
+
+    boolean servesCube(String name) {
+        return cubes.stream().anyMatch(c -> c.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT)));
+    }
+}
@@ -0,0 +1,168 @@
+package o3.utec.standin;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+// Conexión al stand-in. Cerrarla cierra sus statements, y una consulta en curso termina con error como cuando
+// QueryWatchdog cierra una conexión del driver real para destrabar la lectura.
+final class StandInConnection extends ConnectionStub {
+
+    private final String url;
+    private final StandInConfig config;
+    private final MdxEngine engine;
+    private final Random random;
+    private final Set<StandInStatement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    StandInConnection(String url, StandInConfig config, MdxEngine engine, Random random) {
+        this.url = url;
+        this.config = config;
+        this.engine = engine;
+        this.random = random;
+    }
+
+    StandInConfig config() {
+        return config;
+    }
+
+    MdxEngine engine() {
+        return engine;
+    }
+
+    Random random() {
+        return random;
+    }
+
+    void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLNonTransientConnectionException("Connection is closed");
+        }
+    }
+
+    void forget(StandInStatement statement) {
+        statements.remove(statement);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        checkOpen();
+        StandInStatement statement = new StandInStatement(this, null);
+        statements.add(statement);
+        return statement;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        checkOpen();
+        // Como O3: la consulta se parsea al preparar, así los errores de sintaxis aparecen acá
+        MdxEngine.tokenize(sql);
+        StandInStatement statement = new StandInStatement(this, sql);
+        statements.add(statement);
+        return statement;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (StandInStatement statement : statements) {
+            statement.close();
+        }
+        statements.clear();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isValid(int timeout) {
+        return !closed;
+    }
+
+    @Override
+    public void abort(Executor executor) {
+        close();
+    }
+
+    @Override
+    public String nativeSQL(String sql) {
+        return sql;
+    }
+
+    // Sin transacciones: las operaciones son no-ops para los clientes que las llaman por costumbre
+    @Override
+    public void setAutoCommit(boolean autoCommit) {
+    }
+
+    @Override
+    public boolean getAutoCommit() {
+        return true;
+    }
+
+    @Override
+    public void commit() {
+    }
+
+    @Override
+    public void rollback() {
+    }
+
+    @Override
+    public int getTransactionIsolation() {
+        return TRANSACTION_NONE;
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) {
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public String getCatalog() {
+        return null;
+    }
+
+    @Override
+    public void setCatalog(String catalog) {
+    }
+
+    @Override
+    public String getSchema() {
+        return null;
+    }
+
+    @Override
+    public SQLWarning getWarnings() {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() {
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) {
+    }
+
+    @Override
+    public int getNetworkTimeout() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "StandInConnection[" + url + "]";
+    }
+}
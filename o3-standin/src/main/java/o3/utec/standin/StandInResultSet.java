@@ -0,0 +1,270 @@
+package o3.utec.standin;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Resultado de solo avance. Las filas se piden a MdxEngine de a una en next(), con la demora por fila configurada,
+// así un CrossJoin grande no se materializa entero y una lectura lenta se puede cortar con cancel o cerrando la conexión.
+final class StandInResultSet extends ResultSetStub {
+
+    private final StandInStatement statement;
+    private final List<String> labels;
+    private final List<Integer> types;
+    private final MdxEngine.RowSource rows;
+    private final long rowLatencyNanos;
+    private final int maxRows;
+    private final long deadline;
+    private final ResultSetMetaData metadata = new Metadata();
+
+    private Object[] row;
+    private int rowNumber;
+    private boolean lastNull;
+    private volatile boolean closed;
+
+    StandInResultSet(StandInStatement statement, MdxEngine.Result result, long rowLatencyMicros, int maxRows, long deadline) {
+        this.statement = statement;
+        this.labels = result.labels();
+        this.types = result.types();
+        this.rows = result.rows();
+        this.rowLatencyNanos = TimeUnit.MICROSECONDS.toNanos(rowLatencyMicros);
+        this.maxRows = maxRows;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        checkOpen();
+        if (maxRows > 0 && rowNumber >= maxRows) {
+            row = null;
+            return false;
+        }
+        if (rowLatencyNanos > 0) {
+            statement.waitFor(rowLatencyNanos, deadline);
+        } else {
+            statement.checkAborted();
+        }
+        row = rows.next();
+        if (row == null) {
+            return false;
+        }
+        rowNumber++;
+        return true;
+    }
+
+    private Object value(int column) throws SQLException {
+        checkOpen();
+        if (row == null) {
+            throw new SQLException("No current row");
+        }
+        if (column < 1 || column > row.length) {
+            throw new SQLException("Invalid column index " + column);
+        }
+        Object v = row[column - 1];
+        lastNull = v == null;
+        return v;
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("ResultSet is closed");
+        }
+    }
+
+    @Override
+    public boolean wasNull() {
+        return lastNull;
+    }
+
+    @Override
+    public Object getObject(int column) throws SQLException {
+        return value(column);
+    }
+
+    @Override
+    public Object getObject(String label) throws SQLException {
+        return getObject(findColumn(label));
+    }
+
+    @Override
+    public String getString(int column) throws SQLException {
+        Object v = value(column);
+        return v == null ? null : v.toString();
+    }
+
+    @Override
+    public String getString(String label) throws SQLException {
+        return getString(findColumn(label));
+    }
+
+    @Override
+    public double getDouble(int column) throws SQLException {
+        Object v = value(column);
+        return v instanceof Number n ? n.doubleValue() : v == null ? 0 : parse(v).doubleValue();
+    }
+
+    @Override
+    public double getDouble(String label) throws SQLException {
+        return getDouble(findColumn(label));
+    }
+
+    @Override
+    public float getFloat(int column) throws SQLException {
+        return (float) getDouble(column);
+    }
+
+    @Override
+    public int getInt(int column) throws SQLException {
+        return (int) getLong(column);
+    }
+
+    @Override
+    public long getLong(int column) throws SQLException {
+        Object v = value(column);
+        return v instanceof Number n ? n.longValue() : v == null ? 0 : parse(v).longValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int column) throws SQLException {
+        Object v = value(column);
+        return v == null ? null : v instanceof Double d ? BigDecimal.valueOf(d) : parse(v);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int column) throws SQLException {
+        Object v = value(column);
+        if (v == null || v instanceof Timestamp) {
+            return (Timestamp) v;
+        }
+        throw new SQLException("Column " + column + " is not a timestamp");
+    }
+
+    @Override
+    public Date getDate(int column) throws SQLException {
+        Timestamp t = getTimestamp(column);
+        return t == null ? null : new Date(t.getTime());
+    }
+
+    private static BigDecimal parse(Object v) throws SQLException {
+        try {
+            return new BigDecimal(v.toString());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Value '" + v + "' is not numeric", e);
+        }
+    }
+
+    @Override
+    public int findColumn(String label) throws SQLException {
+        for (int i = 0; i < labels.size(); i++) {
+            if (labels.get(i).equalsIgnoreCase(label)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException("Column " + label + " not found");
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return metadata;
+    }
+
+    @Override
+    public int getRow() {
+        return row == null ? 0 : rowNumber;
+    }
+
+    @Override
+    public int getType() {
+        return TYPE_FORWARD_ONLY;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public void setFetchSize(int rows) {
+    }
+
+    @Override
+    public int getFetchSize() {
+        return 0;
+    }
+
+    @Override
+    public Statement getStatement() {
+        return statement;
+    }
+
+    @Override
+    public SQLWarning getWarnings() {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() {
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private final class Metadata extends ResultSetMetaDataStub {
+        @Override
+        public int getColumnCount() {
+            return labels.size();
+        }
+
+        @Override
+        public String getColumnLabel(int column) {
+            return labels.get(column - 1);
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return labels.get(column - 1);
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return types.get(column - 1);
+        }
+
+        @Override
+        public String getColumnTypeName(int column) {
+            return switch (types.get(column - 1)) {
+                case Types.DOUBLE -> "DOUBLE";
+                case Types.TIMESTAMP -> "TIMESTAMP";
+                default -> "VARCHAR";
+            };
+        }
+
+        @Override
+        public String getColumnClassName(int column) {
+            return switch (types.get(column - 1)) {
+                case Types.DOUBLE -> Double.class.getName();
+                case Types.TIMESTAMP -> Timestamp.class.getName();
+                default -> String.class.getName();
+            };
+        }
+
+        @Override
+        public int isNullable(int column) {
+            return types.get(column - 1) == Types.DOUBLE ? columnNullable : columnNoNulls;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package o3.utec.standin;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLWarning;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Statement y PreparedStatement del stand-in. executeQuery espera la latencia configurada respetando
+// setQueryTimeout (SQLTimeoutException), cancel() y el cierre de la conexión, y después inyecta los errores
+// configurados (failOn, errorRate) antes de resolver la consulta con MdxEngine.
+// Los parámetros "?" se reemplazan en el texto con el valor de setObject, tal cual.
+final class StandInStatement extends PreparedStatementStub {
+
+    // Cada cuánto se revisan cancel/cierre/timeout mientras se simula la latencia
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final StandInConnection connection;
+    private final String sql;
+    private Object[] parameters = new Object[0];
+    private int queryTimeoutSeconds;
+    private int maxRows;
+    private StandInResultSet current;
+    private volatile boolean cancelled;
+    private volatile boolean closed;
+
+    StandInStatement(StandInConnection connection, String sql) {
+        this.connection = connection;
+        this.sql = sql;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        if (sql == null) {
+            throw new SQLException("executeQuery() without SQL on a plain Statement");
+        }
+        return executeQuery(bind(sql));
+    }
+
+    @Override
+    public ResultSet executeQuery(String mdx) throws SQLException {
+        checkOpen();
+        cancelled = false;
+        if (current != null) {
+            current.close();
+        }
+        StandInConfig config = connection.config();
+        long latency = config.latencyMs();
+        if (config.latencyJitterMs() > 0) {
+            latency += connection.random().nextLong(config.latencyJitterMs() + 1);
+        }
+        long deadline = queryTimeoutSeconds > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(queryTimeoutSeconds) : Long.MAX_VALUE;
+        waitFor(TimeUnit.MILLISECONDS.toNanos(latency), deadline);
+        if (config.failOn() != null && config.failOn().matcher(mdx).find()) {
+            throw new SQLException("Injected error by O3 stand-in (query matches " + config.failOn().pattern() + ")");
+        }
+        if (config.errorRate() > 0 && connection.random().nextDouble() < config.errorRate()) {
+            throw new SQLException("Injected error by O3 stand-in (errorRate " + config.errorRate() + ")");
+        }
+        MdxEngine.Result result = connection.engine().execute(mdx);
+        current = new StandInResultSet(this, result, config.rowLatencyMicros(), maxRows, deadline);
+        return current;
+    }
+
+    @Override
+    public boolean execute(String mdx) throws SQLException {
+        executeQuery(mdx);
+        return true;
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        executeQuery();
+        return true;
+    }
+
+    @Override
+    public ResultSet getResultSet() {
+        return current;
+    }
+
+    @Override
+    public int getUpdateCount() {
+        return -1;
+    }
+
+    @Override
+    public boolean getMoreResults() {
+        return false;
+    }
+
+    // Espera nanos (latencia del servidor o de una fila) cortando antes por cancel, cierre o timeout
+    void waitFor(long nanos, long deadline) throws SQLException {
+        long end = System.nanoTime() + nanos;
+        while (true) {
+            checkAborted();
+            long now = System.nanoTime();
+            if (now - deadline >= 0) {
+                throw new SQLTimeoutException("Query timeout (" + queryTimeoutSeconds + " s) in O3 stand-in");
+            }
+            long remaining = Math.min(end, deadline) - now;
+            if (end - now <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(Math.min(remaining, POLL_NANOS));
+            if (Thread.currentThread().isInterrupted()) {
+                throw new SQLException("Interrupted while waiting for the O3 stand-in");
+            }
+        }
+    }
+
+    // Durante la ejecución o la lectura: cancel() o la conexión cerrada por otro hilo
+    void checkAborted() throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query cancelled");
+        }
+        if (closed || connection.isClosed()) {
+            throw new SQLException("Connection closed while executing the query");
+        }
+    }
+
+    // Latencia sin statement (login al conectar)
+    static void pause(long millis) throws SQLException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while connecting to the O3 stand-in", e);
+        }
+    }
+
+    // Reemplaza cada "?" fuera de [identificadores] y literales por su parámetro
+    private String bind(String text) throws SQLException {
+        StringBuilder sb = new StringBuilder(text.length() + 16);
+        int index = 0;
+        char quote = 0;
+        boolean bracket = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (quote != 0) {
+                quote = ch == quote ? 0 : quote;
+            } else if (bracket) {
+                bracket = ch != ']';
+            } else if (ch == '[') {
+                bracket = true;
+            } else if (ch == '"' || ch == '\'') {
+                quote = ch;
+            } else if (ch == '?') {
+                if (index >= parameters.length || parameters[index] == null) {
+                    throw new SQLException("Parameter " + (index + 1) + " is not set");
+                }
+                sb.append(parameters[index++]);
+                continue;
+            }
+            sb.append(ch);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        checkOpen();
+        if (parameterIndex < 1) {
+            throw new SQLException("Invalid parameter index " + parameterIndex);
+        }
+        if (parameterIndex > parameters.length) {
+            parameters = Arrays.copyOf(parameters, parameterIndex);
+        }
+        parameters[parameterIndex - 1] = x;
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void clearParameters() {
+        parameters = new Object[0];
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        if (seconds < 0) {
+            throw new SQLException("Negative query timeout");
+        }
+        queryTimeoutSeconds = seconds;
+    }
+
+    @Override
+    public int getQueryTimeout() {
+        return queryTimeoutSeconds;
+    }
+
+    @Override
+    public void setMaxRows(int max) {
+        maxRows = Math.max(0, max);
+    }
+
+    @Override
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    @Override
+    public void setFetchSize(int rows) {
+    }
+
+    @Override
+    public int getFetchSize() {
+        return 0;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (current != null) {
+            current.close();
+        }
+        connection.forget(this);
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public SQLWarning getWarnings() {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() {
+    }
+
+    private void checkOpen() throws SQLException {
+        connection.checkOpen();
+        if (closed) {
+            throw new SQLException("Statement is closed");
+        }
+    }
+}
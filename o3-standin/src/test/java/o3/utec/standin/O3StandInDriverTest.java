@@ -0,0 +1,190 @@
+package o3.utec.standin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class O3StandInDriverTest {
+
+    // Consultas de QuerySuiteRegistry (smoke), del catálogo de mcp_o3 y de consultas-o3
+    private static final List<String> REPO_QUERIES = List.of(
+            "SELECT {Cubes} ON COLUMNS FROM SYSCATALOG",
+            "SELECT {Dimensions} ON COLUMNS FROM [Demo]",
+            "SELECT {Measures.Members} ON COLUMNS FROM [Demo]",
+            "SELECT {CubeInfo.LastModifiedDate} ON COLUMNS from Demo",
+            "SELECT {Measures.[Units Sold], Measures.[Cost]} ON COLUMNS, {Customers.Customers.[Major Accounts]} ON ROWS FROM Demo WHERE Measures.Discount",
+            "SELECT NON EMPTY {Customers.[Major Accounts]} ON COLUMNS, NON EMPTY {Location.children} ON ROWS FROM Demo WHERE Measures.[Units Sold]",
+            "SELECT NON ZERO {Location.children} ON ROWS, CROSSJOIN ({Salesmen.children}, {Customers.[Major Accounts]}) ON COLUMNS FROM Demo WHERE Measures.[Units Sold]",
+            "SELECT CrossJoin({[Date].[Date].children}, {[<measures>].[<measures>].[% Profit], [<measures>].[<measures>].[Revenue]}) ON COLUMNS, {{[Products].[Products].children}} ON ROWS FROM [Demo] WHERE ([Customers].[Customers],[Salesmen].[Salesmen],[Location].[Location])",
+            "SELECT {Date.[2013], Date.[2014]} ON COLUMNS, CrossJoin({Location.children}, {Products.[Mountain Bikes].children}) ON ROWS FROM Demo WHERE (Measures.[Units Sold])",
+            "SELECT except(Date.Year.Members, {Date.[2002]}) on COLUMNS, {Products.Line.Members} on ROWS FROM [Demo] WHERE (Measures.[Cost])",
+            "SELECT {Measures.[Units Sold]} ON COLUMNS, Descendants(Location, Location.City) ON ROWS FROM [Demo]",
+            "SELECT {Measures.[Units Sold], Measures.[Commissions]} ON COLUMNS, {Salesmen.Seller.members} ON ROWS FROM [Demo]",
+            "SELECT {Date.Date.[2002], Date.Date.[2003]} ON COLUMNS, {Location.[US]} ON ROWS FROM [Demo] WHERE (Products.[Mountain Bikes].[Professional], Measures.[Revenue])",
+            "SELECT CROSSJOIN({Products.Products.children}, {Customers.Customers.children}) ON ROWS, {Location.Location.France.Paris, Location.Location.France.Lille} ON COLUMNS FROM Demo WHERE {[<measures>].[<measures>].Discount}",
+            "SELECT {[Location].Members} ON ROWS FROM [Demo]");
+
+    private static Connection connect(String url) throws SQLException {
+        Properties info = new Properties();
+        info.put("user", "user");
+        info.put("password", "user");
+        info.put("COLUMNS_TYPE", "DIMENSION_LABEL");
+        info.put("MEMBER_BY_LABEL", "true");
+        return DriverManager.getConnection(url, info);
+    }
+
+    private static List<List<Object>> rows(Connection conn, String mdx) throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(mdx)) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                List<Object> row = new ArrayList<>();
+                for (int c = 1; c <= columns; c++) {
+                    row.add(rs.getObject(c));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void servesTheQueriesUsedInTheRepo() throws SQLException {
+        for (String url : List.of("jdbc:o3:mdx://localhost:7777", "jdbc:o3:thin://localhost:7777")) {
+            try (Connection conn = connect(url)) {
+                for (String query : REPO_QUERIES) {
+                    assertFalse(rows(conn, query).isEmpty(), query);
+                }
+            }
+        }
+    }
+
+    @Test
+    void catalogQueriesReturnOneRowPerItem() throws SQLException {
+        try (Connection conn = connect("jdbc:o3:mdx://localhost:7777")) {
+            assertEquals(List.of(List.of("Demo")), rows(conn, "SELECT {Cubes} ON COLUMNS FROM SYSCATALOG"));
+            assertEquals(5, rows(conn, "SELECT {Dimensions} ON COLUMNS FROM [Demo]").size());
+            assertEquals(DemoCube.MEASURE_NAMES.size(), rows(conn, "SELECT {Measures.Members} ON COLUMNS FROM [Demo]").size());
+        }
+    }
+
+    // Los totales de un padre son la suma de sus hijos, y NON EMPTY quita el producto sin ventas
+    @Test
+    void valuesRollUpAndNonEmptyFilters() throws SQLException {
+        try (Connection conn = connect("jdbc:o3:mdx://localhost:7777")) {
+            double total = (Double) rows(conn, "SELECT {Measures.[Revenue]} ON COLUMNS FROM [Demo]").get(0).get(0);
+            double sum = 0;
+            for (List<Object> row : rows(conn, "SELECT {Measures.[Revenue]} ON COLUMNS, {Location.children} ON ROWS FROM [Demo]")) {
+                sum += (Double) row.get(1);
+            }
+            assertEquals(total, sum, total * 1e-6);
+
+            List<List<Object>> all = rows(conn, "SELECT {Products.[Mountain Bikes].children} ON ROWS FROM [Demo]");
+            List<List<Object>> nonEmpty = rows(conn, "SELECT NON EMPTY {Products.[Mountain Bikes].children} ON ROWS FROM [Demo]");
+            assertEquals(all.size() - 1, nonEmpty.size());
+            assertTrue(all.stream().anyMatch(r -> r.get(1) == null));
+        }
+    }
+
+    @Test
+    void unknownNamesAreReportedAsNotFound() throws SQLException {
+        try (Connection conn = connect("jdbc:o3:mdx://localhost:7777")) {
+            SQLException member = assertThrows(SQLException.class, () -> rows(conn, "SELECT {Location.[Frnce]} ON ROWS FROM [Demo]"));
+            assertTrue(member.getMessage().contains("not found"), member.getMessage());
+            assertThrows(SQLException.class, () -> rows(conn, "SELECT {Measures.Members} ON COLUMNS FROM [Ventas]"));
+            assertThrows(SQLException.class, () -> rows(conn, "SELECT {Location.children ON ROWS FROM [Demo]"));
+        }
+    }
+
+    @Test
+    void scaleMultipliesRows() throws SQLException {
+        String query = "SELECT CrossJoin({Location.City.Members}, {Customers.Customer.Members}) ON ROWS FROM [Demo]";
+        try (Connection small = connect("jdbc:o3:mdx://localhost:7777");
+             Connection large = connect("jdbc:o3:mdx://localhost:7777?scale=4")) {
+            assertEquals(15 * 15, rows(small, query).size());
+            assertEquals(60 * 60, rows(large, query).size());
+        }
+    }
+
+    @Test
+    void latencyRespectsQueryTimeoutAndCancel() throws Exception {
+        try (Connection conn = connect("jdbc:o3:standin://local?latencyMs=5000")) {
+            Statement stmt = conn.createStatement();
+            stmt.setQueryTimeout(1);
+            long start = System.nanoTime();
+            assertThrows(SQLTimeoutException.class, () -> stmt.executeQuery("SELECT {Cubes} ON COLUMNS FROM SYSCATALOG"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3000);
+
+            Statement cancelled = conn.createStatement();
+            CompletableFuture<Void> cancel = CompletableFuture.runAsync(() -> {
+                try {
+                    Thread.sleep(100);
+                    cancelled.cancel();
+                } catch (InterruptedException | SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertThrows(SQLException.class, () -> cancelled.executeQuery("SELECT {Cubes} ON COLUMNS FROM SYSCATALOG"));
+            cancel.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void injectsErrors() throws SQLException {
+        try (Connection conn = connect("jdbc:o3:mdx://localhost:7777?errorRate=1")) {
+            assertThrows(SQLException.class, () -> rows(conn, "SELECT {Cubes} ON COLUMNS FROM SYSCATALOG"));
+        }
+        try (Connection conn = connect("jdbc:o3:mdx://localhost:7777?failOn=(?i)salesmen")) {
+            assertFalse(rows(conn, "SELECT {Location.children} ON ROWS FROM [Demo]").isEmpty());
+            assertThrows(SQLException.class, () -> rows(conn, "SELECT {Salesmen.children} ON ROWS FROM [Demo]"));
+        }
+        assertThrows(SQLException.class, () -> connect("jdbc:o3:mdx://localhost:7777?connectErrorRate=1"));
+    }
+
+    // Plantillas con ?nombre de MdxTemplateRegistry: el valor se pasa con setObject
+    @Test
+    void bindsPreparedStatementParameters() throws SQLException {
+        try (Connection conn = connect("jdbc:o3:mdx://localhost:7777");
+             PreparedStatement stmt = conn.prepareStatement("SELECT {Measures.[Units Sold]} ON COLUMNS, Head({Location.City.Members}, ?) ON ROWS FROM [Demo]")) {
+            stmt.setObject(1, 4);
+            int count = 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    count++;
+                }
+            }
+            assertEquals(4, count);
+            stmt.clearParameters();
+            assertThrows(SQLException.class, stmt::executeQuery);
+        }
+    }
+
+    @Test
+    void closingTheConnectionAbortsReads() throws SQLException {
+        Connection conn = connect("jdbc:o3:mdx://localhost:7777");
+        Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery("SELECT {Location.children} ON ROWS FROM [Demo]");
+        assertTrue(rs.next());
+        conn.close();
+        assertThrows(SQLException.class, rs::next);
+        assertNull(DriverManager.getDriver("jdbc:o3:standin://x").connect("jdbc:other://x", new Properties()));
+    }
+}